@@ -0,0 +1,31 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.model.Book;
+
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    static BookDAO bookDAO(long id) {
+        return new BookDAO(id, "Author Name " + (id % 1000), "Book Title " + id, 10 + (id % 9000) / 100.0,
+                "Description for Book " + id);
+    }
+
+    static Book book(long id) {
+        return new Book(id, "Author Name " + (id % 1000), "Book Title " + id, 10 + (id % 9000) / 100.0,
+                "Description for Book " + id);
+    }
+
+    static List<Book> books(int rows) {
+        List<Book> list = new ArrayList<>(rows);
+        for (long id = 1; id <= rows; id++) {
+            list.add(book(id));
+        }
+        return list;
+    }
+}
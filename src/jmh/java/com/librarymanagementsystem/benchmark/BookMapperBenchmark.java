@@ -0,0 +1,48 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.mappers.BookMapperImpl;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMapperBenchmark {
+
+    private BookMapper bookMapper;
+    private BookDAO bookDAO;
+    private Book book;
+
+    @Setup
+    public void setup() {
+        bookMapper = new BookMapperImpl();
+        bookDAO = BenchmarkData.bookDAO(42);
+        book = BenchmarkData.book(42);
+    }
+
+    @Benchmark
+    public Book daoToBook() {
+        return bookMapper.daoToBook(bookDAO);
+    }
+
+    @Benchmark
+    public BookDAO bookToDAO() {
+        return bookMapper.bookToDAO(book);
+    }
+}
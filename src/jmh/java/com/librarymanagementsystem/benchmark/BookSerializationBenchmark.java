@@ -0,0 +1,137 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.web.converter.BookProtobufWriter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization CPU of a Book list in every negotiated format, with and without the gzip the
+ * server applies. {@link #wireSize} reports the size of each format, raw and gzipped, as the
+ * bytes and gzippedBytes secondary results, so they land in the result file next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSerializationBenchmark {
+
+    @Param({"1", "100", "10000"})
+    private int rows;
+
+    @Param({"json", "json-blackbird", "json-sparse", "smile", "cbor", "protobuf"})
+    private String format;
+
+    private ObjectWriter listWriter;
+    private List<Book> books;
+
+    @Setup
+    public void setup() throws IOException {
+        books = BenchmarkData.books(rows);
+        switch (format) {
+            case "json":
+                listWriter = listWriter(new ObjectMapper());
+                break;
+            case "json-blackbird":
+                listWriter = listWriter(blackbird(new JsonFactory()));
+                break;
+            case "json-sparse":
+                ObjectMapper sparse = blackbird(new JsonFactory()).addMixIn(Book.class, SparseMixin.class);
+                listWriter = listWriter(sparse).with(new SimpleFilterProvider()
+                        .addFilter("sparse", SimpleBeanPropertyFilter.filterOutAllExcept("id", "title")));
+                break;
+            case "smile":
+                listWriter = listWriter(blackbird(new SmileFactory()));
+                break;
+            case "cbor":
+                listWriter = listWriter(blackbird(new CBORFactory()));
+                break;
+            case "protobuf":
+                listWriter = null;
+                break;
+            default:
+                throw new IllegalArgumentException(format);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBookList() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] serializeBookListGzipped() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            write(gzip);
+        }
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    public void wireSize(WireSize size) throws IOException {
+        // one invocation, so the counters hold the size of a single response
+        size.bytes = serializeBookList().length;
+        size.gzippedBytes = serializeBookListGzipped().length;
+    }
+
+    private void write(OutputStream out) throws IOException {
+        if (listWriter == null) {
+            new BookProtobufWriter(out).writeBooks(1, books);
+        } else {
+            listWriter.writeValue(out, books);
+        }
+    }
+
+    private static ObjectMapper blackbird(JsonFactory factory) {
+        return new ObjectMapper(factory).registerModule(new BlackbirdModule());
+    }
+
+    private static ObjectWriter listWriter(ObjectMapper objectMapper) {
+        return objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, Book.class));
+    }
+
+    @JsonFilter("sparse")
+    interface SparseMixin {
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long bytes;
+        public long gzippedBytes;
+    }
+}
@@ -0,0 +1,83 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.librarymanagementsystem.LibraryManagementSystemApplication;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookService;
+import com.librarymanagementsystem.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups by id against the embedded H2 database of a real application context,
+ * straight through the repository and through the cached service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindByIdBenchmark {
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository repository;
+    private BookService bookService;
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(BookRepository.class);
+        bookService = context.getBean(BookService.class);
+        List<BookDAO> bookDAOs = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            BookDAO bookDAO = BenchmarkData.bookDAO(i);
+            bookDAO.setId(null);
+            bookDAOs.add(bookDAO);
+        }
+        ids = repository.saveAll(bookDAOs).stream().mapToLong(BookDAO::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<BookDAO> repositoryFindById() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public Optional<Book> serviceFindBookById() {
+        return bookService.findBookById(randomId());
+    }
+
+    private long randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,86 @@
+package com.librarymanagementsystem.benchmark;
+
+import com.librarymanagementsystem.LibraryManagementSystemApplication;
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookService;
+import com.librarymanagementsystem.model.Book;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Get All Books against the embedded H2 database of a real application context, through the
+ * managed-entity path it used to take (BookDAO hydration and snapshot, then the mapper copy)
+ * and through the constructor projection it takes now. Each trial starts its own context and
+ * seeds {@code rows} books. Scores are per call; divide them, and {@code gc.alloc.rate.norm}
+ * from the gc profiler, by {@code rows} for the per-row figures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class GetAllBooksBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository repository;
+    private BookMapper bookMapper;
+    private BookService bookService;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(BookRepository.class);
+        bookMapper = context.getBean(BookMapper.class);
+        bookService = context.getBean(BookService.class);
+        context.getBean(JdbcTemplate.class).update("INSERT INTO book "
+                + "(id, author, title, price, description, version) "
+                + "SELECT NEXT VALUE FOR book_seq, 'Author Name ' || MOD(X, 1000), 'Book Title ' || X, "
+                + "10 + MOD(X, 9000) / 100.0, 'Description for Book ' || X, 0 FROM SYSTEM_RANGE(1, ?)", rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Book> entityMapping() {
+        List<BookDAO> bookDAOs = repository.findAll();
+        return bookDAOs.stream()
+                .map(bookMapper::daoToBook)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Book> projection() {
+        return bookService.getAllBooks();
+    }
+}
@@ -0,0 +1,75 @@
+package com.librarymanagementsystem.business.catalog;
+
+import com.librarymanagementsystem.model.Book;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The only ways the Book cache is written, so a reader and a writer racing on one id cannot leave
+ * a stale or deleted Book behind for the TTL. Writes never make an id absent: a save installs its
+ * version unless the cache already holds a newer one, and a delete installs the negative entry.
+ * Reads only fill absent ids, so a row loaded before a write committed cannot replace what that
+ * write installed. The negative entry also means an update that lands after a concurrent delete
+ * does not bring the Book back; it is read from the database again once the negative TTL expires.
+ * A newly saved Book, at version 0, does replace a negative entry: its id is not known to anyone
+ * before it is cached, so the entry can only come from a read of the id before it was assigned.
+ */
+public final class BookCacheWrites {
+
+    private BookCacheWrites() {
+    }
+
+    /**
+     * Caches what a read loaded, null for a missing id, unless a write got there first.
+     */
+    public static void putLoaded(Cache cache, Long id, Book book) {
+        if (cache != null) {
+            cache.putIfAbsent(id, book);
+        }
+    }
+
+    /**
+     * Caches a committed Book unless the cache holds a newer version, or the id's negative entry
+     * and the Book is not new.
+     */
+    public static void putWritten(Cache cache, Book book) {
+        if (cache == null) {
+            return;
+        }
+        ConcurrentMap<Object, Object> entries = entries(cache);
+        if (entries == null) {
+            cache.evict(book.getId());
+            return;
+        }
+        long version = version(book);
+        entries.compute(book.getId(), (id, current) -> current == null
+                || (current instanceof Book ? version((Book) current) < version : version == 0) ? book : current);
+    }
+
+    /**
+     * Caches the id as missing after its delete committed.
+     */
+    public static void putRemoved(Cache cache, Long id) {
+        if (cache != null) {
+            cache.put(id, null);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<Object, Object> entries(Cache cache) {
+        Object nativeCache = cache.getNativeCache();
+        if (nativeCache instanceof com.github.benmanes.caffeine.cache.Cache) {
+            return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).asMap();
+        }
+        if (nativeCache instanceof ConcurrentMap) {
+            return (ConcurrentMap<Object, Object>) nativeCache;
+        }
+        // an unknown store cannot be updated atomically, the next read loads the committed row
+        return null;
+    }
+
+    private static long version(Book book) {
+        return book.getVersion() == null ? 0 : book.getVersion();
+    }
+}
@@ -0,0 +1,51 @@
+package com.librarymanagementsystem.business.catalog;
+
+import com.librarymanagementsystem.model.Book;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Published after a write to the book table has committed, for in-memory copies of
+ * the catalog that are not the Book cache or the search index.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookChangeEvent {
+    private final Collection<Book> saved;
+    private final Collection<Long> removed;
+    // the whole table was replaced, copies must be reloaded
+    private final boolean reloaded;
+    // the write happened on another node and is not broadcast again
+    private final boolean remote;
+
+    public static BookChangeEvent saved(Book book) {
+        return saved(Collections.singletonList(book));
+    }
+
+    public static BookChangeEvent saved(Collection<Book> books) {
+        return new BookChangeEvent(books, Collections.<Long>emptyList(), false, false);
+    }
+
+    public static BookChangeEvent removed(Long id) {
+        return removed(Collections.singletonList(id));
+    }
+
+    public static BookChangeEvent removed(Collection<Long> ids) {
+        return new BookChangeEvent(Collections.<Book>emptyList(), ids, false, false);
+    }
+
+    public static BookChangeEvent reloaded() {
+        return new BookChangeEvent(Collections.<Book>emptyList(), Collections.<Long>emptyList(), true, false);
+    }
+
+    /**
+     * The same change, as received from another node.
+     */
+    public BookChangeEvent asRemote() {
+        return new BookChangeEvent(saved, removed, reloaded, true);
+    }
+}
@@ -0,0 +1,49 @@
+package com.librarymanagementsystem.business.catalog;
+
+import com.librarymanagementsystem.business.repository.BookChangeRepository;
+import com.librarymanagementsystem.business.repository.model.BookChangeDAO;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the change feed outbox. Every method joins the caller's transaction, so a
+ * change row commits or rolls back together with the mutation it describes.
+ */
+@Component
+@Transactional(propagation = Propagation.MANDATORY)
+public class BookChangeRecorder {
+    private final BookChangeRepository repository;
+    private final NodeId nodeId;
+
+    @Autowired
+    public BookChangeRecorder(BookChangeRepository repository, NodeId nodeId) {
+        this.repository = repository;
+        this.nodeId = nodeId;
+    }
+
+    public void recordSaved(BookDAO bookDAO) {
+        repository.save(BookChangeDAO.saved(bookDAO, nodeId.getValue()));
+    }
+
+    public void recordSaved(Collection<BookDAO> bookDAOs) {
+        List<BookChangeDAO> changes = bookDAOs.stream()
+                .map(bookDAO -> BookChangeDAO.saved(bookDAO, nodeId.getValue()))
+                .collect(Collectors.toList());
+        repository.saveAll(changes);
+    }
+
+    public void recordDeleted(Long id) {
+        repository.save(BookChangeDAO.deleted(id, nodeId.getValue()));
+    }
+
+    public void recordReloaded() {
+        repository.save(BookChangeDAO.reloaded(nodeId.getValue()));
+    }
+}
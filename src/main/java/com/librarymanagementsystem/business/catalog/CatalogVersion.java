@@ -0,0 +1,32 @@
+package com.librarymanagementsystem.business.catalog;
+
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Change counter for the whole catalog, bumped after every committed write.
+ * Collection responses derive their ETag and Last-Modified from it, so an
+ * unchanged catalog is revalidated without touching the database.
+ */
+@Component
+public class CatalogVersion {
+    // distinguishes counters of different application runs, which all start at zero
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long lastModified = System.currentTimeMillis();
+
+    public void bump() {
+        changes.incrementAndGet();
+        lastModified = System.currentTimeMillis();
+    }
+
+    public String getETag() {
+        return "\"" + epoch + "-" + changes.get() + "\"";
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
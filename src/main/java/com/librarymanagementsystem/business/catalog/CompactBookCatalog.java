@@ -0,0 +1,428 @@
+package com.librarymanagementsystem.business.catalog;
+
+import com.librarymanagementsystem.model.Book;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Read-optimized copy of the catalog without a per-book object graph. Ids map to rows
+ * through an open-addressing {@code long} hash table; a row is a slot in primitive
+ * column arrays, and author, title and description are packed as UTF-8 into one shared
+ * byte array. A sorted id array serves listing and paging in id order.
+ * <p>
+ * Lookups by id run under an optimistic read stamp and only take the read lock when a
+ * writer got in between; writers are serialized. Replaced text stays in the byte array
+ * until more than half of it is garbage, then the array is compacted.
+ * <p>
+ * Removed ids are remembered until the next {@link #clear}. Book ids come from a sequence and
+ * are never reused, so no version of a removed book is newer than its removal, and
+ * {@link #putIfNotOlder} refuses them all.
+ */
+public class CompactBookCatalog {
+    static final int CHUNK = 512;
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int NULL_TEXT = 0xFFFF;
+    private static final int INITIAL_ROWS = 1024;
+
+    private final StampedLock lock = new StampedLock();
+
+    // id -> row, linear probing, at most half full
+    private long[] keys;
+    private int[] keyRows;
+    private int mask;
+
+    // row columns, rows of removed books are reused
+    private long[] ids;
+    private long[] versions;
+    private double[] prices;
+    private int[] textOffsets;
+    private int[] textLengths;
+    private int rowsUsed;
+    private int[] freeRows = new int[16];
+    private int freeRowCount;
+
+    private long[] sortedIds;
+    private int size;
+
+    private byte[] text;
+    private int textUsed;
+    private long textGarbage;
+
+    // ids removed since the last clear, guarded by the write lock
+    private Set<Long> removedIds;
+
+    public CompactBookCatalog() {
+        clear();
+    }
+
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            keys = new long[INITIAL_ROWS * 2];
+            Arrays.fill(keys, EMPTY);
+            keyRows = new int[INITIAL_ROWS * 2];
+            mask = keys.length - 1;
+            ids = new long[INITIAL_ROWS];
+            versions = new long[INITIAL_ROWS];
+            prices = new double[INITIAL_ROWS];
+            textOffsets = new int[INITIAL_ROWS];
+            textLengths = new int[INITIAL_ROWS];
+            rowsUsed = 0;
+            freeRowCount = 0;
+            sortedIds = new long[INITIAL_ROWS];
+            size = 0;
+            text = new byte[INITIAL_ROWS * 64];
+            textUsed = 0;
+            textGarbage = 0;
+            removedIds = new HashSet<>();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public void put(Book book) {
+        put(book, false);
+    }
+
+    /**
+     * Stores the book unless the catalog already holds a newer version of it or the book has
+     * been removed, for loading rows and applying events that may have been overtaken by a
+     * later write.
+     */
+    public void putIfNotOlder(Book book) {
+        put(book, true);
+    }
+
+    private void put(Book book, boolean keepNewer) {
+        long id = checkId(book.getId());
+        byte[] author = encode(book.getAuthor());
+        byte[] title = encode(book.getTitle());
+        byte[] description = encode(book.getDescription());
+        long version = book.getVersion() == null ? 0 : book.getVersion();
+        long stamp = lock.writeLock();
+        try {
+            if (keepNewer && removedIds.contains(id)) {
+                return;
+            }
+            // an unconditional put brings a removed id back
+            removedIds.remove(id);
+            int slot = findSlot(keys, mask, id);
+            int row;
+            if (keys[slot] == id) {
+                row = keyRows[slot];
+                if (keepNewer && versions[row] > version) {
+                    return;
+                }
+                textGarbage += textLengths[row];
+            } else {
+                row = allocateRow();
+                keys[slot] = id;
+                keyRows[slot] = row;
+                insertSorted(id);
+                if (size * 2 > keys.length) {
+                    rehash(keys.length * 2);
+                }
+            }
+            ids[row] = id;
+            versions[row] = version;
+            prices[row] = book.getPrice() == null ? 0 : book.getPrice();
+            appendText(row, author, title, description);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public boolean remove(long id) {
+        long stamp = lock.writeLock();
+        try {
+            removedIds.add(id);
+            int slot = findSlot(keys, mask, id);
+            if (keys[slot] != id) {
+                return false;
+            }
+            int row = keyRows[slot];
+            textGarbage += textLengths[row];
+            textLengths[row] = 0;
+            if (freeRowCount == freeRows.length) {
+                freeRows = Arrays.copyOf(freeRows, freeRows.length * 2);
+            }
+            freeRows[freeRowCount++] = row;
+            deleteSlot(slot);
+            int index = Arrays.binarySearch(sortedIds, 0, size, id);
+            System.arraycopy(sortedIds, index + 1, sortedIds, index, size - index - 1);
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public Book get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                Book book = read(id);
+                if (lock.validate(stamp)) {
+                    return book;
+                }
+            } catch (RuntimeException e) {
+                // a writer moved the arrays underneath, retry under the read lock
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return read(id);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean contains(long id) {
+        return get(id) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Up to {@code limit} books with an id greater than {@code afterId}, in id order.
+     */
+    public List<Book> page(long afterId, int limit) {
+        long stamp = lock.readLock();
+        try {
+            int index = Arrays.binarySearch(sortedIds, 0, size, afterId);
+            int from = index >= 0 ? index + 1 : -index - 1;
+            int to = (int) Math.min((long) from + limit, size);
+            List<Book> books = new ArrayList<>(Math.max(to - from, 0));
+            for (int i = from; i < to; i++) {
+                books.add(read(sortedIds[i]));
+            }
+            return books;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public List<Book> toList() {
+        long stamp = lock.readLock();
+        try {
+            List<Book> books = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                books.add(read(sortedIds[i]));
+            }
+            return books;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Hands every book to {@code consumer} in id order. The lock is held for one chunk at a
+     * time, so a slow consumer does not hold up writers.
+     */
+    public void forEach(Consumer<Book> consumer) {
+        long afterId = Long.MIN_VALUE;
+        List<Book> chunk = page(afterId, CHUNK);
+        while (!chunk.isEmpty()) {
+            chunk.forEach(consumer);
+            afterId = chunk.get(chunk.size() - 1).getId();
+            chunk = page(afterId, CHUNK);
+        }
+    }
+
+    /**
+     * Heap bytes held by the catalog's arrays, the books themselves included.
+     */
+    public long footprintBytes() {
+        long stamp = lock.readLock();
+        try {
+            return 8L * keys.length + 4L * keyRows.length
+                    + (8L + 8L + 8L + 4L + 4L) * ids.length
+                    + 4L * freeRows.length + 8L * sortedIds.length + text.length;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private Book read(long id) {
+        long[] keys = this.keys;
+        int slot = findSlot(keys, keys.length - 1, id);
+        if (keys[slot] != id) {
+            return null;
+        }
+        int row = keyRows[slot];
+        byte[] text = this.text;
+        int offset = textOffsets[row];
+        int authorLength = textLength(text, offset);
+        offset += 2;
+        String author = decode(text, offset, authorLength);
+        offset += authorLength == NULL_TEXT ? 0 : authorLength;
+        int titleLength = textLength(text, offset);
+        offset += 2;
+        String title = decode(text, offset, titleLength);
+        offset += titleLength == NULL_TEXT ? 0 : titleLength;
+        int descriptionLength = textLength(text, offset);
+        offset += 2;
+        String description = decode(text, offset, descriptionLength);
+        return new Book(ids[row], author, title, prices[row], description, versions[row]);
+    }
+
+    private int allocateRow() {
+        if (freeRowCount > 0) {
+            return freeRows[--freeRowCount];
+        }
+        if (rowsUsed == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            textOffsets = Arrays.copyOf(textOffsets, capacity);
+            textLengths = Arrays.copyOf(textLengths, capacity);
+        }
+        return rowsUsed++;
+    }
+
+    private void insertSorted(long id) {
+        if (size == sortedIds.length) {
+            sortedIds = Arrays.copyOf(sortedIds, sortedIds.length * 2);
+        }
+        // ids come from a sequence, so almost every insert appends
+        int index = size == 0 || sortedIds[size - 1] < id ? size : -Arrays.binarySearch(sortedIds, 0, size, id) - 1;
+        System.arraycopy(sortedIds, index, sortedIds, index + 1, size - index);
+        sortedIds[index] = id;
+        size++;
+    }
+
+    private void appendText(int row, byte[] author, byte[] title, byte[] description) {
+        int length = 6 + length(author) + length(title) + length(description);
+        if (textUsed + length > text.length) {
+            if (textGarbage * 2 > textUsed) {
+                compactText();
+            }
+            if (textUsed + length > text.length) {
+                text = Arrays.copyOf(text, Math.max(text.length * 2, textUsed + length));
+            }
+        }
+        int offset = textUsed;
+        offset = putText(offset, author);
+        offset = putText(offset, title);
+        putText(offset, description);
+        textOffsets[row] = textUsed;
+        textLengths[row] = length;
+        textUsed += length;
+    }
+
+    private void compactText() {
+        byte[] compacted = new byte[text.length];
+        int used = 0;
+        for (int i = 0; i < size; i++) {
+            int row = keyRows[findSlot(keys, mask, sortedIds[i])];
+            System.arraycopy(text, textOffsets[row], compacted, used, textLengths[row]);
+            textOffsets[row] = used;
+            used += textLengths[row];
+        }
+        text = compacted;
+        textUsed = used;
+        textGarbage = 0;
+    }
+
+    private int putText(int offset, byte[] value) {
+        int length = value == null ? NULL_TEXT : value.length;
+        text[offset] = (byte) (length >>> 8);
+        text[offset + 1] = (byte) length;
+        if (value == null) {
+            return offset + 2;
+        }
+        System.arraycopy(value, 0, text, offset + 2, value.length);
+        return offset + 2 + value.length;
+    }
+
+    private void rehash(int capacity) {
+        long[] newKeys = new long[capacity];
+        Arrays.fill(newKeys, EMPTY);
+        int[] newKeyRows = new int[capacity];
+        int newMask = capacity - 1;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != EMPTY) {
+                int target = findSlot(newKeys, newMask, keys[slot]);
+                newKeys[target] = keys[slot];
+                newKeyRows[target] = keyRows[slot];
+            }
+        }
+        keyRows = newKeyRows;
+        mask = newMask;
+        keys = newKeys;
+    }
+
+    // backward-shift deletion keeps probe chains intact without tombstones
+    private void deleteSlot(int slot) {
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                keyRows[hole] = keyRows[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+    }
+
+    private static int findSlot(long[] keys, int mask, long id) {
+        int slot = hash(id) & mask;
+        // bounded, an optimistic reader may see a table that is being rebuilt
+        for (int probes = 0; probes < keys.length; probes++) {
+            long key = keys[slot];
+            if (key == id || key == EMPTY) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        throw new IllegalStateException("Catalog hash table is full");
+    }
+
+    private static int hash(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static long checkId(Long id) {
+        if (id == null || id == EMPTY) {
+            throw new IllegalArgumentException("Book id is required");
+        }
+        return id;
+    }
+
+    private static int textLength(byte[] text, int offset) {
+        return ((text[offset] & 0xFF) << 8) | (text[offset + 1] & 0xFF);
+    }
+
+    private static String decode(byte[] text, int offset, int length) {
+        return length == NULL_TEXT ? null : new String(text, offset, length, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] encode(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length >= NULL_TEXT) {
+            throw new IllegalArgumentException("Text longer than " + (NULL_TEXT - 1) + " bytes");
+        }
+        return bytes;
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+}
@@ -0,0 +1,23 @@
+package com.librarymanagementsystem.business.catalog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identifies this application instance. Change feed rows carry it as their origin, so a node of a
+ * cluster recognises its own writes. Set with {@code library.cluster.node-id}, random per run otherwise.
+ */
+@Component
+public class NodeId {
+    private final String value;
+
+    public NodeId(@Value("${library.cluster.node-id:}") String configured) {
+        this.value = configured.isEmpty() ? UUID.randomUUID().toString() : configured;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,16 @@
+package com.librarymanagementsystem.business.cluster;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A committed catalog change sent to the other nodes of a cluster.
+ */
+@Getter
+@AllArgsConstructor
+public class BookInvalidation {
+    // node id of the writer, null when the bus cannot tell
+    private final String origin;
+    private final BookChangeEvent change;
+}
@@ -0,0 +1,87 @@
+package com.librarymanagementsystem.business.cluster;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.repository.BookChangeRepository;
+import com.librarymanagementsystem.business.service.BookChangeFeedService;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookChange;
+import com.librarymanagementsystem.model.BookChangePage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Uses the change feed in the shared database as the bus. Every write already records its
+ * outbox row in the write transaction, so publishing is a no-op and subscribers tail the feed.
+ * Invalidations carry the node id each change row was written with, so nodes can skip their own.
+ * A subscriber that falls behind the feed's retention receives a reload and continues from the
+ * newest change.
+ */
+public class ChangeFeedInvalidationBus implements InvalidationBus {
+    static final int PAGE_SIZE = 1000;
+
+    private final BookChangeFeedService changeFeedService;
+    private final BookChangeRepository changeRepository;
+
+    public ChangeFeedInvalidationBus(BookChangeFeedService changeFeedService,
+                                     BookChangeRepository changeRepository) {
+        this.changeFeedService = changeFeedService;
+        this.changeRepository = changeRepository;
+    }
+
+    @Override
+    public void publish(BookInvalidation invalidation) {
+    }
+
+    @Override
+    public Runnable subscribe(Consumer<BookInvalidation> listener) {
+        Long head = changeRepository.findMaxSeq();
+        return changeFeedService.subscribe(head == null ? 0 : head, PAGE_SIZE, page -> {
+            toInvalidations(page).forEach(listener);
+            return true;
+        }, () -> listener.accept(new BookInvalidation(null, BookChangeEvent.reloaded())));
+    }
+
+    static List<BookInvalidation> toInvalidations(BookChangePage page) {
+        List<BookInvalidation> invalidations = new ArrayList<>();
+        List<Book> saved = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        String origin = null;
+        for (BookChange change : page.getChanges()) {
+            if (!Objects.equals(origin, change.getOrigin())) {
+                // one invalidation per run of changes from the same node
+                flush(invalidations, origin, saved, removed);
+                origin = change.getOrigin();
+            }
+            switch (change.getType()) {
+                case SAVED:
+                    saved.add(change.getBook());
+                    break;
+                case DELETED:
+                    removed.add(change.getBookId());
+                    break;
+                default:
+                    // a reload supersedes the changes before it on this page
+                    saved.clear();
+                    removed.clear();
+                    invalidations.add(new BookInvalidation(origin, BookChangeEvent.reloaded()));
+            }
+        }
+        flush(invalidations, origin, saved, removed);
+        return invalidations;
+    }
+
+    private static void flush(List<BookInvalidation> invalidations, String origin, List<Book> saved,
+                              List<Long> removed) {
+        if (!saved.isEmpty()) {
+            invalidations.add(new BookInvalidation(origin, BookChangeEvent.saved(new ArrayList<>(saved))));
+            saved.clear();
+        }
+        if (!removed.isEmpty()) {
+            invalidations.add(new BookInvalidation(origin, BookChangeEvent.removed(new ArrayList<>(removed))));
+            removed.clear();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.librarymanagementsystem.business.cluster;
+
+import com.librarymanagementsystem.business.catalog.BookCacheWrites;
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.config.CacheConfig;
+import com.librarymanagementsystem.model.Book;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Keeps this node's in-memory state coherent with writes made on other nodes. Local changes
+ * are published to the {@link InvalidationBus}; changes from other nodes update the Book cache
+ * through {@link BookCacheWrites}, evict second-level cache entries, update the search index,
+ * move the catalog ETag and are republished locally as remote {@link BookChangeEvent}s for the
+ * compact catalog and change feed.
+ */
+@Slf4j
+public class ClusterCacheCoordinator {
+    private final InvalidationBus bus;
+    private final String nodeId;
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final BookSearchService bookSearchService;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile Runnable subscription;
+
+    public ClusterCacheCoordinator(InvalidationBus bus, String nodeId, CacheManager cacheManager,
+                                   EntityManagerFactory entityManagerFactory, BookSearchService bookSearchService,
+                                   CatalogVersion catalogVersion, ApplicationEventPublisher eventPublisher) {
+        this.bus = bus;
+        this.nodeId = nodeId;
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.bookSearchService = bookSearchService;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        subscription = bus.subscribe(this::apply);
+        log.info("Node {} joined the cluster over {}", nodeId, bus.getClass().getSimpleName());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.run();
+        }
+    }
+
+    @EventListener
+    public void onBookChange(BookChangeEvent event) {
+        if (!event.isRemote()) {
+            bus.publish(new BookInvalidation(nodeId, event));
+        }
+    }
+
+    void apply(BookInvalidation invalidation) {
+        if (nodeId.equals(invalidation.getOrigin())) {
+            return;
+        }
+        BookChangeEvent change = invalidation.getChange();
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        if (change.isReloaded()) {
+            if (cache != null) {
+                cache.clear();
+            }
+            entityManagerFactory.getCache().evict(BookDAO.class);
+            bookSearchService.rebuildIndex();
+        } else {
+            // installed rather than evicted, so a local read that loaded the row earlier cannot put it back
+            for (Book book : change.getSaved()) {
+                BookCacheWrites.putWritten(cache, book);
+                entityManagerFactory.getCache().evict(BookDAO.class, book.getId());
+                bookSearchService.indexBook(book);
+            }
+            for (Long id : change.getRemoved()) {
+                BookCacheWrites.putRemoved(cache, id);
+                entityManagerFactory.getCache().evict(BookDAO.class, id);
+                bookSearchService.removeBook(id);
+            }
+        }
+        catalogVersion.bump();
+        eventPublisher.publishEvent(change.asRemote());
+    }
+}
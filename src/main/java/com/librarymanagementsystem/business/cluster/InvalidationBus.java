@@ -0,0 +1,17 @@
+package com.librarymanagementsystem.business.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries catalog changes between the nodes sharing one database, so each node can drop what
+ * its Book cache, second-level cache and search index hold for the changed books.
+ */
+public interface InvalidationBus {
+    void publish(BookInvalidation invalidation);
+
+    /**
+     * Delivers invalidations published from now on, including this node's own, until the
+     * returned handle is run.
+     */
+    Runnable subscribe(Consumer<BookInvalidation> listener);
+}
@@ -0,0 +1,42 @@
+package com.librarymanagementsystem.business.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Connects the nodes running in one JVM, for tests and local experiments. Nodes on the same
+ * channel see each other's invalidations, delivered synchronously on the publishing thread.
+ */
+@Slf4j
+public class LoopbackInvalidationBus implements InvalidationBus {
+    private static final Map<String, List<Consumer<BookInvalidation>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final List<Consumer<BookInvalidation>> listeners;
+
+    public LoopbackInvalidationBus(String channel) {
+        this.listeners = CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void publish(BookInvalidation invalidation) {
+        for (Consumer<BookInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                // one failing node must not fail the write on the publishing one
+                log.warn("Invalidation listener failed", e);
+            }
+        }
+    }
+
+    @Override
+    public Runnable subscribe(Consumer<BookInvalidation> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+}
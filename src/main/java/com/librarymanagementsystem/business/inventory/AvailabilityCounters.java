@@ -0,0 +1,112 @@
+package com.librarymanagementsystem.business.inventory;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-memory count of the copies on the shelf per Book, so checkouts of a title with none left
+ * are turned away without a database round trip. A count only admits a checkout; the conditional
+ * UPDATE on book_inventory decides it. A count ahead of the table costs a round trip, one behind
+ * it (copies returned on another node) a rejection until the count is reloaded, which happens at
+ * most once per resync interval while it reads zero. Neither oversells a copy.
+ */
+public class AvailabilityCounters {
+
+    public enum Admission {
+        ADMITTED,
+        EXHAUSTED,
+        NO_INVENTORY
+    }
+
+    private final Function<Long, Integer> loader;
+    private final long resyncNanos;
+    private final ConcurrentHashMap<Long, Count> counts = new ConcurrentHashMap<>();
+
+    /**
+     * @param loader reads the available copies of a Book from the database, null when it has none registered
+     */
+    public AvailabilityCounters(Function<Long, Integer> loader, Duration resyncInterval) {
+        this.loader = loader;
+        this.resyncNanos = resyncInterval.toNanos();
+    }
+
+    public Admission tryTake(long bookId) {
+        Count count = counts.get(bookId);
+        if (count == null) {
+            // loaded outside the map, computeIfAbsent would hold a bin lock through the database read
+            Count loaded = load(bookId);
+            if (loaded == null) {
+                return Admission.NO_INVENTORY;
+            }
+            Count raced = counts.putIfAbsent(bookId, loaded);
+            count = raced != null ? raced : loaded;
+        }
+        if (count.tryTake()) {
+            return Admission.ADMITTED;
+        }
+        if (System.nanoTime() - count.loadedAt < resyncNanos) {
+            return Admission.EXHAUSTED;
+        }
+        Count reloaded = load(bookId);
+        if (reloaded == null) {
+            counts.remove(bookId, count);
+            return Admission.NO_INVENTORY;
+        }
+        // whoever reloads first wins, the others take from its count
+        counts.replace(bookId, count, reloaded);
+        Count current = counts.get(bookId);
+        return current != null && current.tryTake() ? Admission.ADMITTED : Admission.EXHAUSTED;
+    }
+
+    /**
+     * Puts back a copy taken with {@link #tryTake}, or a returned one.
+     */
+    public void release(long bookId) {
+        Count count = counts.get(bookId);
+        if (count != null) {
+            count.available.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops the count, the next checkout reloads it from the database.
+     */
+    public void invalidate(long bookId) {
+        counts.remove(bookId);
+    }
+
+    public void invalidateAll() {
+        counts.clear();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    private Count load(long bookId) {
+        Integer available = loader.apply(bookId);
+        return available == null ? null : new Count(available);
+    }
+
+    private static final class Count {
+        final AtomicInteger available;
+        final long loadedAt = System.nanoTime();
+
+        Count(int available) {
+            this.available = new AtomicInteger(available);
+        }
+
+        boolean tryTake() {
+            int current;
+            do {
+                current = available.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - 1));
+            return true;
+        }
+    }
+}
@@ -1,11 +1,31 @@
 package com.librarymanagementsystem.business.mappers;
 
+import com.librarymanagementsystem.business.repository.model.BookChangeDAO;
 import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.repository.model.BookSummaryRow;
 import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookSummary;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring")
 public interface BookMapper {
     BookDAO bookToDAO(Book book);
     Book daoToBook(BookDAO bookDAO);
+    BookSummary rowToSummary(BookSummaryRow bookSummaryRow);
+
+    @Mapping(target = "id", source = "bookId")
+    Book changeToBook(BookChangeDAO bookChangeDAO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void replaceDAO(Book book, @MappingTarget BookDAO bookDAO);
+
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void patchDAO(Book book, @MappingTarget BookDAO bookDAO);
 }
@@ -0,0 +1,80 @@
+package com.librarymanagementsystem.business.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the Book hot paths that the built-in web, repository and cache
+ * metrics do not cover. Endpoint latency comes from http.server.requests,
+ * repository calls from spring.data.repository.invocations and cache hits
+ * from cache.gets. library.book.lookup splits the Book reads by where they
+ * were answered from, so cache, compact catalog and database latency can be
+ * compared on one meter.
+ */
+@Component
+public class BookMetrics {
+    private final Timer mapperTimer;
+    private final Timer cacheLookupTimer;
+    private final Timer catalogLookupTimer;
+    private final Timer databaseLookupTimer;
+    private final DistributionSummary listRows;
+
+    @Autowired
+    public BookMetrics(MeterRegistry registry) {
+        this.mapperTimer = Timer.builder("library.book.mapper")
+                .description("Time spent mapping BookDAO rows into Book on the read paths")
+                .register(registry);
+        this.cacheLookupTimer = lookupTimer(registry, "cache");
+        this.catalogLookupTimer = lookupTimer(registry, "catalog");
+        this.databaseLookupTimer = lookupTimer(registry, "database");
+        this.listRows = DistributionSummary.builder("library.book.list.rows")
+                .description("Books returned per Get All Books call")
+                .baseUnit("rows")
+                .register(registry);
+    }
+
+    private static Timer lookupTimer(MeterRegistry registry, String source) {
+        return Timer.builder("library.book.lookup")
+                .description("Book reads by the cache, compact catalog or database that answered them")
+                .tag("source", source)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+    }
+
+    public <T> T timeMapping(Supplier<T> mapping) {
+        return mapperTimer.record(mapping);
+    }
+
+    /**
+     * Records a cache read that was a hit, timed from {@code startNanos}. Misses are counted by
+     * the database lookup that follows them.
+     */
+    public void recordCacheHit(long startNanos) {
+        cacheLookupTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public <T> T timeCatalogLookup(Supplier<T> lookup) {
+        return catalogLookupTimer.record(lookup);
+    }
+
+    public <T> T timeDatabaseLookup(Supplier<T> lookup) {
+        return databaseLookupTimer.record(lookup);
+    }
+
+    /**
+     * Records a database read that completed asynchronously, timed from {@code startNanos}.
+     */
+    public void recordDatabaseLookup(long startNanos) {
+        databaseLookupTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordListRows(int rows) {
+        listRows.record(rows);
+    }
+}
@@ -0,0 +1,31 @@
+package com.librarymanagementsystem.business.repository;
+
+import com.librarymanagementsystem.business.repository.model.BookChangeDAO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface BookChangeRepository extends JpaRepository<BookChangeDAO, Long> {
+
+    List<BookChangeDAO> findBySeqGreaterThanOrderBySeqAsc(long seq, Pageable pageable);
+
+    @Query("SELECT MIN(c.seq) FROM BookChangeDAO c")
+    Long findMinSeq();
+
+    @Query("SELECT MAX(c.seq) FROM BookChangeDAO c")
+    Long findMaxSeq();
+
+    @Query("SELECT MAX(c.seq) FROM BookChangeDAO c WHERE c.changedAt < :changedBefore")
+    Long findMaxSeqChangedBefore(long changedBefore);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM BookChangeDAO c WHERE c.seq <= :seq")
+    int deleteThrough(long seq);
+}
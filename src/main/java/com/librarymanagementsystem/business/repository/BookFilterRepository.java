@@ -0,0 +1,30 @@
+package com.librarymanagementsystem.business.repository;
+
+import com.librarymanagementsystem.business.repository.model.BookSummaryRow;
+import com.librarymanagementsystem.model.BookFilter;
+import com.librarymanagementsystem.model.BookSort;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filtered listing and facet queries whose conditions depend on which filter fields are set.
+ */
+public interface BookFilterRepository {
+
+    /**
+     * Up to {@code limit} rows matching the filter in {@code sort} order, starting after the
+     * row with sort value {@code afterValue} and id {@code afterId} when {@code afterId} is set.
+     */
+    List<BookSummaryRow> findSummaries(BookFilter filter, BookSort sort, Object afterValue, Long afterId, int limit);
+
+    /**
+     * Books per author, largest counts first.
+     */
+    Map<String, Long> countByAuthor(BookFilter filter, int limit);
+
+    /**
+     * Books per price bucket keyed by the bucket's lower bound, in ascending order.
+     */
+    Map<Double, Long> countByPriceBucket(BookFilter filter, double bucketWidth, int limit);
+}
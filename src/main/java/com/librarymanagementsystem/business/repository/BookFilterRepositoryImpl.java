@@ -0,0 +1,108 @@
+package com.librarymanagementsystem.business.repository;
+
+import com.librarymanagementsystem.business.repository.model.BookSummaryRow;
+import com.librarymanagementsystem.model.BookFilter;
+import com.librarymanagementsystem.model.BookSort;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the queries from the filter fields that are set, so every condition can use
+ * the indexes created in V2__book_filter_indexes.sql instead of an always-true branch.
+ */
+class BookFilterRepositoryImpl implements BookFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookSummaryRow> findSummaries(BookFilter filter, BookSort sort, Object afterValue, Long afterId,
+                                              int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> conditions = conditions(filter, parameters);
+        String property = "b." + sort.getProperty();
+        String direction = sort.isAscending() ? "ASC" : "DESC";
+        if (afterId != null) {
+            String comparison = sort.isAscending() ? " > " : " < ";
+            // the redundant bound gives the index a range to seek to, the OR alone makes H2 scan from the start
+            conditions.add(property + (sort.isAscending() ? " >= " : " <= ") + ":afterValue");
+            conditions.add("(" + property + comparison + ":afterValue OR (" + property + " = :afterValue AND b.id"
+                    + comparison + ":afterId))");
+            parameters.put("afterValue", afterValue);
+            parameters.put("afterId", afterId);
+        }
+        String jpql = "SELECT new " + BookSummaryRow.class.getName() + "(b.id, b.author, b.title, b.price)"
+                + " FROM BookDAO b" + where(conditions)
+                + " ORDER BY " + property + " " + direction + ", b.id " + direction;
+        TypedQuery<BookSummaryRow> query = entityManager.createQuery(jpql, BookSummaryRow.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public Map<String, Long> countByAuthor(BookFilter filter, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        String jpql = "SELECT b.author, COUNT(b) FROM BookDAO b" + where(conditions(filter, parameters))
+                + " GROUP BY b.author ORDER BY COUNT(b) DESC, b.author";
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        parameters.forEach(query::setParameter);
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : query.setMaxResults(limit).getResultList()) {
+            counts.put(row.get(0, String.class), row.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    @Override
+    public Map<Double, Long> countByPriceBucket(BookFilter filter, double bucketWidth, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        // the width is a literal, a bind parameter would make the SELECT and GROUP BY expressions differ
+        String bucket = "FLOOR(b.price / " + bucketWidth + ")";
+        String jpql = "SELECT " + bucket + ", COUNT(b) FROM BookDAO b" + where(conditions(filter, parameters))
+                + " GROUP BY " + bucket + " ORDER BY " + bucket;
+        TypedQuery<Tuple> query = entityManager.createQuery(jpql, Tuple.class);
+        parameters.forEach(query::setParameter);
+        Map<Double, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : query.setMaxResults(limit).getResultList()) {
+            counts.put(((Number) row.get(0)).doubleValue() * bucketWidth, row.get(1, Long.class));
+        }
+        return counts;
+    }
+
+    private static List<String> conditions(BookFilter filter, Map<String, Object> parameters) {
+        List<String> conditions = new ArrayList<>();
+        if (filter.getMinPrice() != null) {
+            conditions.add("b.price >= :minPrice");
+            parameters.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            conditions.add("b.price <= :maxPrice");
+            parameters.put("maxPrice", filter.getMaxPrice());
+        }
+        if (filter.getAuthor() != null) {
+            conditions.add("b.author = :author");
+            parameters.put("author", filter.getAuthor());
+        }
+        if (filter.getAuthorPrefix() != null) {
+            conditions.add("b.author LIKE :authorPrefix ESCAPE '\\'");
+            parameters.put("authorPrefix", escapeLike(filter.getAuthorPrefix()) + "%");
+        }
+        return conditions;
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,36 @@
+package com.librarymanagementsystem.business.repository;
+
+import com.librarymanagementsystem.business.repository.model.BookInventoryDAO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Copy counts only change through single conditional UPDATEs, so concurrent checkouts and
+ * returns never read a count into Java and write it back.
+ */
+@Repository
+public interface BookInventoryRepository extends JpaRepository<BookInventoryDAO, Long> {
+
+    @Query("SELECT i.available FROM BookInventoryDAO i WHERE i.bookId = :bookId")
+    Integer findAvailable(long bookId);
+
+    @Modifying
+    @Query("UPDATE BookInventoryDAO i SET i.available = i.available - 1 WHERE i.bookId = :bookId AND i.available > 0")
+    int takeCopy(long bookId);
+
+    @Modifying
+    @Query("UPDATE BookInventoryDAO i SET i.available = i.available + 1 "
+            + "WHERE i.bookId = :bookId AND i.available < i.total")
+    int returnCopy(long bookId);
+
+    /**
+     * Changes the number of copies, keeping the ones on loan; matches nothing when more
+     * copies than {@code total} are on loan.
+     */
+    @Modifying
+    @Query("UPDATE BookInventoryDAO i SET i.available = i.available + (:total - i.total), i.total = :total "
+            + "WHERE i.bookId = :bookId AND i.total - i.available <= :total")
+    int resize(long bookId, int total);
+}
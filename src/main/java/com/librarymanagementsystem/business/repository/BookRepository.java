@@ -1,9 +1,46 @@
 package com.librarymanagementsystem.business.repository;
 
 import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.model.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
 @Repository
-public interface BookRepository extends JpaRepository<BookDAO,Long> {
+public interface BookRepository extends JpaRepository<BookDAO,Long>, BookFilterRepository {
+
+    /**
+     * Constructor projection for read-only paths: rows become {@link Book}s directly, without a
+     * managed BookDAO, its dirty-checking snapshot or a mapper copy.
+     */
+    String BOOK_PROJECTION = "SELECT new com.librarymanagementsystem.model.Book("
+            + "b.id, b.author, b.title, b.price, b.description, b.version) FROM BookDAO b";
+
+    @Query("SELECT b FROM BookDAO b ORDER BY b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    Stream<BookDAO> streamAllOrderById();
+
+    @Query(BOOK_PROJECTION + " ORDER BY b.id")
+    List<Book> findAllBooks();
+
+    @Query(BOOK_PROJECTION + " WHERE b.id > :afterId ORDER BY b.id")
+    List<Book> findBookPage(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(BOOK_PROJECTION + " ORDER BY b.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<Book> streamAllBooks();
+
+    @Query(BOOK_PROJECTION + " WHERE b.id IN :ids")
+    List<Book> findBooksByIdIn(@Param("ids") Collection<Long> ids);
 }
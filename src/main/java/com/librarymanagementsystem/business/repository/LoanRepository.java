@@ -0,0 +1,18 @@
+package com.librarymanagementsystem.business.repository;
+
+import com.librarymanagementsystem.business.repository.model.LoanDAO;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LoanRepository extends JpaRepository<LoanDAO, Long> {
+
+    /**
+     * Matches nothing when the loan has already been returned, so a copy is only restocked once.
+     */
+    @Modifying
+    @Query("UPDATE LoanDAO l SET l.returnedAt = :returnedAt WHERE l.id = :id AND l.returnedAt IS NULL")
+    int markReturned(long id, long returnedAt);
+}
@@ -0,0 +1,99 @@
+package com.librarymanagementsystem.business.repository;
+
+import com.librarymanagementsystem.business.repository.model.BookChangeDAO;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the book table over R2DBC. Ids come from the same
+ * sequence as {@link BookDAO}, so rows written here and through JPA never collide.
+ */
+@Repository
+public class ReactiveBookRepository {
+    private static final String COLUMNS = "id, author, title, price, description, version";
+    private static final String CHANGE_COLUMNS =
+            "seq, change_type, book_id, author, title, price, description, version, changed_at, origin";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveBookRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<BookDAO> findAll() {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM book ORDER BY id")
+                .map(ReactiveBookRepository::toBookDAO)
+                .all();
+    }
+
+    public Mono<BookDAO> findById(Long id) {
+        return databaseClient.sql("SELECT " + COLUMNS + " FROM book WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveBookRepository::toBookDAO)
+                .one();
+    }
+
+    public Mono<BookDAO> save(BookDAO bookDAO) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient
+                .sql("INSERT INTO book (" + COLUMNS + ") "
+                        + "VALUES (NEXT VALUE FOR book_seq, :author, :title, :price, :description, 0)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("author", bookDAO.getAuthor())
+                .bind("title", bookDAO.getTitle())
+                .bind("price", bookDAO.getPrice());
+        insert = bookDAO.getDescription() == null
+                ? insert.bindNull("description", String.class)
+                : insert.bind("description", bookDAO.getDescription());
+        return insert.map(row -> row.get("id", Long.class))
+                .one()
+                .map(id -> new BookDAO(id, bookDAO.getAuthor(), bookDAO.getTitle(), bookDAO.getPrice(),
+                        bookDAO.getDescription(), 0L));
+    }
+
+    /**
+     * @return the number of deleted rows, 0 when no book has this id
+     */
+    public Mono<Long> deleteById(Long id) {
+        return databaseClient.sql("DELETE FROM book WHERE id = :id")
+                .bind("id", id)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Appends to the change feed outbox, numbered from the same sequence as {@link BookChangeDAO}.
+     * Run it in the transaction of the write it records.
+     */
+    public Mono<Void> insertChange(BookChangeDAO change) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient
+                .sql("INSERT INTO book_change (" + CHANGE_COLUMNS + ") VALUES (NEXT VALUE FOR book_change_seq, "
+                        + ":changeType, :bookId, :author, :title, :price, :description, :version, :changedAt, :origin)")
+                .bind("changeType", change.getChangeType().name())
+                .bind("changedAt", change.getChangedAt());
+        insert = bindNullable(insert, "bookId", change.getBookId(), Long.class);
+        insert = bindNullable(insert, "author", change.getAuthor(), String.class);
+        insert = bindNullable(insert, "title", change.getTitle(), String.class);
+        insert = bindNullable(insert, "price", change.getPrice(), Double.class);
+        insert = bindNullable(insert, "description", change.getDescription(), String.class);
+        insert = bindNullable(insert, "version", change.getVersion(), Long.class);
+        insert = bindNullable(insert, "origin", change.getOrigin(), String.class);
+        return insert.then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String name, Object value, Class<?> type) {
+        return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+    }
+
+    private static BookDAO toBookDAO(Readable row) {
+        return new BookDAO(row.get("id", Long.class), row.get("author", String.class),
+                row.get("title", String.class), row.get("price", Double.class),
+                row.get("description", String.class), row.get("version", Long.class));
+    }
+}
@@ -0,0 +1,63 @@
+package com.librarymanagementsystem.business.repository.model;
+
+import com.librarymanagementsystem.model.BookChangeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "book_change")
+public class BookChangeDAO {
+    // no pooling: numbers are taken one at a time so they follow the order writers reach the database
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_change_seq")
+    @SequenceGenerator(name = "book_change_seq", sequenceName = "book_change_seq", allocationSize = 1)
+    private Long seq;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private BookChangeType changeType;
+    @Column(name = "book_id")
+    private Long bookId;
+    @Column(name = "author", length = 30)
+    private String author;
+    @Column(name = "title", length = 50)
+    private String title;
+    @Column(name = "price")
+    private Double price;
+    @Column(name = "description")
+    private String description;
+    @Column(name = "version")
+    private Long version;
+    @Column(name = "changed_at", nullable = false)
+    private long changedAt;
+    // NodeId of the writer
+    @Column(name = "origin", length = 64)
+    private String origin;
+
+    public static BookChangeDAO saved(BookDAO bookDAO, String origin) {
+        return new BookChangeDAO(null, BookChangeType.SAVED, bookDAO.getId(), bookDAO.getAuthor(), bookDAO.getTitle(),
+                bookDAO.getPrice(), bookDAO.getDescription(), bookDAO.getVersion(), System.currentTimeMillis(), origin);
+    }
+
+    public static BookChangeDAO deleted(Long id, String origin) {
+        return new BookChangeDAO(null, BookChangeType.DELETED, id, null, null, null, null, null,
+                System.currentTimeMillis(), origin);
+    }
+
+    public static BookChangeDAO reloaded(String origin) {
+        return new BookChangeDAO(null, BookChangeType.RELOADED, null, null, null, null, null, null,
+                System.currentTimeMillis(), origin);
+    }
+}
@@ -1,23 +1,40 @@
 package com.librarymanagementsystem.business.repository.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 @NoArgsConstructor
 @AllArgsConstructor
 @Data
 @Entity
-@Table(name = "book")
+@DynamicUpdate
+// only cached when a second-level cache is configured, as in the performance profile
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = BookDAO.CACHE_REGION)
+@Table(name = "book", indexes = {
+        @Index(name = "book_price_id_idx", columnList = "price, id"),
+        @Index(name = "book_author_price_id_idx", columnList = "author, price, id"),
+        @Index(name = "book_title_id_idx", columnList = "title, id")})
 public class BookDAO {
+    public static final String CACHE_REGION = "book-entities";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "book_seq")
+    @SequenceGenerator(name = "book_seq", sequenceName = "book_seq", allocationSize = 50)
     private Long id;
     @Column(name = "author", nullable = false, length = 30)
     private String author;
@@ -27,4 +44,11 @@ public class BookDAO {
     private Double price;
     @Column(name = "description")
     private String description;
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    public BookDAO(Long id, String author, String title, Double price, String description) {
+        this(id, author, title, price, description, null);
+    }
 }
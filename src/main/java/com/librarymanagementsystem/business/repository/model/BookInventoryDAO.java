@@ -0,0 +1,25 @@
+package com.librarymanagementsystem.business.repository.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "book_inventory")
+public class BookInventoryDAO {
+    @Id
+    @Column(name = "book_id")
+    private Long bookId;
+    @Column(name = "total", nullable = false)
+    private Integer total;
+    // only changed by the conditional updates in BookInventoryRepository
+    @Column(name = "available", nullable = false)
+    private Integer available;
+}
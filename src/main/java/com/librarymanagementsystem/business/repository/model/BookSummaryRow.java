@@ -0,0 +1,18 @@
+package com.librarymanagementsystem.business.repository.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The columns of the book table a filtered listing needs, selected without loading the entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookSummaryRow {
+    private Long id;
+    private String author;
+    private String title;
+    private Double price;
+}
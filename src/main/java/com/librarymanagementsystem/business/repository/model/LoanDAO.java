@@ -0,0 +1,32 @@
+package com.librarymanagementsystem.business.repository.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "loan")
+public class LoanDAO {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "loan_seq")
+    @SequenceGenerator(name = "loan_seq", sequenceName = "loan_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+    @Column(name = "borrower", nullable = false, length = 64)
+    private String borrower;
+    @Column(name = "loaned_at", nullable = false)
+    private long loanedAt;
+    @Column(name = "returned_at")
+    private Long returnedAt;
+}
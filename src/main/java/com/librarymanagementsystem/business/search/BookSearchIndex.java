@@ -0,0 +1,556 @@
+package com.librarymanagementsystem.business.search;
+
+import com.librarymanagementsystem.model.Book;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Inverted index over the title, author and description of every Book.
+ * Terms are lower-cased runs of letters and digits; the last query term also
+ * matches as a prefix. Matching books must contain every query term and are
+ * ranked by field-weighted term frequency times inverse document frequency.
+ * Writers are serialized, readers never block.
+ * <p>
+ * Each indexed version of a book gets the next internal document number, and a
+ * term's postings are parallel {@code int}/{@code float} arrays in document order
+ * that writers only append to. Removing or replacing a book marks its old document
+ * dead; a term's postings are compacted once most of them are dead, and the whole
+ * index is renumbered once most document numbers are. A search racing a delete may
+ * still return the deleted id.
+ */
+public class BookSearchIndex {
+    static final float TITLE_WEIGHT = 3f;
+    static final float AUTHOR_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+    static final int MAX_PREFIX_EXPANSIONS = 64;
+    static final int MIN_COMPACTION = 1024;
+    private static final long DEAD = 0;
+
+    private volatile Segment segment = new Segment(MIN_COMPACTION);
+
+    public synchronized void add(Book book) {
+        Long id = book.getId();
+        if (id == null) {
+            return;
+        }
+        Segment current = segment;
+        Document existing = current.documents.get(id);
+        if (existing != null && isOlder(book.getVersion(), existing.version)) {
+            // a replayed or reordered change must not undo a newer one
+            return;
+        }
+        Map<String, Float> weights = new HashMap<>();
+        addTokens(weights, book.getTitle(), TITLE_WEIGHT);
+        addTokens(weights, book.getAuthor(), AUTHOR_WEIGHT);
+        addTokens(weights, book.getDescription(), DESCRIPTION_WEIGHT);
+        String[] terms = new String[weights.size()];
+        float[] termWeights = new float[weights.size()];
+        int i = 0;
+        for (Map.Entry<String, Float> entry : weights.entrySet()) {
+            terms[i] = entry.getKey();
+            termWeights[i++] = entry.getValue();
+        }
+        if (existing != null) {
+            current.kill(existing);
+        }
+        current.append(new Document(id, book.getVersion(), terms, termWeights));
+        compactIfMostlyDead(current);
+    }
+
+    public synchronized void remove(Long id) {
+        Segment current = segment;
+        Document existing = current.documents.remove(id);
+        if (existing != null) {
+            current.kill(existing);
+            compactIfMostlyDead(current);
+        }
+    }
+
+    public synchronized void clear() {
+        segment = new Segment(MIN_COMPACTION);
+    }
+
+    public int size() {
+        return segment.documents.size();
+    }
+
+    private void compactIfMostlyDead(Segment current) {
+        if (current.nextDoc >= MIN_COMPACTION && current.nextDoc > 2 * current.documents.size()) {
+            Segment renumbered = new Segment(Math.max(current.documents.size() * 2, MIN_COMPACTION));
+            List<Document> live = new ArrayList<>(current.documents.values());
+            live.sort((a, b) -> Integer.compare(a.doc, b.doc));
+            for (Document document : live) {
+                renumbered.append(document.copy());
+            }
+            segment = renumbered;
+        }
+    }
+
+    private static boolean isOlder(Long version, Long indexed) {
+        return version != null && indexed != null && version < indexed;
+    }
+
+    /**
+     * Ranks the books matching {@code query} and returns the ids of the
+     * requested page together with the total number of matches.
+     */
+    public Hits search(String query, int offset, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return new Hits(Collections.<Long>emptyList(), 0);
+        }
+        Segment current = segment;
+        int documentCount = Math.max(current.documents.size(), 1);
+        TermMatch[] matches = new TermMatch[tokens.size()];
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean prefix = i == tokens.size() - 1;
+            TermMatch match = prefix ? current.matchPrefix(tokens.get(i), documentCount)
+                    : current.matchTerm(tokens.get(i), documentCount);
+            if (match == null || match.size == 0) {
+                return new Hits(Collections.<Long>emptyList(), 0);
+            }
+            matches[i] = match;
+        }
+        // read after the postings, so it covers every document number they contain
+        long[] bookIds = current.bookIds;
+        Top top = new Top(offset + limit);
+        if (matches.length == 1 && matches[0].slice != null) {
+            return new Hits(topOfTerm(matches[0], bookIds, top).page(offset, limit), matches[0].slice.live);
+        }
+        // walk the rarest term and probe the others, so cost follows the smallest posting list
+        Arrays.sort(matches, (a, b) -> Integer.compare(a.size, b.size));
+        TermMatch smallest = matches[0];
+        int[] cursors = new int[matches.length];
+        int total = 0;
+        for (int p = 0; p < smallest.size; p++) {
+            int doc = smallest.docs[p];
+            long bookId = bookIds[doc];
+            if (bookId == DEAD) {
+                continue;
+            }
+            float score = smallest.scores[p] * smallest.factor;
+            boolean matchesAll = true;
+            for (int i = 1; i < matches.length && matchesAll; i++) {
+                TermMatch other = matches[i];
+                cursors[i] = other.seek(cursors[i], doc);
+                if (cursors[i] < other.size && other.docs[cursors[i]] == doc) {
+                    score += other.scores[cursors[i]] * other.factor;
+                } else {
+                    matchesAll = false;
+                }
+            }
+            if (matchesAll) {
+                total++;
+                top.offer(score, bookId);
+            }
+        }
+        return new Hits(top.page(offset, limit), total);
+    }
+
+    /**
+     * A single term's total is its live posting count, so only blocks whose bounds can still
+     * beat the weakest of the top are read; for a term most books share that is the first few.
+     */
+    private static Top topOfTerm(TermMatch match, long[] bookIds, Top top) {
+        Slice slice = match.slice;
+        for (int block = 0; block << Postings.BLOCK_SHIFT < match.size; block++) {
+            if (!top.admits(slice.blockMax[block] * match.factor, slice.blockMinId[block])) {
+                continue;
+            }
+            int end = Math.min((block + 1) << Postings.BLOCK_SHIFT, match.size);
+            for (int p = block << Postings.BLOCK_SHIFT; p < end; p++) {
+                long bookId = bookIds[match.docs[p]];
+                if (bookId != DEAD) {
+                    top.offer(match.scores[p] * match.factor, bookId);
+                }
+            }
+        }
+        return top;
+    }
+
+    private static void addTokens(Map<String, Float> weights, String text, float weight) {
+        for (String token : tokenize(text)) {
+            weights.merge(token, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PACKAGE)
+    public static class Hits {
+        private final List<Long> ids;
+        private final long total;
+    }
+
+    /**
+     * One generation of document numbers with its postings. Writers change it in place
+     * under the index lock; renumbering builds a new one, so a reader that captured a
+     * segment never mixes document numbers of two generations.
+     */
+    private static final class Segment {
+        private final Map<String, Postings> postings = new ConcurrentHashMap<>();
+        private final NavigableSet<String> vocabulary = new ConcurrentSkipListSet<>();
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+        // book id by document number, DEAD once the document is removed or replaced
+        private volatile long[] bookIds;
+        private int nextDoc;
+
+        Segment(int capacity) {
+            bookIds = new long[capacity];
+        }
+
+        void append(Document document) {
+            int doc = nextDoc++;
+            if (doc == bookIds.length) {
+                bookIds = Arrays.copyOf(bookIds, bookIds.length * 2);
+            }
+            bookIds[doc] = document.bookId;
+            document.doc = doc;
+            for (int i = 0; i < document.terms.length; i++) {
+                String term = document.terms[i];
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    termPostings = new Postings();
+                    postings.put(term, termPostings);
+                    vocabulary.add(term);
+                }
+                termPostings.append(doc, document.weights[i], document.bookId);
+            }
+            documents.put(document.bookId, document);
+        }
+
+        void kill(Document document) {
+            bookIds[document.doc] = DEAD;
+            for (String term : document.terms) {
+                Postings termPostings = postings.get(term);
+                if (termPostings == null) {
+                    continue;
+                }
+                if (termPostings.kill(bookIds) == 0) {
+                    postings.remove(term);
+                    vocabulary.remove(term);
+                }
+            }
+        }
+
+        TermMatch matchTerm(String token, int documentCount) {
+            Postings termPostings = postings.get(token);
+            if (termPostings == null) {
+                return null;
+            }
+            Slice slice = termPostings.slice;
+            return new TermMatch(slice, idf(documentCount, slice.live));
+        }
+
+        TermMatch matchPrefix(String token, int documentCount) {
+            List<Slice> expansions = new ArrayList<>();
+            List<Float> factors = new ArrayList<>();
+            for (String term : vocabulary.subSet(token, true, token + Character.MAX_VALUE, false)) {
+                if (expansions.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                Postings termPostings = postings.get(term);
+                if (termPostings != null) {
+                    Slice slice = termPostings.slice;
+                    expansions.add(slice);
+                    // exact matches outrank completions of the same prefix
+                    factors.add(idf(documentCount, slice.live) * (term.equals(token) ? 1f : 0.5f));
+                }
+            }
+            if (expansions.isEmpty()) {
+                return null;
+            }
+            if (expansions.size() == 1) {
+                Slice slice = expansions.get(0);
+                return new TermMatch(slice, factors.get(0));
+            }
+            // a book matching several completions keeps its best one; merged through a dense
+            // per-document array, read back in document order through a bitmap of touched documents
+            long[] bookIds = this.bookIds;
+            int limit = bookIds.length;
+            float[] best = new float[limit];
+            long[] touched = new long[(limit + 63) >>> 6];
+            int count = 0;
+            for (int e = 0; e < expansions.size(); e++) {
+                Slice slice = expansions.get(e);
+                float factor = factors.get(e);
+                for (int p = 0; p < slice.size; p++) {
+                    int doc = slice.docs[p];
+                    if (bookIds[doc] == DEAD) {
+                        continue;
+                    }
+                    float score = slice.weights[p] * factor;
+                    if ((touched[doc >>> 6] & (1L << doc)) == 0) {
+                        touched[doc >>> 6] |= 1L << doc;
+                        best[doc] = score;
+                        count++;
+                    } else if (score > best[doc]) {
+                        best[doc] = score;
+                    }
+                }
+            }
+            int[] docs = new int[count];
+            float[] scores = new float[count];
+            int n = 0;
+            for (int word = 0; word < touched.length; word++) {
+                long bits = touched[word];
+                while (bits != 0) {
+                    int doc = (word << 6) + Long.numberOfTrailingZeros(bits);
+                    docs[n] = doc;
+                    scores[n++] = best[doc];
+                    bits &= bits - 1;
+                }
+            }
+            return new TermMatch(docs, scores, count, 1f);
+        }
+
+        private static float idf(int documentCount, int documentFrequency) {
+            return (float) Math.log(1 + (double) documentCount / Math.max(documentFrequency, 1));
+        }
+    }
+
+    /**
+     * A term's postings. Appends write past the published size and then publish a new
+     * slice, so readers see complete entries without locking. Every {@link #BLOCK} postings
+     * also keep their highest weight and lowest book id, bounds that removals leave valid,
+     * so a single-term search can skip blocks that cannot reach its top.
+     */
+    private static final class Postings {
+        static final int BLOCK_SHIFT = 7;
+        static final int BLOCK = 1 << BLOCK_SHIFT;
+
+        private volatile Slice slice = new Slice(new int[4], new float[4], new float[1], new long[1], 0, 0);
+
+        void append(int doc, float weight, long bookId) {
+            Slice current = slice;
+            int[] docs = current.docs;
+            float[] weights = current.weights;
+            float[] blockMax = current.blockMax;
+            long[] blockMinId = current.blockMinId;
+            int position = current.size;
+            if (position == docs.length) {
+                docs = Arrays.copyOf(docs, docs.length * 2);
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+            int block = position >>> BLOCK_SHIFT;
+            if (block == blockMax.length) {
+                blockMax = Arrays.copyOf(blockMax, blockMax.length * 2);
+                blockMinId = Arrays.copyOf(blockMinId, blockMinId.length * 2);
+            }
+            docs[position] = doc;
+            weights[position] = weight;
+            if ((position & (BLOCK - 1)) == 0) {
+                blockMax[block] = weight;
+                blockMinId[block] = bookId;
+            } else {
+                blockMax[block] = Math.max(blockMax[block], weight);
+                blockMinId[block] = Math.min(blockMinId[block], bookId);
+            }
+            slice = new Slice(docs, weights, blockMax, blockMinId, position + 1, current.live + 1);
+        }
+
+        /**
+         * Counts one posting as dead and compacts once most are, readers keep the old arrays.
+         *
+         * @return the live postings left
+         */
+        int kill(long[] bookIds) {
+            Slice current = slice;
+            int live = current.live - 1;
+            if (live > 0 && current.size >= 16 && live * 2 < current.size) {
+                Postings compacted = new Postings();
+                for (int p = 0; p < current.size; p++) {
+                    long bookId = bookIds[current.docs[p]];
+                    if (bookId != DEAD) {
+                        compacted.append(current.docs[p], current.weights[p], bookId);
+                    }
+                }
+                slice = compacted.slice;
+                return slice.live;
+            }
+            slice = new Slice(current.docs, current.weights, current.blockMax, current.blockMinId, current.size,
+                    live);
+            return live;
+        }
+    }
+
+    private static final class Slice {
+        private final int[] docs;
+        private final float[] weights;
+        private final float[] blockMax;
+        private final long[] blockMinId;
+        private final int size;
+        private final int live;
+
+        Slice(int[] docs, float[] weights, float[] blockMax, long[] blockMinId, int size, int live) {
+            this.docs = docs;
+            this.weights = weights;
+            this.blockMax = blockMax;
+            this.blockMinId = blockMinId;
+            this.size = size;
+            this.live = live;
+        }
+    }
+
+    private static final class Document {
+        private final long bookId;
+        private final Long version;
+        private final String[] terms;
+        private final float[] weights;
+        private int doc;
+
+        Document(long bookId, Long version, String[] terms, float[] weights) {
+            this.bookId = bookId;
+            this.version = version;
+            this.terms = terms;
+            this.weights = weights;
+        }
+
+        Document copy() {
+            return new Document(bookId, version, terms, weights);
+        }
+    }
+
+    /**
+     * The postings of one query term in document order, scores multiplied by {@code factor}.
+     * Backed by the term's slice, or by a merge of prefix completions without one.
+     */
+    private static final class TermMatch {
+        private final Slice slice;
+        private final int[] docs;
+        private final float[] scores;
+        private final int size;
+        private final float factor;
+
+        TermMatch(Slice slice, float factor) {
+            this(slice, slice.docs, slice.weights, slice.size, factor);
+        }
+
+        TermMatch(int[] docs, float[] scores, int size, float factor) {
+            this(null, docs, scores, size, factor);
+        }
+
+        private TermMatch(Slice slice, int[] docs, float[] scores, int size, float factor) {
+            this.slice = slice;
+            this.docs = docs;
+            this.scores = scores;
+            this.size = size;
+            this.factor = factor;
+        }
+
+        /**
+         * @return the first position at or after {@code from} whose document is not below {@code doc},
+         * galloping ahead so probing a long list from a short one stays logarithmic
+         */
+        int seek(int from, int doc) {
+            if (from >= size || docs[from] >= doc) {
+                return from;
+            }
+            int step = 1;
+            int low = from;
+            int high = from + 1;
+            while (high < size && docs[high] < doc) {
+                low = high;
+                step <<= 1;
+                high = from + step;
+            }
+            int index = Arrays.binarySearch(docs, low + 1, Math.min(high, size - 1) + 1, doc);
+            return index >= 0 ? index : -index - 1;
+        }
+    }
+
+    /**
+     * The best {@code wanted} books seen so far. The weakest of a full top is kept in fields,
+     * so most candidates are turned away without touching the heap.
+     */
+    private static final class Top {
+        private final int wanted;
+        private final PriorityQueue<ScoredId> heap;
+        private float floorScore = Float.NEGATIVE_INFINITY;
+        private long floorId = Long.MIN_VALUE;
+
+        Top(int wanted) {
+            this.wanted = wanted;
+            this.heap = new PriorityQueue<>(Math.max(wanted, 1));
+        }
+
+        /**
+         * @return whether a book with this score, or any bounded by it, could still enter the top
+         */
+        boolean admits(float score, long bookId) {
+            return wanted > 0 && (score > floorScore || (score == floorScore && bookId < floorId));
+        }
+
+        void offer(float score, long bookId) {
+            if (!admits(score, bookId)) {
+                return;
+            }
+            if (heap.size() == wanted) {
+                heap.poll();
+            }
+            heap.add(new ScoredId(bookId, score));
+            if (heap.size() == wanted) {
+                floorScore = heap.peek().score;
+                floorId = heap.peek().id;
+            }
+        }
+
+        List<Long> page(int offset, int limit) {
+            List<ScoredId> ranked = new ArrayList<>(heap);
+            ranked.sort(Collections.reverseOrder());
+            List<Long> ids = new ArrayList<>(limit);
+            for (int i = offset; i < ranked.size(); i++) {
+                ids.add(ranked.get(i).id);
+            }
+            return ids;
+        }
+    }
+
+    private static class ScoredId implements Comparable<ScoredId> {
+        private final long id;
+        private final float score;
+
+        ScoredId(long id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredId other) {
+            int byScore = Float.compare(score, other.score);
+            // on equal score the lower id ranks higher, which keeps paging stable
+            return byScore != 0 ? byScore : Long.compare(other.id, id);
+        }
+    }
+}
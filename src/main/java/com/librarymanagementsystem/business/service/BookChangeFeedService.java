@@ -0,0 +1,22 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.BookChangePage;
+
+import java.util.function.Predicate;
+
+public interface BookChangeFeedService {
+    BookChangePage getChanges(long after, int limit);
+
+    /**
+     * Hands every page of changes after {@code after} to {@code listener} as they commit,
+     * until the listener returns false or the returned handle is run.
+     */
+    Runnable subscribe(long after, int limit, Predicate<BookChangePage> listener);
+
+    /**
+     * Like {@link #subscribe(long, int, Predicate)}, but a subscriber that falls behind the feed's
+     * retention runs {@code onResync}, which has to rebuild its state from the catalog, and then
+     * continues from the newest change instead of being dropped.
+     */
+    Runnable subscribe(long after, int limit, Predicate<BookChangePage> listener, Runnable onResync);
+}
@@ -0,0 +1,12 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.BookFacets;
+import com.librarymanagementsystem.model.BookFilter;
+import com.librarymanagementsystem.model.BookFilterPage;
+import com.librarymanagementsystem.model.BookSort;
+
+public interface BookFilterService {
+    BookFilterPage filterBooks(BookFilter filter, BookSort sort, String continuationToken, int size);
+
+    BookFacets getFacets(BookFilter filter, double bucketWidth);
+}
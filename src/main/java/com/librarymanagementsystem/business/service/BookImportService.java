@@ -0,0 +1,10 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookImportResult;
+
+import java.util.Iterator;
+
+public interface BookImportService {
+    BookImportResult importBooks(Iterator<Book> rows);
+}
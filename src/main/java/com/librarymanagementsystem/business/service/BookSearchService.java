@@ -0,0 +1,14 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookSearchPage;
+
+public interface BookSearchService {
+    BookSearchPage search(String query, int page, int size);
+
+    void indexBook(Book book);
+
+    void removeBook(Long id);
+
+    void rebuildIndex();
+}
@@ -1,16 +1,28 @@
 package com.librarymanagementsystem.business.service;
 
 import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookBatch;
+import com.librarymanagementsystem.model.BookPage;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface BookService {
     List<Book> getAllBooks();
 
+    BookPage getBookPage(String continuationToken, int size);
+
+    void streamAllBooks(Consumer<Book> consumer);
+
     Optional<Book> findBookById(Long id);
 
+    BookBatch findBooksByIds(Collection<Long> ids);
+
     Book saveBook(Book book);
 
+    Optional<Book> updateBook(Long id, Long expectedVersion, Book book, boolean partial);
+
     void deleteBookById(Long id);
 }
@@ -0,0 +1,13 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.BookSnapshotResult;
+
+import java.io.IOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+public interface BookSnapshotService {
+    BookSnapshotResult exportSnapshot(WritableByteChannel out, boolean compress) throws IOException;
+
+    BookSnapshotResult restoreSnapshot(ReadableByteChannel in) throws IOException;
+}
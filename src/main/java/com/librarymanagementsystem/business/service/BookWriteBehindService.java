@@ -0,0 +1,18 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookWriteStatus;
+
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+public interface BookWriteBehindService {
+    /**
+     * Validates the Book and queues it for the next group commit.
+     *
+     * @throws RejectedExecutionException when the queue is full or shutting down
+     */
+    BookWriteTicket submit(Book book);
+
+    Optional<BookWriteStatus> getStatus(String trackingId);
+}
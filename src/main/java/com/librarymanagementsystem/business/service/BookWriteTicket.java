@@ -0,0 +1,18 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.Book;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle on a queued Book save: the tracking id for status lookups and a future
+ * completed once the group commit holding the Book has committed or failed.
+ */
+@Getter
+@AllArgsConstructor
+public class BookWriteTicket {
+    private final String trackingId;
+    private final CompletableFuture<Book> committed;
+}
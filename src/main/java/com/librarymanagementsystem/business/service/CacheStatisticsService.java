@@ -0,0 +1,9 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.CacheStatistics;
+
+import java.util.Optional;
+
+public interface CacheStatisticsService {
+    Optional<CacheStatistics> getStatistics(String cacheName);
+}
@@ -0,0 +1,32 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.BookInventory;
+import com.librarymanagementsystem.model.Loan;
+
+import java.util.Optional;
+
+public interface LoanService {
+    Optional<BookInventory> getInventory(long bookId);
+
+    /**
+     * @return empty when the Book does not exist
+     * @throws IllegalArgumentException when total is negative
+     * @throws IllegalStateException    when more than total copies are on loan
+     */
+    Optional<BookInventory> setCopies(long bookId, int total);
+
+    /**
+     * @return empty when the Book has no copies registered
+     * @throws IllegalArgumentException when the borrower is missing or too long
+     * @throws IllegalStateException    when every copy is on loan
+     */
+    Optional<Loan> checkout(long bookId, String borrower);
+
+    /**
+     * @return empty when the loan does not exist
+     * @throws IllegalStateException when the loan has already been returned
+     */
+    Optional<Loan> returnLoan(long loanId);
+
+    Optional<Loan> getLoan(long loanId);
+}
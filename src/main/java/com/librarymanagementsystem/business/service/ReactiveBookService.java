@@ -0,0 +1,15 @@
+package com.librarymanagementsystem.business.service;
+
+import com.librarymanagementsystem.model.Book;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveBookService {
+    Flux<Book> getAllBooks();
+
+    Mono<Book> findBookById(Long id);
+
+    Mono<Book> saveBook(Book book);
+
+    Mono<Boolean> deleteBookById(Long id);
+}
@@ -0,0 +1,268 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
+import com.librarymanagementsystem.business.repository.BookChangeRepository;
+import com.librarymanagementsystem.business.repository.model.BookChangeDAO;
+import com.librarymanagementsystem.business.service.BookChangeFeedService;
+import com.librarymanagementsystem.model.BookChange;
+import com.librarymanagementsystem.model.BookChangePage;
+import com.librarymanagementsystem.model.BookChangeType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Reads the change feed outbox. Sequence numbers are taken when a change is written but
+ * become visible when it commits, so a reader can see seq n+1 before n. A page therefore
+ * ends at the first gap until this node has seen that gap for the settle time; then it is taken
+ * for a rolled back write or a skipped sequence value and passed. The gap is timed by this
+ * node's monotonic clock from when it first showed up, not by the change rows' timestamps, which
+ * the writer takes before its transaction commits and on its own clock.
+ * Subscriptions are served from one thread, woken by committed writes and once a second. A failed
+ * delivery is retried with exponential backoff, and a subscription that falls behind the
+ * retention is resynced from the newest change when it can be, or dropped when it cannot.
+ */
+@Service
+@Slf4j
+public class BookChangeFeedServiceImpl implements BookChangeFeedService {
+    static final int MAX_PAGE_SIZE = 1000;
+    static final long DISPATCH_INTERVAL_MILLIS = 1000;
+    static final long MAX_RETRY_BACKOFF_MILLIS = 60_000;
+    static final long PURGE_INTERVAL_MINUTES = 60;
+
+    private final BookChangeRepository repository;
+    private final BookMapper bookMapper;
+    private final BookMetrics bookMetrics;
+    private final long settleNanos;
+    private final long retentionMillis;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean dispatchPending = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "book-change-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // first missing seq of each gap a reader has stopped at -> System.nanoTime() when first seen
+    private final Map<Long, Long> gapsFirstSeen = new ConcurrentHashMap<>();
+    // changes up to here have been purged, readers behind it have to resync
+    private volatile long purgedThrough;
+
+    @Autowired
+    public BookChangeFeedServiceImpl(BookChangeRepository repository, BookMapper bookMapper, BookMetrics bookMetrics,
+                                     @Value("${library.changes.settle-time:5s}") Duration settleTime,
+                                     @Value("${library.changes.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.bookMapper = bookMapper;
+        this.bookMetrics = bookMetrics;
+        this.settleNanos = settleTime.toNanos();
+        this.retentionMillis = retention.toMillis();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        // purging always keeps the newest change, so the oldest one left marks how far earlier runs purged
+        Long minSeq = repository.findMinSeq();
+        purgedThrough = minSeq == null ? 0 : minSeq - 1;
+        executor.scheduleWithFixedDelay(() -> runLogged("dispatch", this::dispatch), DISPATCH_INTERVAL_MILLIS,
+                DISPATCH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(() -> runLogged("purge", this::purge), 0, PURGE_INTERVAL_MINUTES,
+                TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onBookChange(BookChangeEvent event) {
+        requestDispatch();
+    }
+
+    @Override
+    public BookChangePage getChanges(long after, int limit) {
+        checkPosition(after, limit);
+        List<BookChangeDAO> rows = repository.findBySeqGreaterThanOrderBySeqAsc(after, PageRequest.of(0, limit));
+        long now = System.nanoTime();
+        List<BookChange> changes = new ArrayList<>(rows.size());
+        long lastSeq = after;
+        for (BookChangeDAO row : rows) {
+            if (row.getSeq() != lastSeq + 1) {
+                long firstSeen = gapsFirstSeen.computeIfAbsent(lastSeq + 1, seq -> now);
+                if (now - firstSeen < settleNanos) {
+                    break;
+                }
+                log.info("Passing change feed gap from seq {} to {} after {} ms", lastSeq + 1, row.getSeq() - 1,
+                        TimeUnit.NANOSECONDS.toMillis(now - firstSeen));
+                gapsFirstSeen.remove(lastSeq + 1);
+            } else if (!gapsFirstSeen.isEmpty()) {
+                // the change a gap waited for has committed
+                gapsFirstSeen.remove(row.getSeq());
+            }
+            changes.add(toChange(row));
+            lastSeq = row.getSeq();
+        }
+        return new BookChangePage(changes, lastSeq);
+    }
+
+    @Override
+    public Runnable subscribe(long after, int limit, Predicate<BookChangePage> listener) {
+        return subscribe(after, limit, listener, null);
+    }
+
+    @Override
+    public Runnable subscribe(long after, int limit, Predicate<BookChangePage> listener, Runnable onResync) {
+        checkPosition(after, limit);
+        Subscription subscription = new Subscription(after, limit, listener, onResync);
+        subscriptions.add(subscription);
+        requestDispatch();
+        return () -> subscriptions.remove(subscription);
+    }
+
+    void dispatch() {
+        dispatchPending.set(false);
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        Long head = repository.findMaxSeq();
+        if (head == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.after >= head || now < subscription.retryAt) {
+                continue;
+            }
+            try {
+                if (subscription.after < purgedThrough) {
+                    resync(subscription, head);
+                    continue;
+                }
+                BookChangePage page = getChanges(subscription.after, subscription.limit);
+                if (page.getChanges().isEmpty()) {
+                    continue;
+                }
+                if (subscription.listener.test(page)) {
+                    subscription.after = page.getLastSeq();
+                    subscription.failures = 0;
+                } else {
+                    subscriptions.remove(subscription);
+                }
+            } catch (RuntimeException e) {
+                // a database hiccup or a failing listener, the same page is offered again later
+                subscription.failures++;
+                long backoff = retryBackoffMillis(subscription.failures);
+                subscription.retryAt = now + backoff;
+                log.warn("Change feed subscription after {} failed {} time(s), retrying in {} ms: {}",
+                        subscription.after, subscription.failures, backoff, e.getMessage());
+            }
+        }
+    }
+
+    private void resync(Subscription subscription, long head) {
+        if (subscription.onResync == null) {
+            log.warn("Dropping change feed subscription after {}, changes up to {} have been purged",
+                    subscription.after, purgedThrough);
+            subscriptions.remove(subscription);
+            return;
+        }
+        log.warn("Change feed subscription after {} is behind the purge at {}, resyncing from {}",
+                subscription.after, purgedThrough, head);
+        // the state rebuilt now includes every change up to head
+        subscription.onResync.run();
+        subscription.after = head;
+        subscription.failures = 0;
+    }
+
+    static long retryBackoffMillis(int failures) {
+        return Math.min(DISPATCH_INTERVAL_MILLIS << Math.min(failures - 1, 16), MAX_RETRY_BACKOFF_MILLIS);
+    }
+
+    void purge() {
+        Long maxSeq = repository.findMaxSeq();
+        Long expiredSeq = repository.findMaxSeqChangedBefore(System.currentTimeMillis() - retentionMillis);
+        if (maxSeq == null || expiredSeq == null) {
+            return;
+        }
+        long through = Math.min(expiredSeq, maxSeq - 1);
+        if (through > purgedThrough) {
+            // readers are turned away before the rows go, so none silently skips them
+            purgedThrough = through;
+            gapsFirstSeen.keySet().removeIf(seq -> seq <= through);
+            int deleted = repository.deleteThrough(through);
+            log.info("Purged {} changes up to seq {} from the change feed", deleted, through);
+        }
+    }
+
+    private void requestDispatch() {
+        if (!subscriptions.isEmpty() && dispatchPending.compareAndSet(false, true) && !executor.isShutdown()) {
+            executor.execute(() -> runLogged("dispatch", this::dispatch));
+        }
+    }
+
+    // an exception escaping a scheduled task would cancel its later runs
+    private static void runLogged(String task, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            log.warn("Change feed {} failed", task, e);
+        }
+    }
+
+    private void checkPosition(long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (after < 0) {
+            throw new IllegalArgumentException("Sequence number must not be negative");
+        }
+        if (after < purgedThrough) {
+            throw new IllegalStateException("Changes up to " + purgedThrough
+                    + " have been purged, resync from Get All Books");
+        }
+    }
+
+    private BookChange toChange(BookChangeDAO row) {
+        return new BookChange(row.getSeq(), row.getChangeType(), row.getBookId(),
+                row.getChangeType() == BookChangeType.SAVED
+                        ? bookMetrics.timeMapping(() -> bookMapper.changeToBook(row)) : null,
+                row.getChangedAt(), row.getOrigin());
+    }
+
+    private static final class Subscription {
+        private volatile long after;
+        private final int limit;
+        private final Predicate<BookChangePage> listener;
+        // null when the subscriber cannot resync and is dropped once it falls behind the purge
+        private final Runnable onResync;
+        // only touched by the dispatcher thread
+        private int failures;
+        private long retryAt;
+
+        private Subscription(long after, int limit, Predicate<BookChangePage> listener, Runnable onResync) {
+            this.after = after;
+            this.limit = limit;
+            this.listener = listener;
+            this.onResync = onResync;
+        }
+    }
+}
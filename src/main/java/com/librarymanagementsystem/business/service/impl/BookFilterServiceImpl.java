@@ -0,0 +1,124 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookSummaryRow;
+import com.librarymanagementsystem.business.service.BookFilterService;
+import com.librarymanagementsystem.model.BookFacets;
+import com.librarymanagementsystem.model.BookFilter;
+import com.librarymanagementsystem.model.BookFilterPage;
+import com.librarymanagementsystem.model.BookSort;
+import com.librarymanagementsystem.model.BookSummary;
+import com.librarymanagementsystem.model.FacetCount;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BookFilterServiceImpl implements BookFilterService {
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int TOP_AUTHORS = 20;
+    static final int MAX_PRICE_BUCKETS = 1000;
+    static final double MIN_BUCKET_WIDTH = 0.01;
+    static final double MAX_BUCKET_WIDTH = 1_000_000;
+
+    private final BookRepository repository;
+    private final BookMapper bookMapper;
+
+    @Autowired
+    public BookFilterServiceImpl(BookRepository repository, BookMapper bookMapper) {
+        this.repository = repository;
+        this.bookMapper = bookMapper;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookFilterPage filterBooks(BookFilter filter, BookSort sort, String continuationToken, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        validate(filter);
+        Object afterValue = null;
+        Long afterId = null;
+        if (continuationToken != null && !continuationToken.isEmpty()) {
+            String[] key = decodeToken(continuationToken, sort);
+            afterValue = "price".equals(sort.getProperty()) ? (Object) Double.valueOf(key[0]) : key[0];
+            afterId = Long.valueOf(key[1]);
+        }
+        // one extra row tells us whether another page exists without a count query
+        List<BookSummaryRow> rows = repository.findSummaries(filter, sort, afterValue, afterId, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<BookSummary> books = rows.stream()
+                .limit(size)
+                .map(bookMapper::rowToSummary)
+                .collect(Collectors.toList());
+        String nextToken = null;
+        if (hasMore) {
+            BookSummary last = books.get(books.size() - 1);
+            Object lastValue = "price".equals(sort.getProperty()) ? last.getPrice() : last.getTitle();
+            nextToken = encodeToken(sort, lastValue, last.getId());
+        }
+        log.debug("Filtered Book page {} sorted by {} has {} entries", filter, sort, books.size());
+        return new BookFilterPage(books, nextToken);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BookFacets getFacets(BookFilter filter, double bucketWidth) {
+        if (bucketWidth < MIN_BUCKET_WIDTH || bucketWidth > MAX_BUCKET_WIDTH) {
+            throw new IllegalArgumentException("Bucket width must be between " + MIN_BUCKET_WIDTH + " and "
+                    + (long) MAX_BUCKET_WIDTH);
+        }
+        validate(filter);
+        List<FacetCount> authors = repository.countByAuthor(filter, TOP_AUTHORS).entrySet().stream()
+                .map(entry -> new FacetCount(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+        List<FacetCount> prices = repository.countByPriceBucket(filter, bucketWidth, MAX_PRICE_BUCKETS).entrySet()
+                .stream()
+                .map(entry -> new FacetCount(BigDecimal.valueOf(entry.getKey()).stripTrailingZeros().toPlainString(),
+                        entry.getValue()))
+                .collect(Collectors.toList());
+        return new BookFacets(authors, prices, bucketWidth);
+    }
+
+    private static void validate(BookFilter filter) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice() > filter.getMaxPrice()) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        if (filter.getAuthor() != null && filter.getAuthorPrefix() != null) {
+            throw new IllegalArgumentException("Use either author or authorPrefix, not both");
+        }
+    }
+
+    // SORT|value|id, the value may itself contain the separator
+    static String encodeToken(BookSort sort, Object value, Long id) {
+        String key = sort.name() + "|" + value + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decodeToken(String token, BookSort sort) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = key.indexOf('|');
+            int last = key.lastIndexOf('|');
+            if (first < 0 || first == last || !key.substring(0, first).equals(sort.name())) {
+                throw new IllegalArgumentException("Continuation token does not belong to sort " + sort);
+            }
+            String value = key.substring(first + 1, last);
+            String id = key.substring(last + 1);
+            Long.parseLong(id);
+            return new String[]{value, id};
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.BookChangeRecorder;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookImportService;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.config.CacheConfig;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookImportError;
+import com.librarymanagementsystem.model.BookImportResult;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class BookImportServiceImpl implements BookImportService {
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final BookRepository repository;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final CacheManager cacheManager;
+    private final BookSearchService bookSearchService;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookChangeRecorder changeRecorder;
+    private final int commitInterval;
+
+    @Autowired
+    public BookImportServiceImpl(BookRepository repository, BookMapper bookMapper, Validator validator,
+                                 PlatformTransactionManager transactionManager, EntityManager entityManager,
+                                 CacheManager cacheManager, BookSearchService bookSearchService,
+                                 CatalogVersion catalogVersion, ApplicationEventPublisher eventPublisher,
+                                 BookChangeRecorder changeRecorder,
+                                 @Value("${library.import.commit-interval:1000}") int commitInterval) {
+        this.repository = repository;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.bookSearchService = bookSearchService;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.changeRecorder = changeRecorder;
+        this.commitInterval = commitInterval;
+    }
+
+    @Override
+    public BookImportResult importBooks(Iterator<Book> rows) {
+        long start = System.nanoTime();
+        List<BookImportError> errors = new ArrayList<>();
+        List<BookDAO> chunk = new ArrayList<>(commitInterval);
+        long row = 0;
+        long imported = 0;
+        long failed = 0;
+        while (true) {
+            Book book;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                book = rows.next();
+            } catch (RuntimeException e) {
+                // a malformed row leaves the parser in an unknown state, so the rest of the body is dropped
+                failed++;
+                addError(errors, row + 1, "Unreadable row, import stopped: " + e.getMessage());
+                break;
+            }
+            row++;
+            String violations = validate(book);
+            if (violations != null) {
+                failed++;
+                addError(errors, row, violations);
+                continue;
+            }
+            chunk.add(bookMapper.bookToDAO(book));
+            if (chunk.size() == commitInterval) {
+                imported += writeChunk(chunk);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(chunk);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : imported * 1_000_000_000d / elapsedNanos;
+        log.info("Imported {} Book entries, rejected {}, {} rows/sec", imported, failed,
+                String.format("%.1f", rowsPerSecond));
+        return new BookImportResult(imported, failed, elapsedNanos / 1_000_000, rowsPerSecond, errors);
+    }
+
+    private String validate(Book book) {
+        if (book == null) {
+            return "Empty row";
+        }
+        Set<ConstraintViolation<Book>> violations = validator.validate(book);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private int writeChunk(List<BookDAO> chunk) {
+        int size = chunk.size();
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.saveAll(chunk);
+            changeRecorder.recordSaved(chunk);
+            // push the batched inserts now and drop the entities so the import runs in constant memory
+            entityManager.flush();
+            entityManager.clear();
+        });
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        if (cache != null) {
+            // ids may have been cached as missing before they were assigned
+            chunk.forEach(bookDAO -> cache.evict(bookDAO.getId()));
+        }
+        List<Book> books = chunk.stream().map(bookMapper::daoToBook).collect(Collectors.toList());
+        books.forEach(bookSearchService::indexBook);
+        catalogVersion.bump();
+        eventPublisher.publishEvent(BookChangeEvent.saved(books));
+        chunk.clear();
+        return size;
+    }
+
+    private static void addError(List<BookImportError> errors, long row, String message) {
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new BookImportError(row, message));
+        }
+    }
+}
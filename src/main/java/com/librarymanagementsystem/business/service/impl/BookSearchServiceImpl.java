@@ -0,0 +1,171 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.search.BookSearchIndex;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookSearchPage;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Serves search from an in-memory index. A rebuild streams the catalog into a new index while
+ * the current one keeps serving and taking writes; writes made meanwhile are replayed onto the
+ * new index before it is swapped in, so a row read before a concurrent update or delete
+ * committed cannot leave a stale entry behind.
+ */
+@Service
+@Slf4j
+public class BookSearchServiceImpl implements BookSearchService {
+    static final int MAX_PAGE_SIZE = 100;
+    static final int MAX_RESULT_WINDOW = 10_000;
+
+    private final BookRepository repository;
+    private final BookMapper bookMapper;
+    private final BookMetrics bookMetrics;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Object rebuildLock = new Object();
+    private final Object writeLock = new Object();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile BookSearchIndex index = new BookSearchIndex();
+    // writes made while a rebuild streams, guarded by writeLock; null when no rebuild runs
+    private List<Consumer<BookSearchIndex>> pendingWrites;
+
+    @Autowired
+    public BookSearchServiceImpl(BookRepository repository, BookMapper bookMapper, BookMetrics bookMetrics,
+                                 EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.bookMapper = bookMapper;
+        this.bookMetrics = bookMetrics;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public BookSearchPage search(String query, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0 || (long) (page + 1) * size > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Page must be between 0 and " + (MAX_RESULT_WINDOW / size - 1));
+        }
+        BookSearchIndex.Hits hits = index.search(query, page * size, size);
+        return new BookSearchPage(hits.getTotal(), page, size, loadInOrder(hits.getIds()));
+    }
+
+    @Override
+    public void indexBook(Book book) {
+        synchronized (writeLock) {
+            index.add(book);
+            if (pendingWrites != null) {
+                pendingWrites.add(rebuilt -> rebuilt.add(book));
+            }
+        }
+    }
+
+    @Override
+    public void removeBook(Long id) {
+        synchronized (writeLock) {
+            index.remove(id);
+            if (pendingWrites != null) {
+                pendingWrites.add(rebuilt -> rebuilt.remove(id));
+            }
+        }
+    }
+
+    /**
+     * Builds the index off the startup path, so a node restarting on a large persistent
+     * catalog takes traffic at once; until the build finishes search sees only part of it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndexInBackground() {
+        rebuilder.execute(() -> {
+            try {
+                rebuildIndex();
+            } catch (RuntimeException e) {
+                log.error("Search index rebuild failed, searching the previous index", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuilder.shutdownNow();
+    }
+
+    @Override
+    public void rebuildIndex() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (writeLock) {
+                pendingWrites = new ArrayList<>();
+            }
+            BookSearchIndex rebuilt = new BookSearchIndex();
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<BookDAO> stream = repository.streamAllOrderById()) {
+                        stream.forEach(bookDAO -> {
+                            rebuilt.add(bookMapper.daoToBook(bookDAO));
+                            entityManager.detach(bookDAO);
+                        });
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    pendingWrites = null;
+                }
+                throw e;
+            }
+            int replayed;
+            synchronized (writeLock) {
+                replayed = pendingWrites.size();
+                pendingWrites.forEach(write -> write.accept(rebuilt));
+                pendingWrites = null;
+                index = rebuilt;
+            }
+            log.info("Search index built with {} Book entries in {} ms, {} concurrent writes replayed",
+                    rebuilt.size(), System.currentTimeMillis() - start, replayed);
+        }
+    }
+
+    private List<Book> loadInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<Long, BookDAO> byId = bookMetrics.timeDatabaseLookup(() -> repository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(BookDAO::getId, Function.identity()));
+        // a book deleted between ranking and loading is simply left out
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(bookDAO -> bookMetrics.timeMapping(() -> bookMapper.daoToBook(bookDAO)))
+                .collect(Collectors.toList());
+    }
+}
@@ -1,59 +1,279 @@
 package com.librarymanagementsystem.business.service.impl;
 
+import com.librarymanagementsystem.business.catalog.BookCacheWrites;
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.BookChangeRecorder;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
 import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
 import com.librarymanagementsystem.business.repository.BookRepository;
 import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
 import com.librarymanagementsystem.business.service.BookService;
+import com.librarymanagementsystem.config.CacheConfig;
 import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookBatch;
+import com.librarymanagementsystem.model.BookPage;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 public class BookServiceImpl implements BookService {
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BATCH_IDS = 1000;
+    static final int IN_CLAUSE_CHUNK = 200;
+
     private final BookRepository repository;
     private final BookMapper bookMapper;
+    private final EntityManager entityManager;
+    private final BookSearchService bookSearchService;
+    private final BookMetrics bookMetrics;
+    private final CatalogVersion catalogVersion;
+    private final CacheManager cacheManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookChangeRecorder changeRecorder;
 
     @Autowired
-    public BookServiceImpl(BookRepository repository, BookMapper bookMapper) {
+    public BookServiceImpl(BookRepository repository, BookMapper bookMapper, EntityManager entityManager,
+                           BookSearchService bookSearchService, BookMetrics bookMetrics,
+                           CatalogVersion catalogVersion, CacheManager cacheManager, Validator validator,
+                           PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+                           BookChangeRecorder changeRecorder) {
         this.repository = repository;
         this.bookMapper = bookMapper;
+        this.entityManager = entityManager;
+        this.bookSearchService = bookSearchService;
+        this.bookMetrics = bookMetrics;
+        this.catalogVersion = catalogVersion;
+        this.cacheManager = cacheManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.changeRecorder = changeRecorder;
     }
 
     @Override
     public List<Book> getAllBooks() {
-        List<Book> list = repository.findAll()
-                .stream()
-                .map(bookMapper::daoToBook)
-                .collect(Collectors.toList());
-        log.info("Size of the Book list: {}", list.size());
+        List<Book> list = repository.findAllBooks();
+        bookMetrics.recordListRows(list.size());
+        log.debug("Size of the Book list: {}", list.size());
         return list;
     }
 
+    @Override
+    public BookPage getBookPage(String continuationToken, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterId = decodeToken(continuationToken);
+        // one extra row tells us whether another page exists without a count query
+        List<Book> rows = repository.findBookPage(afterId, PageRequest.of(0, size + 1));
+        boolean hasMore = rows.size() > size;
+        List<Book> books = hasMore ? rows.subList(0, size) : rows;
+        String nextToken = hasMore ? encodeToken(books.get(books.size() - 1).getId()) : null;
+        log.debug("Book page after id {} has {} entries", afterId, books.size());
+        return new BookPage(books, nextToken);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllBooks(Consumer<Book> consumer) {
+        // projected rows are not managed, so the persistence context does not grow with the catalog
+        try (Stream<Book> stream = repository.streamAllBooks()) {
+            stream.forEach(consumer);
+        }
+    }
+
+    /**
+     * Reads through the Book cache by hand rather than with {@code @Cacheable}, so hits can be timed
+     * next to database reads. A missing Book is cached as null, as {@code @Cacheable} would.
+     */
     @Override
     public Optional<Book> findBookById(Long id) {
-        Optional<BookDAO> customerDAO = repository.findById(id);
-        if (customerDAO.isEmpty()) {
-            log.info("Book with id {} does not exist.", id);
-            return Optional.empty();
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        if (cache != null) {
+            long start = System.nanoTime();
+            Cache.ValueWrapper cached = cache.get(id);
+            if (cached != null) {
+                bookMetrics.recordCacheHit(start);
+                return Optional.ofNullable((Book) cached.get());
+            }
         }
-        log.info("Book with id {} found.", id);
-        return customerDAO.map(bookMapper::daoToBook);
+        Optional<BookDAO> customerDAO = bookMetrics.timeDatabaseLookup(() -> repository.findById(id));
+        Book book = null;
+        if (customerDAO.isPresent()) {
+            log.debug("Book with id {} found.", id);
+            book = bookMetrics.timeMapping(() -> bookMapper.daoToBook(customerDAO.get()));
+        } else {
+            log.debug("Book with id {} does not exist.", id);
+        }
+        BookCacheWrites.putLoaded(cache, id, book);
+        return Optional.ofNullable(book);
     }
+
+    @Override
+    public BookBatch findBooksByIds(Collection<Long> ids) {
+        LinkedHashSet<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " distinct ids can be requested at once");
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        Map<Long, Book> found = new HashMap<>();
+        List<Long> toLoad = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            long start = System.nanoTime();
+            Cache.ValueWrapper cached = cache == null ? null : cache.get(id);
+            if (cached == null) {
+                toLoad.add(id);
+                continue;
+            }
+            bookMetrics.recordCacheHit(start);
+            if (cached.get() != null) {
+                found.put(id, (Book) cached.get());
+            }
+        }
+        // fixed-size chunks keep the IN list short and, with parameter padding, the query plans few
+        for (int from = 0; from < toLoad.size(); from += IN_CLAUSE_CHUNK) {
+            List<Long> chunk = toLoad.subList(from, Math.min(from + IN_CLAUSE_CHUNK, toLoad.size()));
+            List<Book> loaded = bookMetrics.timeDatabaseLookup(() -> repository.findBooksByIdIn(chunk));
+            for (Book book : loaded) {
+                found.put(book.getId(), book);
+            }
+            // ids without a row are cached as missing, like findBookById does
+            chunk.forEach(id -> BookCacheWrites.putLoaded(cache, id, found.get(id)));
+        }
+        List<Book> books = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Book book = found.get(id);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        log.debug("Batch lookup of {} ids: {} from the database, {} missing", uniqueIds.size(), toLoad.size(),
+                missingIds.size());
+        return new BookBatch(books, missingIds);
+    }
+
     @Override
     public Book saveBook(Book book) {
-        log.info("Saving Book entry: {}", book);
-        return bookMapper.daoToBook(repository.save(bookMapper.bookToDAO(book)));
+        log.debug("Saving Book entry: {}", book);
+        Book savedBook = transactionTemplate.execute(status -> {
+            BookDAO savedDAO = repository.save(bookMapper.bookToDAO(book));
+            // an update only bumps the version on flush, and the change feed records the new one
+            entityManager.flush();
+            changeRecorder.recordSaved(savedDAO);
+            return bookMapper.daoToBook(savedDAO);
+        });
+        BookCacheWrites.putWritten(cacheManager.getCache(CacheConfig.BOOKS_CACHE), savedBook);
+        bookSearchService.indexBook(savedBook);
+        catalogVersion.bump();
+        eventPublisher.publishEvent(BookChangeEvent.saved(savedBook));
+        return savedBook;
+    }
+
+    /**
+     * Replaces or, when {@code partial}, patches the Book if it is still at {@code expectedVersion},
+     * or at any version when that is null. No row lock is taken: a stale version fails up front and a
+     * write that races past the check fails the versioned UPDATE at commit, both as
+     * {@link OptimisticLockingFailureException}.
+     */
+    @Override
+    public Optional<Book> updateBook(Long id, Long expectedVersion, Book book, boolean partial) {
+        Optional<Book> updated = transactionTemplate.execute(status -> {
+            Optional<BookDAO> existing = repository.findById(id);
+            if (existing.isEmpty()) {
+                return Optional.<Book>empty();
+            }
+            BookDAO bookDAO = existing.get();
+            if (expectedVersion != null && !bookDAO.getVersion().equals(expectedVersion)) {
+                throw new OptimisticLockingFailureException("Book " + id + " is at version "
+                        + bookDAO.getVersion() + ", not " + expectedVersion);
+            }
+            if (partial) {
+                bookMapper.patchDAO(book, bookDAO);
+            } else {
+                bookMapper.replaceDAO(book, bookDAO);
+            }
+            Set<ConstraintViolation<Book>> violations = validator.validate(bookMapper.daoToBook(bookDAO));
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+            // flushing here bumps the version before it is mapped into the response
+            BookDAO savedDAO = repository.saveAndFlush(bookDAO);
+            changeRecorder.recordSaved(savedDAO);
+            return Optional.of(bookMapper.daoToBook(savedDAO));
+        });
+        updated.ifPresent(updatedBook -> {
+            BookCacheWrites.putWritten(cacheManager.getCache(CacheConfig.BOOKS_CACHE), updatedBook);
+            bookSearchService.indexBook(updatedBook);
+            catalogVersion.bump();
+            eventPublisher.publishEvent(BookChangeEvent.saved(updatedBook));
+            log.debug("Book entry with id: {} updated to version {}", id, updatedBook.getVersion());
+        });
+        return updated;
     }
 
     @Override
     public void deleteBookById(Long id) {
-        repository.deleteById(id);
-        log.info("Book entry with id: {} is deleted", id);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (repository.existsById(id)) {
+                repository.deleteById(id);
+                changeRecorder.recordDeleted(id);
+            }
+        });
+        BookCacheWrites.putRemoved(cacheManager.getCache(CacheConfig.BOOKS_CACHE), id);
+        bookSearchService.removeBook(id);
+        catalogVersion.bump();
+        eventPublisher.publishEvent(BookChangeEvent.removed(id));
+        log.debug("Book entry with id: {} is deleted", id);
+    }
+
+    static String encodeToken(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decodeToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid continuation token: " + token, e);
+        }
     }
 }
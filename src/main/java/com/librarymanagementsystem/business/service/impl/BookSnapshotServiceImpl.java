@@ -0,0 +1,180 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.BookChangeRecorder;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.business.service.BookSnapshotService;
+import com.librarymanagementsystem.business.snapshot.BookSnapshotReader;
+import com.librarymanagementsystem.business.snapshot.BookSnapshotWriter;
+import com.librarymanagementsystem.config.CacheConfig;
+import com.librarymanagementsystem.model.BookSnapshotResult;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+public class BookSnapshotServiceImpl implements BookSnapshotService {
+    static final int INSERT_BATCH_SIZE = 1000;
+    // must match the allocationSize of the book_seq generator in BookDAO
+    static final int SEQUENCE_INCREMENT = 50;
+    static final String BOOK_SEQ_USED = "SELECT BASE_VALUE <> START_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+            + "WHERE SEQUENCE_SCHEMA = SCHEMA() AND SEQUENCE_NAME = 'BOOK_SEQ'";
+    static final String INSERT_BOOK =
+            "INSERT INTO book (id, author, title, price, description, version) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final BookRepository repository;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final CacheManager cacheManager;
+    private final BookSearchService bookSearchService;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookChangeRecorder changeRecorder;
+    private final int commitInterval;
+
+    @Autowired
+    public BookSnapshotServiceImpl(BookRepository repository, JdbcTemplate jdbcTemplate, EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                                   BookSearchService bookSearchService, CatalogVersion catalogVersion,
+                                   ApplicationEventPublisher eventPublisher, BookChangeRecorder changeRecorder,
+                                   @Value("${library.snapshot.commit-interval:20000}") int commitInterval) {
+        this.repository = repository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.cacheManager = cacheManager;
+        this.bookSearchService = bookSearchService;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.changeRecorder = changeRecorder;
+        this.commitInterval = commitInterval;
+    }
+
+    @Override
+    public BookSnapshotResult exportSnapshot(WritableByteChannel out, boolean compress) throws IOException {
+        long start = System.nanoTime();
+        BookSnapshotWriter writer = new BookSnapshotWriter(out, compress);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<BookDAO> stream = repository.streamAllOrderById()) {
+                    stream.forEach(bookDAO -> {
+                        write(writer, bookDAO);
+                        entityManager.detach(bookDAO);
+                    });
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.close();
+        BookSnapshotResult result = result(writer.getRows(), writer.getBytes(), start);
+        log.info("Exported {} Book entries to a {} byte snapshot in {} ms", result.getRows(), result.getBytes(),
+                result.getElapsedMillis());
+        return result;
+    }
+
+    /**
+     * Restores into an empty catalog, keeping ids and versions, and moves book_seq past the
+     * highest restored id. Rows are committed in chunks, so a failed restore leaves the rows
+     * of the chunks before it in place.
+     * <p>
+     * book_seq must not have handed out an id yet. Hibernate's pooled optimizer on every node
+     * keeps the block of ids it last fetched in memory, and restarting the sequence does not
+     * reach it, so a save after the restore could be given the id of a restored row.
+     */
+    @Override
+    public BookSnapshotResult restoreSnapshot(ReadableByteChannel in) throws IOException {
+        if (repository.count() > 0) {
+            throw new IllegalStateException("The catalog must be empty before a snapshot is restored");
+        }
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(BOOK_SEQ_USED, Boolean.class))) {
+            throw new IllegalStateException("book_seq has already handed out ids, which a running node may still "
+                    + "hold; restore into a new database");
+        }
+        long start = System.nanoTime();
+        try (BookSnapshotReader reader = new BookSnapshotReader(in)) {
+            List<BookDAO> chunk = new ArrayList<>(commitInterval);
+            List<BookDAO> block = reader.readBlock();
+            while (!block.isEmpty()) {
+                chunk.addAll(block);
+                if (chunk.size() >= commitInterval) {
+                    insertChunk(chunk);
+                }
+                block = reader.readBlock();
+            }
+            if (!chunk.isEmpty()) {
+                insertChunk(chunk);
+            }
+            long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM book", Long.class);
+            // Hibernate's pooled optimizer hands out the SEQUENCE_INCREMENT ids below each value it fetches
+            jdbcTemplate.execute("ALTER SEQUENCE book_seq RESTART WITH " + (maxId + SEQUENCE_INCREMENT));
+            // the rows are not fed one by one, consumers resync from the full catalog instead
+            transactionTemplate.executeWithoutResult(status -> changeRecorder.recordReloaded());
+            Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+            if (cache != null) {
+                // restored ids may have been cached as missing
+                cache.clear();
+            }
+            // the rows were inserted over JDBC, past Hibernate's second-level cache
+            entityManager.getEntityManagerFactory().getCache().evict(BookDAO.class);
+            bookSearchService.rebuildIndex();
+            catalogVersion.bump();
+            eventPublisher.publishEvent(BookChangeEvent.reloaded());
+            BookSnapshotResult result = result(reader.getRows(), reader.getBytes(), start);
+            log.info("Restored {} Book entries from a {} byte snapshot in {} ms, {} rows/sec", result.getRows(),
+                    result.getBytes(), result.getElapsedMillis(), String.format("%.1f", result.getRowsPerSecond()));
+            return result;
+        }
+    }
+
+    private void insertChunk(List<BookDAO> chunk) {
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_BOOK, chunk, INSERT_BATCH_SIZE, (statement, bookDAO) -> {
+                    statement.setLong(1, bookDAO.getId());
+                    statement.setString(2, bookDAO.getAuthor());
+                    statement.setString(3, bookDAO.getTitle());
+                    statement.setDouble(4, bookDAO.getPrice());
+                    statement.setString(5, bookDAO.getDescription());
+                    statement.setLong(6, bookDAO.getVersion());
+                }));
+        chunk.clear();
+    }
+
+    private static void write(BookSnapshotWriter writer, BookDAO bookDAO) {
+        try {
+            writer.write(bookDAO);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static BookSnapshotResult result(long rows, long bytes, long startNanos) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : rows * 1_000_000_000d / elapsedNanos;
+        return new BookSnapshotResult(rows, bytes, elapsedNanos / 1_000_000, rowsPerSecond);
+    }
+}
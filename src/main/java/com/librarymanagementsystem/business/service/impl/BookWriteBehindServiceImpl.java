@@ -0,0 +1,267 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.librarymanagementsystem.business.catalog.BookCacheWrites;
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.BookChangeRecorder;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.business.service.BookWriteBehindService;
+import com.librarymanagementsystem.business.service.BookWriteTicket;
+import com.librarymanagementsystem.config.CacheConfig;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookWriteState;
+import com.librarymanagementsystem.model.BookWriteStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind Book saves, enabled with {@code library.write-behind.enabled=true}. Accepted
+ * books wait in a bounded queue and one writer thread commits them in groups: a group closes
+ * when it reaches {@code max-batch} books or {@code max-delay} after its first book arrived.
+ * Accepted but uncommitted books are lost if the process dies; a graceful shutdown drains them.
+ */
+@Service
+@ConditionalOnProperty(name = "library.write-behind.enabled", havingValue = "true")
+@Slf4j
+public class BookWriteBehindServiceImpl implements BookWriteBehindService {
+    static final long STATUS_ENTRIES = 100_000;
+    static final long SHUTDOWN_DRAIN_SECONDS = 30;
+
+    private final BookRepository repository;
+    private final BookMapper bookMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final BookSearchService bookSearchService;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookChangeRecorder changeRecorder;
+    private final BlockingQueue<PendingWrite> queue;
+    private final int maxBatch;
+    private final long maxDelayNanos;
+    private final com.github.benmanes.caffeine.cache.Cache<String, BookWriteStatus> statuses;
+    private final Timer commitTimer;
+    private final Timer acknowledgeTimer;
+    private final DistributionSummary batchSize;
+    private final Counter rejected;
+    private final Thread writer = new Thread(this::runWriter, "book-write-behind");
+    private volatile boolean running;
+
+    @Autowired
+    public BookWriteBehindServiceImpl(BookRepository repository, BookMapper bookMapper, Validator validator,
+                                      PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                                      BookSearchService bookSearchService, CatalogVersion catalogVersion,
+                                      ApplicationEventPublisher eventPublisher, BookChangeRecorder changeRecorder,
+                                      MeterRegistry registry,
+                                      @Value("${library.write-behind.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${library.write-behind.max-batch:500}") int maxBatch,
+                                      @Value("${library.write-behind.max-delay:10ms}") Duration maxDelay,
+                                      @Value("${library.write-behind.status-ttl:10m}") Duration statusTtl) {
+        this.repository = repository;
+        this.bookMapper = bookMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.cacheManager = cacheManager;
+        this.bookSearchService = bookSearchService;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.changeRecorder = changeRecorder;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(STATUS_ENTRIES)
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.commitTimer = Timer.builder("library.write-behind.commit")
+                .description("Duration of one group commit")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.acknowledgeTimer = Timer.builder("library.write-behind.latency")
+                .description("Time from accepting a Book to committing it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.batchSize = DistributionSummary.builder("library.write-behind.batch")
+                .description("Books per group commit")
+                .baseUnit("books")
+                .register(registry);
+        this.rejected = Counter.builder("library.write-behind.rejected")
+                .description("Saves turned away because the queue was full")
+                .register(registry);
+        Gauge.builder("library.write-behind.queue", queue, BlockingQueue::size)
+                .description("Books accepted and waiting for a group commit")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(SHUTDOWN_DRAIN_SECONDS));
+        if (!queue.isEmpty()) {
+            log.warn("Write-behind queue not drained on shutdown, {} accepted books were not saved", queue.size());
+        }
+    }
+
+    @Override
+    public BookWriteTicket submit(Book book) {
+        Set<ConstraintViolation<Book>> violations = validator.validate(book);
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        if (!running) {
+            throw new RejectedExecutionException("The write-behind queue is shutting down");
+        }
+        PendingWrite write = new PendingWrite(UUID.randomUUID().toString(), book);
+        // recorded before the writer can see the book, so COMMITTED never gets overwritten by PENDING
+        statuses.put(write.trackingId, new BookWriteStatus(write.trackingId, BookWriteState.PENDING, null, null));
+        if (!queue.offer(write)) {
+            statuses.invalidate(write.trackingId);
+            rejected.increment();
+            throw new RejectedExecutionException("The write-behind queue is full");
+        }
+        return new BookWriteTicket(write.trackingId, write.committed);
+    }
+
+    @Override
+    public Optional<BookWriteStatus> getStatus(String trackingId) {
+        return Optional.ofNullable(statuses.getIfPresent(trackingId));
+    }
+
+    private void runWriter() {
+        List<PendingWrite> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingWrite first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    PendingWrite next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                commit(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // commit handles its own failures, anything else must not stop the writer
+                log.error("Write-behind writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    void commit(List<PendingWrite> batch) {
+        long start = System.nanoTime();
+        List<BookDAO> saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                List<BookDAO> bookDAOs = repository.saveAll(batch.stream()
+                        .map(write -> bookMapper.bookToDAO(write.book))
+                        .collect(Collectors.toList()));
+                changeRecorder.recordSaved(bookDAOs);
+                return bookDAOs;
+            });
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            // one bad book must not fail the books grouped with it
+            log.warn("Group commit of {} books failed, saving them one by one: {}", batch.size(), e.getMessage());
+            batch.forEach(write -> commit(Collections.singletonList(write)));
+            return;
+        }
+        commitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSize.record(batch.size());
+        List<Book> books = saved.stream().map(bookMapper::daoToBook).collect(Collectors.toList());
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        for (Book book : books) {
+            BookCacheWrites.putWritten(cache, book);
+            bookSearchService.indexBook(book);
+        }
+        catalogVersion.bump();
+        eventPublisher.publishEvent(BookChangeEvent.saved(books));
+        long committedAt = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            PendingWrite write = batch.get(i);
+            Book book = books.get(i);
+            statuses.put(write.trackingId, new BookWriteStatus(write.trackingId, BookWriteState.COMMITTED, book, null));
+            acknowledgeTimer.record(committedAt - write.acceptedAt, TimeUnit.NANOSECONDS);
+            write.committed.complete(book);
+        }
+        log.debug("Group commit of {} books", batch.size());
+    }
+
+    private void fail(PendingWrite write, RuntimeException e) {
+        log.warn("Write-behind save {} failed: {}", write.trackingId, e.getMessage());
+        statuses.put(write.trackingId, new BookWriteStatus(write.trackingId, BookWriteState.FAILED, null,
+                e.getMessage()));
+        write.committed.completeExceptionally(e);
+    }
+
+    static final class PendingWrite {
+        final String trackingId;
+        final Book book;
+        final long acceptedAt = System.nanoTime();
+        final CompletableFuture<Book> committed = new CompletableFuture<>();
+
+        PendingWrite(String trackingId, Book book) {
+            this.trackingId = trackingId;
+            this.book = book;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.librarymanagementsystem.business.service.CacheStatisticsService;
+import com.librarymanagementsystem.model.CacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public CacheStatisticsServiceImpl(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Optional<CacheStatistics> getStatistics(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (!(cache instanceof CaffeineCache)) {
+            return Optional.empty();
+        }
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return Optional.of(new CacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                stats.hitRate(), nativeCache.estimatedSize()));
+    }
+}
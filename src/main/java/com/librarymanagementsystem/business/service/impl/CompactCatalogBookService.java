@@ -0,0 +1,163 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.CompactBookCatalog;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
+import com.librarymanagementsystem.business.service.BookService;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookBatch;
+import com.librarymanagementsystem.model.BookPage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Serves Book reads from a {@link CompactBookCatalog} instead of JPA, for read-mostly nodes.
+ * Enabled with {@code library.catalog.engine=compact}. Writes go through {@link BookServiceImpl}
+ * and reach the catalog as {@link BookChangeEvent}s, as do imports, reactive writes and
+ * snapshot restores. Until the catalog has been loaded after startup, reads fall back to JPA.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "library.catalog.engine", havingValue = "compact")
+@Slf4j
+public class CompactCatalogBookService implements BookService {
+
+    private final BookService jpaBookService;
+    private final BookMetrics bookMetrics;
+    private final CompactBookCatalog catalog = new CompactBookCatalog();
+    private volatile boolean ready;
+
+    @Autowired
+    public CompactCatalogBookService(@Qualifier("bookServiceImpl") BookService jpaBookService,
+                                     BookMetrics bookMetrics, MeterRegistry registry) {
+        this.jpaBookService = jpaBookService;
+        this.bookMetrics = bookMetrics;
+        Gauge.builder("library.catalog.compact.bytes", catalog, CompactBookCatalog::footprintBytes)
+                .description("Heap held by the compact Book catalog")
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("library.catalog.compact.books", catalog, CompactBookCatalog::size)
+                .description("Books held by the compact Book catalog")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        catalog.clear();
+        // a delete that commits while the rows stream leaves a tombstone, so its row is not brought back
+        jpaBookService.streamAllBooks(catalog::putIfNotOlder);
+        ready = true;
+        log.info("Compact catalog loaded with {} Book entries, {} KB, in {} ms", catalog.size(),
+                catalog.footprintBytes() / 1024, System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onBookChange(BookChangeEvent event) {
+        if (event.isReloaded()) {
+            load();
+            return;
+        }
+        // events of different writers can arrive out of order, as can a remote one after the local
+        // write; putIfNotOlder keeps the newer version and never brings back a removed book
+        event.getSaved().forEach(catalog::putIfNotOlder);
+        event.getRemoved().forEach(catalog::remove);
+    }
+
+    @Override
+    public List<Book> getAllBooks() {
+        if (!ready) {
+            return jpaBookService.getAllBooks();
+        }
+        List<Book> books = catalog.toList();
+        bookMetrics.recordListRows(books.size());
+        return books;
+    }
+
+    @Override
+    public BookPage getBookPage(String continuationToken, int size) {
+        if (!ready) {
+            return jpaBookService.getBookPage(continuationToken, size);
+        }
+        if (size < 1 || size > BookServiceImpl.MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + BookServiceImpl.MAX_PAGE_SIZE);
+        }
+        List<Book> rows = catalog.page(BookServiceImpl.decodeToken(continuationToken), size + 1);
+        boolean hasMore = rows.size() > size;
+        List<Book> books = hasMore ? rows.subList(0, size) : rows;
+        String nextToken = hasMore ? BookServiceImpl.encodeToken(books.get(books.size() - 1).getId()) : null;
+        return new BookPage(books, nextToken);
+    }
+
+    @Override
+    public void streamAllBooks(Consumer<Book> consumer) {
+        if (!ready) {
+            jpaBookService.streamAllBooks(consumer);
+            return;
+        }
+        catalog.forEach(consumer);
+    }
+
+    @Override
+    public Optional<Book> findBookById(Long id) {
+        if (!ready) {
+            return jpaBookService.findBookById(id);
+        }
+        return Optional.ofNullable(bookMetrics.timeCatalogLookup(() -> catalog.get(id)));
+    }
+
+    @Override
+    public BookBatch findBooksByIds(Collection<Long> ids) {
+        if (!ready) {
+            return jpaBookService.findBooksByIds(ids);
+        }
+        LinkedHashSet<Long> uniqueIds = new LinkedHashSet<>(ids);
+        uniqueIds.remove(null);
+        if (uniqueIds.size() > BookServiceImpl.MAX_BATCH_IDS) {
+            throw new IllegalArgumentException("At most " + BookServiceImpl.MAX_BATCH_IDS
+                    + " distinct ids can be requested at once");
+        }
+        List<Book> books = new ArrayList<>(uniqueIds.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Book book = bookMetrics.timeCatalogLookup(() -> catalog.get(id));
+            if (book != null) {
+                books.add(book);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new BookBatch(books, missingIds);
+    }
+
+    @Override
+    public Book saveBook(Book book) {
+        return jpaBookService.saveBook(book);
+    }
+
+    @Override
+    public Optional<Book> updateBook(Long id, Long expectedVersion, Book book, boolean partial) {
+        return jpaBookService.updateBook(id, expectedVersion, book, partial);
+    }
+
+    @Override
+    public void deleteBookById(Long id) {
+        jpaBookService.deleteBookById(id);
+    }
+}
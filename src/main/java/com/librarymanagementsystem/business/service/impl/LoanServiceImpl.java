@@ -0,0 +1,195 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.inventory.AvailabilityCounters;
+import com.librarymanagementsystem.business.repository.BookInventoryRepository;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.LoanRepository;
+import com.librarymanagementsystem.business.repository.model.BookInventoryDAO;
+import com.librarymanagementsystem.business.repository.model.LoanDAO;
+import com.librarymanagementsystem.business.service.LoanService;
+import com.librarymanagementsystem.model.BookInventory;
+import com.librarymanagementsystem.model.Loan;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Copies and loans. Checkouts are admitted by the in-memory {@link AvailabilityCounters} and
+ * decided by a conditional UPDATE of book_inventory in the same transaction as the loan row,
+ * so a popular title is never oversold and its rejections cost no database round trip.
+ */
+@Service
+@Slf4j
+public class LoanServiceImpl implements LoanService {
+    static final int MAX_BORROWER_LENGTH = 64;
+
+    private final BookRepository bookRepository;
+    private final BookInventoryRepository inventoryRepository;
+    private final LoanRepository loanRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AvailabilityCounters counters;
+    private final Counter loaned;
+    private final Counter unavailable;
+    private final Counter conflicts;
+    private final Counter returned;
+
+    @Autowired
+    public LoanServiceImpl(BookRepository bookRepository, BookInventoryRepository inventoryRepository,
+                           LoanRepository loanRepository, PlatformTransactionManager transactionManager,
+                           MeterRegistry registry,
+                           @Value("${library.loans.resync-interval:1s}") Duration resyncInterval) {
+        this.bookRepository = bookRepository;
+        this.inventoryRepository = inventoryRepository;
+        this.loanRepository = loanRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.counters = new AvailabilityCounters(inventoryRepository::findAvailable, resyncInterval);
+        this.loaned = checkouts(registry, "loaned");
+        // turned away by the in-memory count, without a database round trip
+        this.unavailable = checkouts(registry, "unavailable");
+        // admitted by the in-memory count but refused by the database
+        this.conflicts = checkouts(registry, "conflict");
+        this.returned = Counter.builder("library.loans.returns")
+                .description("Loans returned")
+                .register(registry);
+        Gauge.builder("library.loans.counters", counters, AvailabilityCounters::size)
+                .description("Books with an in-memory availability count")
+                .register(registry);
+    }
+
+    private static Counter checkouts(MeterRegistry registry, String outcome) {
+        return Counter.builder("library.loans.checkouts")
+                .description("Checkout attempts by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @EventListener
+    public void onBookChange(BookChangeEvent event) {
+        if (event.isReloaded()) {
+            counters.invalidateAll();
+            return;
+        }
+        // the inventory row went with the Book, see the foreign key in V4__book_inventory_and_loans.sql
+        event.getRemoved().forEach(counters::invalidate);
+    }
+
+    @Override
+    public Optional<BookInventory> getInventory(long bookId) {
+        return inventoryRepository.findById(bookId).map(LoanServiceImpl::toInventory);
+    }
+
+    @Override
+    public Optional<BookInventory> setCopies(long bookId, int total) {
+        if (total < 0) {
+            throw new IllegalArgumentException("The number of copies must not be negative");
+        }
+        Optional<BookInventory> inventory;
+        try {
+            inventory = transactionTemplate.execute(status -> writeCopies(bookId, total));
+        } catch (DataIntegrityViolationException e) {
+            // another request registered the first copies of this Book, or the Book was just deleted
+            inventory = transactionTemplate.execute(status -> writeCopies(bookId, total));
+        }
+        counters.invalidate(bookId);
+        inventory.ifPresent(copies -> log.debug("Book {} now has {} copies, {} available", bookId,
+                copies.getTotal(), copies.getAvailable()));
+        return inventory;
+    }
+
+    private Optional<BookInventory> writeCopies(long bookId, int total) {
+        if (!bookRepository.existsById(bookId)) {
+            return Optional.empty();
+        }
+        if (inventoryRepository.resize(bookId, total) == 0) {
+            if (inventoryRepository.existsById(bookId)) {
+                throw new IllegalStateException("More than " + total + " copies of Book " + bookId + " are on loan");
+            }
+            inventoryRepository.saveAndFlush(new BookInventoryDAO(bookId, total, total));
+        }
+        return inventoryRepository.findById(bookId).map(LoanServiceImpl::toInventory);
+    }
+
+    @Override
+    public Optional<Loan> checkout(long bookId, String borrower) {
+        if (borrower == null || borrower.trim().isEmpty() || borrower.length() > MAX_BORROWER_LENGTH) {
+            throw new IllegalArgumentException("Borrower must be 1 to " + MAX_BORROWER_LENGTH + " characters");
+        }
+        switch (counters.tryTake(bookId)) {
+            case NO_INVENTORY:
+                return Optional.empty();
+            case EXHAUSTED:
+                unavailable.increment();
+                throw new IllegalStateException("No copies of Book " + bookId + " are available");
+            default:
+                break;
+        }
+        LoanDAO loan;
+        try {
+            loan = transactionTemplate.execute(status -> inventoryRepository.takeCopy(bookId) == 0 ? null
+                    : loanRepository.save(new LoanDAO(null, bookId, borrower, System.currentTimeMillis(), null)));
+        } catch (RuntimeException e) {
+            counters.release(bookId);
+            throw e;
+        }
+        if (loan == null) {
+            // the count was ahead of the table, reload it instead of handing the copy back
+            counters.invalidate(bookId);
+            conflicts.increment();
+            throw new IllegalStateException("No copies of Book " + bookId + " are available");
+        }
+        loaned.increment();
+        log.debug("Book {} lent to {} as loan {}", bookId, borrower, loan.getId());
+        return Optional.of(toLoan(loan));
+    }
+
+    @Override
+    public Optional<Loan> returnLoan(long loanId) {
+        long now = System.currentTimeMillis();
+        Optional<Loan> loan = transactionTemplate.execute(status -> {
+            Optional<LoanDAO> loanDAO = loanRepository.findById(loanId);
+            if (!loanDAO.isPresent()) {
+                return Optional.<Loan>empty();
+            }
+            if (loanRepository.markReturned(loanId, now) == 0) {
+                throw new IllegalStateException("Loan " + loanId + " has already been returned");
+            }
+            // matches nothing when the Book and its inventory have been deleted since
+            inventoryRepository.returnCopy(loanDAO.get().getBookId());
+            Loan returnedLoan = toLoan(loanDAO.get());
+            returnedLoan.setReturnedAt(now);
+            return Optional.of(returnedLoan);
+        });
+        loan.ifPresent(returnedLoan -> {
+            counters.release(returnedLoan.getBookId());
+            returned.increment();
+            log.debug("Loan {} of Book {} returned", loanId, returnedLoan.getBookId());
+        });
+        return loan;
+    }
+
+    @Override
+    public Optional<Loan> getLoan(long loanId) {
+        return loanRepository.findById(loanId).map(LoanServiceImpl::toLoan);
+    }
+
+    private static BookInventory toInventory(BookInventoryDAO inventoryDAO) {
+        return new BookInventory(inventoryDAO.getBookId(), inventoryDAO.getTotal(), inventoryDAO.getAvailable());
+    }
+
+    private static Loan toLoan(LoanDAO loanDAO) {
+        return new Loan(loanDAO.getId(), loanDAO.getBookId(), loanDAO.getBorrower(), loanDAO.getLoanedAt(),
+                loanDAO.getReturnedAt());
+    }
+}
@@ -0,0 +1,124 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookCacheWrites;
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.catalog.NodeId;
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
+import com.librarymanagementsystem.business.repository.ReactiveBookRepository;
+import com.librarymanagementsystem.business.repository.model.BookChangeDAO;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.business.service.ReactiveBookService;
+import com.librarymanagementsystem.config.CacheConfig;
+import com.librarymanagementsystem.model.Book;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * Reactive counterpart of {@link BookServiceImpl}. Writes keep the Book cache and
+ * the search index in step with the blocking API.
+ */
+@Service
+@Slf4j
+public class ReactiveBookServiceImpl implements ReactiveBookService {
+    private final ReactiveBookRepository repository;
+    private final BookMapper bookMapper;
+    private final BookMetrics bookMetrics;
+    private final Validator validator;
+    private final CacheManager cacheManager;
+    private final BookSearchService bookSearchService;
+    private final CatalogVersion catalogVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NodeId nodeId;
+    private final TransactionalOperator transactionalOperator;
+    // R2DBC writes bypass Hibernate, so its second-level cache is evicted by hand
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public ReactiveBookServiceImpl(ReactiveBookRepository repository, BookMapper bookMapper, BookMetrics bookMetrics,
+                                   Validator validator, CacheManager cacheManager, BookSearchService bookSearchService,
+                                   CatalogVersion catalogVersion, ApplicationEventPublisher eventPublisher,
+                                   NodeId nodeId, TransactionalOperator transactionalOperator,
+                                   EntityManagerFactory entityManagerFactory) {
+        this.repository = repository;
+        this.bookMapper = bookMapper;
+        this.bookMetrics = bookMetrics;
+        this.validator = validator;
+        this.cacheManager = cacheManager;
+        this.bookSearchService = bookSearchService;
+        this.catalogVersion = catalogVersion;
+        this.eventPublisher = eventPublisher;
+        this.nodeId = nodeId;
+        this.transactionalOperator = transactionalOperator;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public Flux<Book> getAllBooks() {
+        return repository.findAll().map(this::toBook);
+    }
+
+    @Override
+    public Mono<Book> findBookById(Long id) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return repository.findById(id).doOnTerminate(() -> bookMetrics.recordDatabaseLookup(start));
+        }).map(this::toBook);
+    }
+
+    @Override
+    public Mono<Book> saveBook(Book book) {
+        Set<ConstraintViolation<Book>> violations = validator.validate(book);
+        if (!violations.isEmpty()) {
+            return Mono.error(new ConstraintViolationException(violations));
+        }
+        // the outbox row commits with the book, as in BookServiceImpl
+        return repository.save(bookMapper.bookToDAO(book))
+                .flatMap(savedDAO -> repository.insertChange(BookChangeDAO.saved(savedDAO, nodeId.getValue()))
+                        .thenReturn(savedDAO))
+                .as(transactionalOperator::transactional)
+                .map(bookMapper::daoToBook)
+                .doOnNext(savedBook -> {
+                    BookCacheWrites.putWritten(cacheManager.getCache(CacheConfig.BOOKS_CACHE), savedBook);
+                    bookSearchService.indexBook(savedBook);
+                    catalogVersion.bump();
+                    eventPublisher.publishEvent(BookChangeEvent.saved(savedBook));
+                    log.debug("Book saved reactively: {}", savedBook.getId());
+                });
+    }
+
+    @Override
+    public Mono<Boolean> deleteBookById(Long id) {
+        return repository.deleteById(id)
+                .flatMap(deleted -> deleted == 0 ? Mono.just(false)
+                        : repository.insertChange(BookChangeDAO.deleted(id, nodeId.getValue())).thenReturn(true))
+                .as(transactionalOperator::transactional)
+                .doOnNext(deleted -> {
+                    if (deleted) {
+                        BookCacheWrites.putRemoved(cacheManager.getCache(CacheConfig.BOOKS_CACHE), id);
+                        entityManagerFactory.getCache().evict(BookDAO.class, id);
+                        bookSearchService.removeBook(id);
+                        catalogVersion.bump();
+                        eventPublisher.publishEvent(BookChangeEvent.removed(id));
+                    }
+                });
+    }
+
+    private Book toBook(BookDAO bookDAO) {
+        return bookMetrics.timeMapping(() -> bookMapper.daoToBook(bookDAO));
+    }
+}
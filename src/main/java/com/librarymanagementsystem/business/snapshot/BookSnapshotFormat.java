@@ -0,0 +1,25 @@
+package com.librarymanagementsystem.business.snapshot;
+
+/**
+ * Layout of a catalog snapshot. A file starts with the magic number, the format version
+ * and a flags byte, followed by blocks of up to {@link #BLOCK_ROWS} rows:
+ * <pre>
+ * int rowCount, int rawLength, int storedLength, int crc32c(stored bytes), stored bytes
+ * </pre>
+ * Stored bytes are the raw rows, deflated when {@link #FLAG_DEFLATE} is set. A row is
+ * {@code long id, long version, double price} followed by author, title and description,
+ * each an int byte length (-1 for null) and UTF-8 bytes. A block with rowCount 0 ends the
+ * file and is followed by the long total row count.
+ */
+final class BookSnapshotFormat {
+    static final int MAGIC = 0x4C4D5353;
+    static final short FORMAT_VERSION = 1;
+    static final byte FLAG_DEFLATE = 1;
+    static final int HEADER_BYTES = 4 + 2 + 1;
+    static final int BLOCK_HEADER_BYTES = 4 * 4;
+    static final int BLOCK_ROWS = 4096;
+    static final int MAX_BLOCK_BYTES = 64 * 1024 * 1024;
+
+    private BookSnapshotFormat() {
+    }
+}
@@ -0,0 +1,171 @@
+package com.librarymanagementsystem.business.snapshot;
+
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32C;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a {@link BookSnapshotFormat} stream one block at a time. Every block is checked
+ * against its checksum before any row of it is returned, and the end marker against the
+ * number of rows read, so a truncated or corrupted snapshot fails instead of restoring
+ * part of a catalog unnoticed. Malformed input is reported as {@link IllegalArgumentException}.
+ */
+public class BookSnapshotReader implements Closeable {
+    private final ReadableByteChannel channel;
+    private final Inflater inflater;
+    private final CRC32C checksum = new CRC32C();
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BookSnapshotFormat.BLOCK_HEADER_BYTES);
+    private ByteBuffer stored = ByteBuffer.allocate(0);
+    private ByteBuffer raw = ByteBuffer.allocate(0);
+    private long rows;
+    private long bytes;
+    private boolean finished;
+
+    public BookSnapshotReader(ReadableByteChannel channel) throws IOException {
+        this.channel = channel;
+        ByteBuffer header = readFully(ByteBuffer.allocate(BookSnapshotFormat.HEADER_BYTES));
+        if (header.getInt() != BookSnapshotFormat.MAGIC) {
+            throw new IllegalArgumentException("Not a Book snapshot");
+        }
+        short version = header.getShort();
+        if (version != BookSnapshotFormat.FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported snapshot format version " + version);
+        }
+        this.inflater = (header.get() & BookSnapshotFormat.FLAG_DEFLATE) != 0 ? new Inflater() : null;
+    }
+
+    /**
+     * Returns the rows of the next block, or an empty list once the snapshot is exhausted.
+     */
+    public List<BookDAO> readBlock() throws IOException {
+        if (finished) {
+            return Collections.emptyList();
+        }
+        blockHeader.clear();
+        blockHeader.limit(4);
+        int rowCount = readFully(blockHeader).getInt();
+        if (rowCount == 0) {
+            long expectedRows = readFully(ByteBuffer.allocate(8)).getLong();
+            if (expectedRows != rows) {
+                throw new IllegalArgumentException("Snapshot declares " + expectedRows + " rows, found " + rows);
+            }
+            finished = true;
+            return Collections.emptyList();
+        }
+        blockHeader.clear();
+        blockHeader.position(4);
+        readFully(blockHeader);
+        blockHeader.position(4);
+        int rawLength = blockHeader.getInt();
+        int storedLength = blockHeader.getInt();
+        int expectedChecksum = blockHeader.getInt();
+        if (rowCount < 0 || rawLength < 0 || storedLength < 0
+                || rawLength > BookSnapshotFormat.MAX_BLOCK_BYTES || storedLength > BookSnapshotFormat.MAX_BLOCK_BYTES) {
+            throw new IllegalArgumentException("Corrupt block header after row " + rows);
+        }
+        stored = ensureCapacity(stored, storedLength);
+        readFully(stored);
+        checksum.reset();
+        checksum.update(stored.duplicate());
+        if ((int) checksum.getValue() != expectedChecksum) {
+            throw new IllegalArgumentException("Checksum mismatch in block after row " + rows);
+        }
+        ByteBuffer rowBuffer = inflater == null ? stored : inflate(rawLength);
+        List<BookDAO> bookDAOs = new ArrayList<>(rowCount);
+        try {
+            for (int i = 0; i < rowCount; i++) {
+                long id = rowBuffer.getLong();
+                long version = rowBuffer.getLong();
+                double price = rowBuffer.getDouble();
+                String author = getString(rowBuffer);
+                String title = getString(rowBuffer);
+                String description = getString(rowBuffer);
+                bookDAOs.add(new BookDAO(id, author, title, price, description, version));
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Corrupt rows in block after row " + rows, e);
+        }
+        rows += rowCount;
+        return bookDAOs;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Bytes read so far, headers included.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void close() {
+        if (inflater != null) {
+            inflater.end();
+        }
+    }
+
+    private ByteBuffer inflate(int rawLength) {
+        raw = ensureCapacity(raw, rawLength);
+        inflater.reset();
+        inflater.setInput(stored.array(), stored.arrayOffset(), stored.limit());
+        try {
+            int length = 0;
+            while (length < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw.array(), length, rawLength - length);
+                if (inflated == 0 && inflater.needsInput()) {
+                    break;
+                }
+                length += inflated;
+            }
+            if (length != rawLength) {
+                throw new IllegalArgumentException("Block after row " + rows + " inflates to " + length
+                        + " bytes, expected " + rawLength);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Corrupt compressed block after row " + rows, e);
+        }
+        return raw;
+    }
+
+    private ByteBuffer readFully(ByteBuffer buffer) throws IOException {
+        bytes += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IllegalArgumentException("Snapshot ends unexpectedly after row " + rows);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, int length) {
+        ByteBuffer sized = buffer.capacity() < length ? ByteBuffer.allocate(length) : buffer;
+        sized.clear();
+        sized.limit(length);
+        return sized;
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
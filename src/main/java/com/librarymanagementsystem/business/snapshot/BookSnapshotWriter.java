@@ -0,0 +1,149 @@
+package com.librarymanagementsystem.business.snapshot;
+
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+import java.util.zip.Deflater;
+
+/**
+ * Writes Book rows to a channel in the {@link BookSnapshotFormat}. Rows are packed into a
+ * reusable buffer and leave as one write per block, so a file channel sees large
+ * sequential writes. {@link #close()} writes the end marker but leaves the channel open.
+ */
+public class BookSnapshotWriter implements Closeable {
+    private static final int INITIAL_BLOCK_BYTES = 1024 * 1024;
+
+    private final WritableByteChannel channel;
+    private final Deflater deflater;
+    private final CRC32C checksum = new CRC32C();
+    private final ByteBuffer blockHeader = ByteBuffer.allocate(BookSnapshotFormat.BLOCK_HEADER_BYTES);
+    private ByteBuffer block = ByteBuffer.allocate(INITIAL_BLOCK_BYTES);
+    private byte[] deflated = new byte[0];
+    private int blockRows;
+    private long rows;
+    private long bytes;
+
+    public BookSnapshotWriter(WritableByteChannel channel, boolean compress) throws IOException {
+        this.channel = channel;
+        this.deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+        ByteBuffer header = ByteBuffer.allocate(BookSnapshotFormat.HEADER_BYTES);
+        header.putInt(BookSnapshotFormat.MAGIC)
+                .putShort(BookSnapshotFormat.FORMAT_VERSION)
+                .put(compress ? BookSnapshotFormat.FLAG_DEFLATE : 0);
+        header.flip();
+        writeFully(header);
+    }
+
+    public void write(BookDAO bookDAO) throws IOException {
+        byte[] author = encode(bookDAO.getAuthor());
+        byte[] title = encode(bookDAO.getTitle());
+        byte[] description = encode(bookDAO.getDescription());
+        int rowBytes = 8 + 8 + 8 + 12 + length(author) + length(title) + length(description);
+        if (block.remaining() < rowBytes) {
+            flushBlock();
+            if (block.capacity() < rowBytes) {
+                block = ByteBuffer.allocate(rowBytes);
+            }
+        }
+        block.putLong(bookDAO.getId())
+                .putLong(bookDAO.getVersion() == null ? 0 : bookDAO.getVersion())
+                .putDouble(bookDAO.getPrice());
+        putString(author);
+        putString(title);
+        putString(description);
+        blockRows++;
+        rows++;
+        if (blockRows == BookSnapshotFormat.BLOCK_ROWS) {
+            flushBlock();
+        }
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * Bytes written so far, headers included.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBlock();
+        ByteBuffer trailer = ByteBuffer.allocate(4 + 8);
+        trailer.putInt(0).putLong(rows);
+        trailer.flip();
+        writeFully(trailer);
+        if (deflater != null) {
+            deflater.end();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (blockRows == 0) {
+            return;
+        }
+        block.flip();
+        int rawLength = block.remaining();
+        ByteBuffer stored = deflater == null ? block : deflate(rawLength);
+        checksum.reset();
+        checksum.update(stored.duplicate());
+        blockHeader.clear();
+        blockHeader.putInt(blockRows).putInt(rawLength).putInt(stored.remaining()).putInt((int) checksum.getValue());
+        blockHeader.flip();
+        writeFully(blockHeader);
+        writeFully(stored);
+        block.clear();
+        blockRows = 0;
+    }
+
+    private ByteBuffer deflate(int rawLength) {
+        // sized for incompressible input, see zlib's deflateBound
+        int bound = rawLength + (rawLength >> 12) + (rawLength >> 14) + (rawLength >> 25) + 64;
+        if (deflated.length < bound) {
+            deflated = new byte[bound];
+        }
+        deflater.reset();
+        deflater.setInput(block.array(), block.arrayOffset() + block.position(), rawLength);
+        deflater.finish();
+        int length = 0;
+        while (!deflater.finished()) {
+            if (length == deflated.length) {
+                deflated = Arrays.copyOf(deflated, deflated.length * 2);
+            }
+            length += deflater.deflate(deflated, length, deflated.length - length);
+        }
+        return ByteBuffer.wrap(deflated, 0, length);
+    }
+
+    private void putString(byte[] value) {
+        if (value == null) {
+            block.putInt(-1);
+        } else {
+            block.putInt(value.length).put(value);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        bytes += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+}
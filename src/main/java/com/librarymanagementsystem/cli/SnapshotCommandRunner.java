@@ -0,0 +1,77 @@
+package com.librarymanagementsystem.cli;
+
+import com.librarymanagementsystem.business.service.BookSnapshotService;
+import com.librarymanagementsystem.model.BookSnapshotResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exports or restores a catalog snapshot from the command line and exits, e.g.
+ * <pre>
+ * java -jar app.jar --spring.main.web-application-type=none --library.snapshot.export=books.snapshot
+ * java -jar app.jar --spring.main.web-application-type=none --library.snapshot.restore=books.snapshot
+ * </pre>
+ * Without either property the application starts normally.
+ */
+@Component
+@Slf4j
+public class SnapshotCommandRunner implements ApplicationRunner {
+
+    private final BookSnapshotService bookSnapshotService;
+    private final ConfigurableApplicationContext context;
+    private final String exportPath;
+    private final String restorePath;
+    private final boolean compress;
+
+    public SnapshotCommandRunner(BookSnapshotService bookSnapshotService, ConfigurableApplicationContext context,
+                                 @Value("${library.snapshot.export:}") String exportPath,
+                                 @Value("${library.snapshot.restore:}") String restorePath,
+                                 @Value("${library.snapshot.compress:true}") boolean compress) {
+        this.bookSnapshotService = bookSnapshotService;
+        this.context = context;
+        this.exportPath = exportPath;
+        this.restorePath = restorePath;
+        this.compress = compress;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!StringUtils.hasText(exportPath) && !StringUtils.hasText(restorePath)) {
+            return;
+        }
+        int exitCode = 0;
+        try {
+            if (StringUtils.hasText(exportPath)) {
+                Path path = Paths.get(exportPath);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    BookSnapshotResult result = bookSnapshotService.exportSnapshot(channel, compress);
+                    channel.force(false);
+                    log.info("Snapshot of {} Book entries written to {}", result.getRows(), path.toAbsolutePath());
+                }
+            } else {
+                Path path = Paths.get(restorePath);
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    BookSnapshotResult result = bookSnapshotService.restoreSnapshot(channel);
+                    log.info("Snapshot {} restored, {} Book entries", path.toAbsolutePath(), result.getRows());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Snapshot command failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,61 @@
+package com.librarymanagementsystem.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String BOOKS_CACHE = "books";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${library.cache.books.maximum-size:10000}") long maximumSize,
+                                     @Value("${library.cache.books.ttl:10m}") Duration ttl,
+                                     @Value("${library.cache.books.negative-ttl:30s}") Duration negativeTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(BOOKS_CACHE, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new BookExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+
+    /**
+     * Missing ids are cached as {@link NullValue} and expire sooner than real entries,
+     * so a book created under a previously missing id shows up quickly on other paths.
+     */
+    static class BookExpiry implements Expiry<Object, Object> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        BookExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(Object key, Object value, long currentTime) {
+            return value instanceof NullValue ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Object key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Object key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.librarymanagementsystem.config;
+
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.catalog.NodeId;
+import com.librarymanagementsystem.business.cluster.ChangeFeedInvalidationBus;
+import com.librarymanagementsystem.business.cluster.ClusterCacheCoordinator;
+import com.librarymanagementsystem.business.cluster.InvalidationBus;
+import com.librarymanagementsystem.business.cluster.LoopbackInvalidationBus;
+import com.librarymanagementsystem.business.repository.BookChangeRepository;
+import com.librarymanagementsystem.business.service.BookChangeFeedService;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Multi-node mode, enabled with {@code library.cluster.enabled=true} (the cluster profile).
+ * {@code library.cluster.invalidation} picks the bus: change-feed tails the shared database,
+ * loopback connects nodes started in the same JVM.
+ */
+@Configuration
+@ConditionalOnProperty(name = "library.cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "library.cluster.invalidation", havingValue = "change-feed", matchIfMissing = true)
+    public InvalidationBus changeFeedInvalidationBus(BookChangeFeedService changeFeedService,
+                                                     BookChangeRepository changeRepository) {
+        return new ChangeFeedInvalidationBus(changeFeedService, changeRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "library.cluster.invalidation", havingValue = "loopback")
+    public InvalidationBus loopbackInvalidationBus(@Value("${library.cluster.channel:library}") String channel) {
+        return new LoopbackInvalidationBus(channel);
+    }
+
+    @Bean
+    public ClusterCacheCoordinator clusterCacheCoordinator(InvalidationBus bus,
+                                                           NodeId nodeId,
+                                                           CacheManager cacheManager,
+                                                           EntityManagerFactory entityManagerFactory,
+                                                           BookSearchService bookSearchService,
+                                                           CatalogVersion catalogVersion,
+                                                           ApplicationEventPublisher eventPublisher) {
+        return new ClusterCacheCoordinator(bus, nodeId.getValue(), cacheManager, entityManagerFactory,
+                bookSearchService, catalogVersion, eventPublisher);
+    }
+}
@@ -0,0 +1,42 @@
+package com.librarymanagementsystem.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-endpoint admission limits under {@code library.rate-limit}. A request is governed by the
+ * most specific endpoint whose path pattern matches it; requests matching none are not limited.
+ */
+@Data
+@ConfigurationProperties(prefix = "library.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled;
+    // clients sending one of the api-keys in this header are limited by it, all others by remote address
+    private String clientHeader = "X-API-Key";
+    // keys that get a bucket of their own, any other value of the header is ignored
+    private Set<String> apiKeys = new LinkedHashSet<>();
+    // token buckets kept per endpoint, the least recently used client's is dropped beyond this
+    private int maxClients = 100_000;
+    // distinct client tags on the rejection metric, later clients are counted as "other"
+    private int maxTrackedClients = 100;
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class Endpoint {
+        private String path;
+        // sustained requests per second for one client, 0 for no rate limit
+        private double requestsPerSecond;
+        // requests one client may send at once after being idle
+        private int burst = 1;
+        // requests served at once across all clients, 0 for no concurrency limit
+        private int maxConcurrent;
+        // sent in Retry-After when a request is shed by the concurrency limit
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
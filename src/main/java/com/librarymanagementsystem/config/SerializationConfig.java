@@ -0,0 +1,64 @@
+package com.librarymanagementsystem.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.web.converter.BookProtobufHttpMessageConverter;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Book payloads are negotiated as JSON, Smile, CBOR or Protobuf. Every Jackson mapper is built
+ * from Spring Boot's builder, so all of them use Blackbird's generated property accessors
+ * instead of reflection and understand the {@code fields} filter on Book.
+ */
+@Configuration
+public class SerializationConfig implements WebMvcConfigurer {
+    public static final String BOOK_FIELDS_FILTER = "bookFields";
+
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer bookFieldsFilterCustomizer() {
+        // without a per-request filter every field is written
+        return builder -> builder.mixIn(Book.class, BookFieldsMixin.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    // these replace the default Smile and CBOR converters, whose mappers skip Boot's customizers
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // last, so clients that accept anything still get JSON
+        converters.add(new BookProtobufHttpMessageConverter());
+    }
+
+    @JsonFilter(BOOK_FIELDS_FILTER)
+    interface BookFieldsMixin {
+    }
+}
@@ -0,0 +1,36 @@
+package com.librarymanagementsystem.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs which threading mode the node actually runs in. Spring Boot silently
+ * falls back to platform threads when virtual threads are requested below Java 21.
+ */
+@Component
+@Slf4j
+public class ThreadingModeReporter {
+    static final int VIRTUAL_THREADS_MIN_JAVA = 21;
+
+    private final boolean virtualThreadsRequested;
+
+    public ThreadingModeReporter(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsRequested) {
+        this.virtualThreadsRequested = virtualThreadsRequested;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (!virtualThreadsRequested) {
+            log.info("Serving requests on platform threads");
+        } else if (javaVersion < VIRTUAL_THREADS_MIN_JAVA) {
+            log.warn("Virtual threads requested but running on Java {}, serving requests on platform threads",
+                    javaVersion);
+        } else {
+            log.info("Serving requests on virtual threads, run with -Djdk.tracePinnedThreads=short to report pinning");
+        }
+    }
+}
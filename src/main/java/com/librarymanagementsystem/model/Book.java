@@ -36,4 +36,13 @@ public class Book {
 
     @Schema(description = "Description of the Book", example = "Description for Book")
     private String description;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Version of the Book, changes on every update", example = "0",
+            accessMode = Schema.AccessMode.READ_ONLY)
+    private Long version;
+
+    public Book(Long id, String author, String title, Double price, String description) {
+        this(id, author, title, price, description, null);
+    }
 }
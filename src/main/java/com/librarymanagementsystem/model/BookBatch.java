@@ -0,0 +1,21 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Books resolved by a batch lookup")
+public class BookBatch {
+
+    @Schema(description = "Books found, in the order their ids were first requested")
+    private List<Book> books;
+
+    @Schema(description = "Requested ids without a Book", example = "[7, 42]")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,31 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One committed mutation of the catalog")
+public class BookChange {
+
+    @Schema(description = "Position in the change feed, increases with every change", example = "1042")
+    private long seq;
+
+    @Schema(description = "Kind of change", example = "SAVED")
+    private BookChangeType type;
+
+    @Schema(description = "Id of the changed Book, null for RELOADED", example = "1")
+    private Long bookId;
+
+    @Schema(description = "State of the Book after a SAVED change, null otherwise")
+    private Book book;
+
+    @Schema(description = "Commit time in epoch milliseconds", example = "1700000000000")
+    private long changedAt;
+
+    @Schema(description = "Id of the node that committed the change", example = "node-1")
+    private String origin;
+}
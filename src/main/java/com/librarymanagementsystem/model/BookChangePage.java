@@ -0,0 +1,21 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Changes after a feed position, oldest first")
+public class BookChangePage {
+
+    @Schema(description = "Changes on this page")
+    private List<BookChange> changes;
+
+    @Schema(description = "Position to pass as after for the next request", example = "1042")
+    private long lastSeq;
+}
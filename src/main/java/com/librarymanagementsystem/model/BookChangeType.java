@@ -0,0 +1,9 @@
+package com.librarymanagementsystem.model;
+
+public enum BookChangeType {
+    // the book was created or updated, the change carries its new state
+    SAVED,
+    DELETED,
+    // the whole catalog was replaced, consumers must resync from Get All Books
+    RELOADED
+}
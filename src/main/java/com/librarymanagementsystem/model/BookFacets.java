@@ -0,0 +1,24 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Book counts of a filter, per author and per price bucket")
+public class BookFacets {
+
+    @Schema(description = "Authors with the most Books first, at most 20")
+    private List<FacetCount> authors;
+
+    @Schema(description = "Price buckets in ascending order, value is the lower bound of the bucket")
+    private List<FacetCount> prices;
+
+    @Schema(description = "Width of a price bucket", example = "10")
+    private double bucketWidth;
+}
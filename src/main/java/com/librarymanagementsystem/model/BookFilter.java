@@ -0,0 +1,25 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Conditions a Book must meet, unset fields do not filter")
+public class BookFilter {
+
+    @Schema(description = "Lowest price, inclusive", example = "10")
+    private Double minPrice;
+
+    @Schema(description = "Highest price, inclusive", example = "25")
+    private Double maxPrice;
+
+    @Schema(description = "Exact author", example = "Author Name")
+    private String author;
+
+    @Schema(description = "Start of the author", example = "Auth")
+    private String authorPrefix;
+}
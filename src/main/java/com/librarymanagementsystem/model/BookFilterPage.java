@@ -0,0 +1,21 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of filtered Books in the requested order")
+public class BookFilterPage {
+
+    @Schema(description = "Books on this page")
+    private List<BookSummary> books;
+
+    @Schema(description = "Token to pass as continuationToken to fetch the next page, null on the last page")
+    private String nextToken;
+}
@@ -0,0 +1,19 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A row rejected by a Book import")
+public class BookImportError {
+
+    @Schema(description = "1-based position of the row in the request body", example = "42")
+    private long row;
+
+    @Schema(description = "Why the row was rejected", example = "title: Title cannot be null")
+    private String message;
+}
@@ -0,0 +1,30 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a Book import")
+public class BookImportResult {
+
+    @Schema(description = "Rows written to the database", example = "499998")
+    private long imported;
+
+    @Schema(description = "Rows rejected", example = "2")
+    private long failed;
+
+    @Schema(description = "Wall-clock duration of the import in milliseconds", example = "12500")
+    private long elapsedMillis;
+
+    @Schema(description = "Import throughput", example = "39999.8")
+    private double rowsPerSecond;
+
+    @Schema(description = "Rejected rows, capped at the first 1000")
+    private List<BookImportError> errors;
+}
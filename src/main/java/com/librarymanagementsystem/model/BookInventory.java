@@ -0,0 +1,22 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Copies of a Book the library can lend")
+public class BookInventory {
+
+    @Schema(description = "Id of the Book", example = "1")
+    private long bookId;
+
+    @Schema(description = "Copies the library owns", example = "5")
+    private int total;
+
+    @Schema(description = "Copies on the shelf, the rest are on loan", example = "3")
+    private int available;
+}
@@ -0,0 +1,22 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of Books ordered by id")
+public class BookPage {
+
+    @Schema(description = "Books on this page")
+    private List<Book> books;
+
+    @Schema(description = "Token to pass as continuationToken to fetch the next page, null on the last page",
+            example = "MTAw")
+    private String nextToken;
+}
@@ -0,0 +1,27 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One page of Books matching a search, best match first")
+public class BookSearchPage {
+
+    @Schema(description = "Number of Books matching the query", example = "42")
+    private long totalHits;
+
+    @Schema(description = "Zero-based page number", example = "0")
+    private int page;
+
+    @Schema(description = "Requested page size", example = "20")
+    private int size;
+
+    @Schema(description = "Books on this page")
+    private List<Book> books;
+}
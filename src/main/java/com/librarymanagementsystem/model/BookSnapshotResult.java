@@ -0,0 +1,25 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a catalog snapshot export or restore")
+public class BookSnapshotResult {
+
+    @Schema(description = "Rows written to or restored from the snapshot", example = "1000000")
+    private long rows;
+
+    @Schema(description = "Size of the snapshot in bytes", example = "41943040")
+    private long bytes;
+
+    @Schema(description = "Wall-clock duration in milliseconds", example = "2300")
+    private long elapsedMillis;
+
+    @Schema(description = "Throughput", example = "434782.6")
+    private double rowsPerSecond;
+}
@@ -0,0 +1,20 @@
+package com.librarymanagementsystem.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Orders for filtered Book listings. Ties are broken by id in the same direction,
+ * so every order is total and can be paged by key.
+ */
+@Getter
+@AllArgsConstructor
+public enum BookSort {
+    PRICE_ASC("price", true),
+    PRICE_DESC("price", false),
+    TITLE_ASC("title", true),
+    TITLE_DESC("title", false);
+
+    private final String property;
+    private final boolean ascending;
+}
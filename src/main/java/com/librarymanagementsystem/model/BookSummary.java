@@ -0,0 +1,25 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Listing fields of a Book, without description and version")
+public class BookSummary {
+
+    @Schema(description = "The unique id of the Book", example = "1")
+    private Long id;
+
+    @Schema(description = "Author of the Book", example = "Author Name")
+    private String author;
+
+    @Schema(description = "Title of the Book", example = "Book Title")
+    private String title;
+
+    @Schema(description = "Price of the Book", example = "19.99")
+    private Double price;
+}
@@ -0,0 +1,8 @@
+package com.librarymanagementsystem.model;
+
+public enum BookWriteState {
+    // accepted and queued, not yet in the database
+    PENDING,
+    COMMITTED,
+    FAILED
+}
@@ -0,0 +1,26 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of a Book save accepted in write-behind mode")
+public class BookWriteStatus {
+
+    @Schema(description = "Tracking id returned when the save was accepted",
+            example = "0f8fad5b-d9cb-469f-a165-70867728950e")
+    private String trackingId;
+
+    @Schema(description = "Whether the Book has been committed yet", example = "COMMITTED")
+    private BookWriteState state;
+
+    @Schema(description = "The saved Book once COMMITTED")
+    private Book book;
+
+    @Schema(description = "Why the save FAILED")
+    private String message;
+}
@@ -0,0 +1,28 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Counters of the Book cache")
+public class CacheStatistics {
+
+    @Schema(description = "Lookups answered from the cache", example = "950")
+    private long hitCount;
+
+    @Schema(description = "Lookups that went to the database", example = "50")
+    private long missCount;
+
+    @Schema(description = "Entries removed because of size or time limits", example = "3")
+    private long evictionCount;
+
+    @Schema(description = "Share of lookups answered from the cache", example = "0.95")
+    private double hitRate;
+
+    @Schema(description = "Approximate number of cached entries", example = "47")
+    private long size;
+}
@@ -0,0 +1,19 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of Books sharing one value")
+public class FacetCount {
+
+    @Schema(description = "The value, an author or the lower bound of a price bucket", example = "Author Name")
+    private String value;
+
+    @Schema(description = "Books with this value", example = "42")
+    private long count;
+}
@@ -0,0 +1,29 @@
+package com.librarymanagementsystem.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "One copy of a Book lent to a borrower")
+public class Loan {
+
+    @Schema(description = "The unique id of the Loan", example = "1")
+    private long id;
+
+    @Schema(description = "Id of the lent Book", example = "1")
+    private long bookId;
+
+    @Schema(description = "Who borrowed the copy", example = "reader-42")
+    private String borrower;
+
+    @Schema(description = "Checkout time in epoch milliseconds", example = "1700000000000")
+    private long loanedAt;
+
+    @Schema(description = "Return time in epoch milliseconds, null while the copy is on loan",
+            example = "1700600000000")
+    private Long returnedAt;
+}
@@ -2,4 +2,9 @@ package com.librarymanagementsystem.openapi;
 
 public class DescriptionVariables {
     public static final String BOOK = "Book Controller";
+    public static final String BOOK_CHANGES = "Book Changes Controller";
+    public static final String BOOK_IMPORT = "Book Import Controller";
+    public static final String BOOK_SNAPSHOT = "Book Snapshot Controller";
+    public static final String LOAN = "Loan Controller";
+    public static final String REACTIVE_BOOK = "Reactive Book Controller";
 }
@@ -0,0 +1,138 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.librarymanagementsystem.business.service.BookChangeFeedService;
+import com.librarymanagementsystem.model.BookChange;
+import com.librarymanagementsystem.model.BookChangePage;
+import com.librarymanagementsystem.openapi.DescriptionVariables;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collections;
+
+@RestController
+@Tag(name = DescriptionVariables.BOOK_CHANGES, description = "Used to follow changes to the Book catalog")
+@RequestMapping("api/v1/library/management/system/")
+@Slf4j
+public class BookChangeController {
+    static final int MAX_WAIT_SECONDS = 60;
+    static final int STREAM_BATCH_SIZE = 100;
+    // EventSource clients reconnect on their own and resume from Last-Event-ID
+    static final long STREAM_TIMEOUT_MILLIS = 30 * 60 * 1000L;
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    private BookChangeFeedService bookChangeFeedService;
+
+    @Autowired
+    public BookChangeController(BookChangeFeedService bookChangeFeedService) {
+        this.bookChangeFeedService = bookChangeFeedService;
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Get catalog changes",
+            description = "Returns the changes after a sequence number, oldest first. With waitSeconds the request "
+                    + "is held until a change arrives or the wait ends, then answered with an empty page",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, invalid limit or waitSeconds"),
+                    @ApiResponse(responseCode = "410", description = "The changes after this sequence number "
+                            + "have been purged, resync from Get All Books"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public DeferredResult<ResponseEntity<BookChangePage>> getChanges(
+            @Parameter(description = "lastSeq of the previous page, 0 for the start of the feed")
+            @RequestParam(defaultValue = "0") long after,
+            @Parameter(description = "Maximum number of changes to return, at most 1000")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Seconds to wait for a change when there is none yet, at most "
+                    + MAX_WAIT_SECONDS)
+            @RequestParam(defaultValue = "0") int waitSeconds) {
+        ResponseEntity<BookChangePage> noChanges = ResponseEntity.ok(new BookChangePage(Collections.emptyList(), after));
+        DeferredResult<ResponseEntity<BookChangePage>> result =
+                new DeferredResult<>(waitSeconds * 1000L, noChanges);
+        try {
+            if (waitSeconds < 0 || waitSeconds > MAX_WAIT_SECONDS) {
+                throw new IllegalArgumentException("waitSeconds must be between 0 and " + MAX_WAIT_SECONDS);
+            }
+            if (waitSeconds == 0) {
+                result.setResult(ResponseEntity.ok(bookChangeFeedService.getChanges(after, limit)));
+                return result;
+            }
+            Runnable cancel = bookChangeFeedService.subscribe(after, limit, page -> {
+                result.setResult(ResponseEntity.ok(page));
+                // one page answers a long poll
+                return false;
+            });
+            result.onCompletion(cancel);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid change feed request: {}", e.getMessage());
+            result.setResult(ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build());
+        } catch (IllegalStateException e) {
+            log.warn("Change feed request behind retention: {}", e.getMessage());
+            result.setResult(ResponseEntity.status(HttpStatus.GONE).header("Message", e.getMessage()).build());
+        }
+        return result;
+    }
+
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Stream catalog changes",
+            description = "Server-Sent Events with one event per change, named after the change type and with "
+                    + "the sequence number as event id. A reconnecting client resumes from Last-Event-ID",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The stream has started"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, negative sequence number"),
+                    @ApiResponse(responseCode = "410", description = "The changes after this sequence number "
+                            + "have been purged, resync from Get All Books"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<SseEmitter> streamChanges(
+            @Parameter(description = "Sequence number to stream from, 0 for the start of the feed")
+            @RequestParam(defaultValue = "0") long after,
+            @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        try {
+            Runnable cancel = bookChangeFeedService.subscribe(lastEventId != null ? lastEventId : after,
+                    STREAM_BATCH_SIZE, page -> send(emitter, page));
+            emitter.onCompletion(cancel);
+            emitter.onTimeout(cancel);
+            emitter.onError(e -> cancel.run());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid change stream request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        } catch (IllegalStateException e) {
+            log.warn("Change stream request behind retention: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.GONE).header("Message", e.getMessage()).build();
+        }
+        return ResponseEntity.ok(emitter);
+    }
+
+    private static boolean send(SseEmitter emitter, BookChangePage page) {
+        try {
+            for (BookChange change : page.getChanges()) {
+                emitter.send(SseEmitter.event()
+                        .id(String.valueOf(change.getSeq()))
+                        .name(change.getType().name())
+                        .data(change, MediaType.APPLICATION_JSON));
+            }
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            // the client went away, the subscription is dropped with it
+            log.debug("Change stream closed: {}", e.getMessage());
+            return false;
+        }
+    }
+}
@@ -1,15 +1,39 @@
 package com.librarymanagementsystem.web.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.service.BookFilterService;
+import com.librarymanagementsystem.business.service.BookSearchService;
 import com.librarymanagementsystem.business.service.BookService;
+import com.librarymanagementsystem.business.service.BookWriteBehindService;
+import com.librarymanagementsystem.business.service.BookWriteTicket;
+import com.librarymanagementsystem.business.service.CacheStatisticsService;
+import com.librarymanagementsystem.config.CacheConfig;
 import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookBatch;
+import com.librarymanagementsystem.model.BookFacets;
+import com.librarymanagementsystem.model.BookFilter;
+import com.librarymanagementsystem.model.BookFilterPage;
+import com.librarymanagementsystem.model.BookPage;
+import com.librarymanagementsystem.model.BookSearchPage;
+import com.librarymanagementsystem.model.BookSort;
+import com.librarymanagementsystem.model.BookWriteStatus;
+import com.librarymanagementsystem.model.CacheStatistics;
 import com.librarymanagementsystem.openapi.DescriptionVariables;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -17,11 +41,24 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @Tag(name = DescriptionVariables.BOOK, description = "Used to get and save Books")
@@ -29,63 +66,347 @@ import java.util.Optional;
 @Slf4j
 public class BookController {
 
+    static final String NDJSON = "application/x-ndjson";
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+    static final String RESPOND_ASYNC = "respond-async";
+    // a write-behind save not committed by then is answered 202 instead of 201
+    static final long SAVE_ACK_TIMEOUT_SECONDS = 30;
+    static final String RETRY_AFTER_SECONDS = "1";
+
     private BookService bookService;
+    private BookSearchService bookSearchService;
+    private BookFilterService bookFilterService;
+    private CacheStatisticsService cacheStatisticsService;
+    private CatalogVersion catalogVersion;
+    private ObjectWriter bookWriter;
+    // present only with library.write-behind.enabled=true
+    private BookWriteBehindService bookWriteBehindService;
 
     @Autowired
-    public BookController(BookService bookService) {
+    public BookController(BookService bookService, BookSearchService bookSearchService,
+                          BookFilterService bookFilterService, CacheStatisticsService cacheStatisticsService,
+                          CatalogVersion catalogVersion, ObjectMapper objectMapper,
+                          Optional<BookWriteBehindService> bookWriteBehindService) {
         this.bookService = bookService;
+        this.bookWriteBehindService = bookWriteBehindService.orElse(null);
+        this.bookSearchService = bookSearchService;
+        this.bookFilterService = bookFilterService;
+        this.cacheStatisticsService = cacheStatisticsService;
+        this.catalogVersion = catalogVersion;
+        // the servlet stream must stay open between rows of an NDJSON response
+        this.bookWriter = objectMapper.writerFor(Book.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @GetMapping("/allBooks")
     @Operation(
             summary = "Get All Books",
-            description = "Retrieve all books from the database",
+            description = "Retrieve all books from the database. Supports conditional requests with "
+                    + "If-None-Match and If-Modified-Since",
             responses = {
                     @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "304", description = "The catalog has not changed"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, unknown field"),
                     @ApiResponse(responseCode = "500", description = "Server error")})
-    public ResponseEntity<List<Book>> getAllBookEntries() {
+    public ResponseEntity<List<Book>> getAllBookEntries(
+            @Parameter(description = "Comma-separated Book fields to return, all when absent")
+            @RequestParam(value = BookFields.PARAMETER, required = false) String fields,
+            @RequestHeader HttpHeaders headers) {
+        Set<String> fieldNames;
+        try {
+            fieldNames = BookFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid Book fields: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        }
+        MediaType format = BookFormats.select(headers);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        // read before loading, so a write racing with this request makes the ETag stale rather than wrong
+        String eTag = BookFormats.tag(catalogVersion.getETag(), format, fieldNames);
+        long lastModified = catalogVersion.getLastModified();
+        if (ConditionalRequests.isNotModified(headers, eTag, lastModified)) {
+            return notModified(eTag, lastModified);
+        }
         List<Book> list = bookService.getAllBooks();
         if (list.isEmpty()) {
-            log.info("Empty Book list found");
-            return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
+            log.debug("Empty Book list found");
+            list = Collections.emptyList();
+        } else {
+            log.debug("List size: {}", list.size());
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(format)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .cacheControl(ConditionalRequests.REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(list);
+    }
+
+    @GetMapping("/allBooks/page")
+    @Operation(
+            summary = "Get a page of Books",
+            description = "Retrieve books ordered by id, one page at a time. Pass the returned nextToken "
+                    + "as continuationToken to fetch the following page",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "304", description = "The catalog has not changed"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, invalid page size, token or field"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookPage> getBookPage(
+            @Parameter(description = "Token returned by the previous page")
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            @Parameter(description = "Number of Books per page")
+            @RequestParam(value = "size", defaultValue = "100") int size,
+            @Parameter(description = "Comma-separated Book fields to return, all when absent")
+            @RequestParam(value = BookFields.PARAMETER, required = false) String fields,
+            @RequestHeader HttpHeaders headers) {
+        Set<String> fieldNames;
+        try {
+            fieldNames = BookFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid Book fields: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        }
+        MediaType format = BookFormats.select(headers);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        String eTag = BookFormats.tag(catalogVersion.getETag(), format, fieldNames);
+        long lastModified = catalogVersion.getLastModified();
+        if (ConditionalRequests.isNotModified(headers, eTag, lastModified)) {
+            return notModified(eTag, lastModified);
+        }
+        try {
+            BookPage page = bookService.getBookPage(continuationToken, size);
+            return ResponseEntity.status(HttpStatus.OK)
+                    .contentType(format)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(ConditionalRequests.REVALIDATE)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(page);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid Book page request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        }
+    }
+
+    @GetMapping(value = "/allBooks/stream", produces = NDJSON)
+    @Operation(
+            summary = "Stream All Books",
+            description = "Stream all books from the database as newline-delimited JSON",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, unknown field"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<StreamingResponseBody> streamAllBookEntries(
+            @Parameter(description = "Comma-separated Book fields to return, all when absent")
+            @RequestParam(value = BookFields.PARAMETER, required = false) String fields) {
+        Set<String> fieldNames;
+        try {
+            fieldNames = BookFields.parse(fields);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid Book fields: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        }
+        ObjectWriter writer = fieldNames == null ? bookWriter : bookWriter.with(BookFields.filters(fieldNames));
+        StreamingResponseBody body = outputStream -> {
+            int[] written = {0};
+            try {
+                bookService.streamAllBooks(book -> {
+                    try {
+                        writer.writeValue(outputStream, book);
+                        outputStream.write('\n');
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            outputStream.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            outputStream.flush();
+            log.debug("Streamed {} Book entries", written[0]);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Search Books",
+            description = "Full-text search over title, author and description. Every word must match, "
+                    + "the last one also as a prefix. Results are ranked by relevance",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, invalid page or size"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookSearchPage> searchBooks(
+            @Parameter(description = "Words to search for", required = true)
+            @RequestParam("query") String query,
+            @Parameter(description = "Zero-based page number")
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @Parameter(description = "Number of Books per page")
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            return new ResponseEntity<>(bookSearchService.search(query, page, size), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid Book search request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        }
+    }
+
+    @GetMapping("/filter")
+    @Operation(
+            summary = "Filter Books",
+            description = "Books within a price range and/or by an exact author or author prefix, sorted by price "
+                    + "or title. Pages are fetched with the continuationToken of the previous page",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, invalid filter, size or token"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookFilterPage> filterBooks(
+            @Parameter(description = "Lowest price, inclusive")
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @Parameter(description = "Highest price, inclusive")
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @Parameter(description = "Exact author")
+            @RequestParam(value = "author", required = false) String author,
+            @Parameter(description = "Start of the author")
+            @RequestParam(value = "authorPrefix", required = false) String authorPrefix,
+            @Parameter(description = "Order of the Books")
+            @RequestParam(value = "sort", defaultValue = "PRICE_ASC") BookSort sort,
+            @Parameter(description = "nextToken of the previous page, omit for the first page")
+            @RequestParam(value = "continuationToken", required = false) String continuationToken,
+            @Parameter(description = "Number of Books per page")
+            @RequestParam(value = "size", defaultValue = "100") int size) {
+        try {
+            BookFilter filter = new BookFilter(minPrice, maxPrice, author, authorPrefix);
+            return ResponseEntity.ok(bookFilterService.filterBooks(filter, sort, continuationToken, size));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid Book filter request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        }
+    }
+
+    @GetMapping("/facets")
+    @Operation(
+            summary = "Book facets",
+            description = "Number of Books per author and per price bucket among the Books matching the filter",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, invalid filter or bucket width"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookFacets> getFacets(
+            @Parameter(description = "Lowest price, inclusive")
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @Parameter(description = "Highest price, inclusive")
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @Parameter(description = "Exact author")
+            @RequestParam(value = "author", required = false) String author,
+            @Parameter(description = "Start of the author")
+            @RequestParam(value = "authorPrefix", required = false) String authorPrefix,
+            @Parameter(description = "Width of a price bucket")
+            @RequestParam(value = "bucketWidth", defaultValue = "10") double bucketWidth) {
+        try {
+            BookFilter filter = new BookFilter(minPrice, maxPrice, author, authorPrefix);
+            return ResponseEntity.ok(bookFilterService.getFacets(filter, bucketWidth));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid Book facets request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
         }
-        log.info("List size: {}", list.size());
-        return new ResponseEntity<>(list, HttpStatus.OK);
     }
 
     @GetMapping("/getByID/{id}")
     @Operation(
             summary = "Find Book by id",
-            description = "Retrieve book from the database by id",
+            description = "Retrieve book from the database by id. The ETag is the Book version and the "
+                    + "response format, send it back in If-None-Match to revalidate",
             responses = {
                     @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "304", description = "The Book has not changed"),
                     @ApiResponse(responseCode = "404", description = "The server has not found anything matching the Request-URI"),
                     @ApiResponse(responseCode = "500", description = "Server error")})
     public ResponseEntity<Book> getBookById(@Parameter(description = "ID of the Book entry", required = true)
-                                                             @PathVariable("id") Long id) {
+                                                             @PathVariable("id") Long id,
+                                            @RequestHeader HttpHeaders headers) {
+        MediaType format = BookFormats.select(headers);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
         Optional<Book> bookOptional = bookService.findBookById(id);
         if (bookOptional.isPresent()) {
             Book book = bookOptional.get();
-            log.info("Found book with id {} ", id);
-            return ResponseEntity.status(HttpStatus.OK).body(book);
+            log.debug("Found book with id {} ", id);
+            if (book.getVersion() == null) {
+                return ResponseEntity.status(HttpStatus.OK).contentType(format).body(book);
+            }
+            String eTag = bookETag(book, format);
+            if (ConditionalRequests.isNotModified(headers, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag)
+                        .cacheControl(ConditionalRequests.REVALIDATE).varyBy(HttpHeaders.ACCEPT).build();
+            }
+            return ResponseEntity.status(HttpStatus.OK).contentType(format).eTag(eTag)
+                    .cacheControl(ConditionalRequests.REVALIDATE).varyBy(HttpHeaders.ACCEPT).body(book);
         }
-        log.warn("Book not found with id: {}", id);
+        log.debug("Book not found with id: {}", id);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).header(
                 "Message", "Book not found with id: " + id).build();
     }
 
+    @GetMapping("/getByIDs")
+    @Operation(
+            summary = "Find Books by ids",
+            description = "Retrieve many books in one call. Duplicate ids are ignored and ids without a book "
+                    + "are listed in missingIds",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, too many ids or unknown field"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookBatch> getBooksByIds(@Parameter(description = "Comma-separated ids of the Book entries",
+                                                              required = true)
+                                                   @RequestParam("ids") List<Long> ids,
+                                                   @Parameter(description = "Comma-separated Book fields to return, "
+                                                           + "all when absent")
+                                                   @RequestParam(value = BookFields.PARAMETER, required = false)
+                                                   String fields) {
+        try {
+            BookFields.parse(fields);
+            return new ResponseEntity<>(bookService.findBooksByIds(ids), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid batch lookup: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        }
+    }
+
     @PostMapping("/saveBook")
     @Operation(
             summary = "Save a Book",
-            description = "Saves a new book to the database",
+            description = "Saves a new book to the database. In write-behind mode the book is committed with "
+                    + "others in one transaction; with Prefer: respond-async the request returns before that",
             responses = {
                     @ApiResponse(responseCode = "201", description = "The book has been successfully created"),
+                    @ApiResponse(responseCode = "202", description = "The book has been accepted, Location points "
+                            + "to its save status"),
                     @ApiResponse(responseCode = "400", description = "Bad Request, invalid book data"),
-                    @ApiResponse(responseCode = "500", description = "Server error")})
-    public ResponseEntity<Book> saveBook(@RequestBody Book book) {
+                    @ApiResponse(responseCode = "500", description = "Server error"),
+                    @ApiResponse(responseCode = "503", description = "The write-behind queue is full, retry after "
+                            + "Retry-After seconds")})
+    public ResponseEntity<Book> saveBook(@RequestBody Book book,
+                                         @Parameter(description = "respond-async to get 202 Accepted before the "
+                                                 + "book is committed, write-behind mode only")
+                                         @RequestHeader(value = "Prefer", required = false) String prefer) {
+        if (bookWriteBehindService != null) {
+            return saveBehind(book, prefer != null && prefer.contains(RESPOND_ASYNC));
+        }
         try {
             Book savedBook = bookService.saveBook(book);
-            log.info("Book saved successfully: {}", savedBook);
+            log.debug("Book saved successfully: {}", savedBook);
             return new ResponseEntity<>(savedBook, HttpStatus.CREATED);
         } catch (Exception e) {
             log.error("Error saving book: {}", e.getMessage());
@@ -93,6 +414,64 @@ public class BookController {
         }
     }
 
+    @GetMapping("/saveBook/status/{trackingId}")
+    @Operation(
+            summary = "Get the status of a Book save",
+            description = "Tells whether a save accepted in write-behind mode has been committed, "
+                    + "for 10 minutes after it was accepted",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "404", description = "Unknown or expired tracking id, or write-behind "
+                            + "mode is off"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookWriteStatus> getSaveStatus(@Parameter(description = "Tracking id of the save",
+                                                                    required = true)
+                                                         @PathVariable("trackingId") String trackingId) {
+        Optional<BookWriteStatus> status = bookWriteBehindService == null
+                ? Optional.empty() : bookWriteBehindService.getStatus(trackingId);
+        return status.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .header("Message", "No save found with tracking id: " + trackingId).build());
+    }
+
+    @PutMapping("/updateBook/{id}")
+    @Operation(
+            summary = "Replace a Book",
+            description = "Replaces every field of the book. If-Match must carry the ETag returned by "
+                    + "Find Book by id, or * to update whatever version is current; the update is rejected if the "
+                    + "book changed since",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The book has been updated, the new ETag is returned"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, invalid book data or If-Match header"),
+                    @ApiResponse(responseCode = "404", description = "The server has not found anything matching the Request-URI"),
+                    @ApiResponse(responseCode = "409", description = "The book was changed by another request, fetch it and retry"),
+                    @ApiResponse(responseCode = "428", description = "If-Match header is required"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<Book> updateBook(@PathVariable Long id, @RequestBody Book book,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @RequestHeader HttpHeaders headers) {
+        return update(id, book, ifMatch, headers, false);
+    }
+
+    @PatchMapping("/patchBook/{id}")
+    @Operation(
+            summary = "Patch a Book",
+            description = "Updates only the fields present in the body. If-Match must carry the ETag returned by "
+                    + "Find Book by id, or * to update whatever version is current; the update is rejected if the "
+                    + "book changed since",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The book has been updated, the new ETag is returned"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, invalid book data or If-Match header"),
+                    @ApiResponse(responseCode = "404", description = "The server has not found anything matching the Request-URI"),
+                    @ApiResponse(responseCode = "409", description = "The book was changed by another request, fetch it and retry"),
+                    @ApiResponse(responseCode = "428", description = "If-Match header is required"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<Book> patchBook(@PathVariable Long id, @RequestBody Book book,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                          @RequestHeader HttpHeaders headers) {
+        return update(id, book, ifMatch, headers, true);
+    }
+
     @DeleteMapping("/delete/{id}")
     @Operation(
             summary = "Deletes Book by id",
@@ -104,10 +483,106 @@ public class BookController {
     public ResponseEntity<String> deleteBook(@PathVariable Long id) {
         if (bookService.findBookById(id).isPresent()) {
             bookService.deleteBookById(id);
-            log.info("Book entry with ID: {} deleted", id);
+            log.debug("Book entry with ID: {} deleted", id);
             return ResponseEntity.ok("Book entry with ID " + id + " deleted");
         }
         log.warn("Cannot delete Book entry with ID: {}, entry not found", id);
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Book entry not found with ID: " + id);
     }
+
+    @GetMapping("/cacheStats")
+    @Operation(
+            summary = "Get Book cache statistics",
+            description = "Hit, miss and eviction counters of the Book cache used by Find Book by id",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "404", description = "The Book cache is not enabled"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<CacheStatistics> getCacheStatistics() {
+        Optional<CacheStatistics> statistics = cacheStatisticsService.getStatistics(CacheConfig.BOOKS_CACHE);
+        return statistics.map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    private ResponseEntity<Book> saveBehind(Book book, boolean respondAsync) {
+        try {
+            BookWriteTicket ticket = bookWriteBehindService.submit(book);
+            if (!respondAsync) {
+                try {
+                    Book savedBook = ticket.getCommitted().get(SAVE_ACK_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                    log.debug("Book saved with a group commit: {}", savedBook);
+                    return new ResponseEntity<>(savedBook, HttpStatus.CREATED);
+                } catch (TimeoutException e) {
+                    log.warn("Book save {} not committed within {} s", ticket.getTrackingId(), SAVE_ACK_TIMEOUT_SECONDS);
+                }
+            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                            .path("/status/{trackingId}")
+                            .buildAndExpand(ticket.getTrackingId())
+                            .toUri())
+                    .build();
+        } catch (ConstraintViolationException e) {
+            log.warn("Invalid book: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        } catch (RejectedExecutionException e) {
+            log.warn("Book save rejected: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .header("Message", e.getMessage()).build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (ExecutionException e) {
+            log.error("Error saving book: {}", e.getCause().getMessage());
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private ResponseEntity<Book> update(Long id, Book book, String ifMatch, HttpHeaders headers, boolean partial) {
+        if (ifMatch == null) {
+            log.warn("Update of Book entry with ID: {} rejected, If-Match missing", id);
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        MediaType format = BookFormats.select(headers);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        try {
+            Long expectedVersion = ConditionalRequests.parseVersionTag(ifMatch);
+            Optional<Book> updatedBook = bookService.updateBook(id, expectedVersion, book, partial);
+            if (!updatedBook.isPresent()) {
+                log.warn("Cannot update Book entry with ID: {}, entry not found", id);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            log.debug("Book entry with ID: {} updated", id);
+            return ResponseEntity.ok()
+                    .contentType(format)
+                    .eTag(bookETag(updatedBook.get(), format))
+                    .cacheControl(ConditionalRequests.REVALIDATE)
+                    .body(updatedBook.get());
+        } catch (IllegalArgumentException | ConstraintViolationException e) {
+            log.warn("Invalid update of Book entry with ID: {}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Update of Book entry with ID: {} conflicts: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Error updating book: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    static String bookETag(Book book, MediaType format) {
+        return BookFormats.tag("\"" + book.getVersion() + "\"", format, null);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String eTag, long lastModified) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .cacheControl(ConditionalRequests.REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
 }
@@ -0,0 +1,49 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.librarymanagementsystem.config.SerializationConfig;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parses the {@code fields} request parameter that trims Book payloads to a sparse fieldset,
+ * for example {@code ?fields=id,title}. Without the parameter every field is written.
+ */
+final class BookFields {
+    static final String PARAMETER = "fields";
+    static final List<String> NAMES = Collections.unmodifiableList(
+            Arrays.asList("id", "author", "title", "price", "description", "version"));
+
+    private BookFields() {
+    }
+
+    /**
+     * @return the requested field names, or null when the parameter is absent or blank
+     * @throws IllegalArgumentException when a name is not a Book field
+     */
+    static Set<String> parse(String fields) {
+        if (fields == null || fields.trim().isEmpty()) {
+            return null;
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (!NAMES.contains(trimmed)) {
+                throw new IllegalArgumentException("Unknown Book field '" + trimmed + "', expected some of " + NAMES);
+            }
+            names.add(trimmed);
+        }
+        return names;
+    }
+
+    static FilterProvider filters(Set<String> names) {
+        return new SimpleFilterProvider().addFilter(SerializationConfig.BOOK_FIELDS_FILTER,
+                SimpleBeanPropertyFilter.filterOutAllExcept(names));
+    }
+}
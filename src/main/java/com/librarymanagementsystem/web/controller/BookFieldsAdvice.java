@@ -0,0 +1,57 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.librarymanagementsystem.web.converter.BookProtobufHttpMessageConverter;
+import com.librarymanagementsystem.web.converter.BookProtobufValue;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Applies the {@code fields} parameter to JSON, Smile, CBOR and protobuf responses of handlers
+ * that declare it. The handler has already rejected unknown names, so they are not checked again.
+ */
+@RestControllerAdvice(assignableTypes = BookController.class)
+public class BookFieldsAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return (AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType)
+                || BookProtobufHttpMessageConverter.class.isAssignableFrom(converterType))
+                && returnType.getMethod() != null
+                && Arrays.stream(returnType.getMethod().getParameters())
+                .map(parameter -> parameter.getAnnotation(RequestParam.class))
+                .anyMatch(param -> param != null && BookFields.PARAMETER.equals(param.value()));
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType contentType,
+                                  Class<? extends HttpMessageConverter<?>> converterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest)) {
+            return body;
+        }
+        Set<String> fields = BookFields.parse(((ServletServerHttpRequest) request).getServletRequest()
+                .getParameter(BookFields.PARAMETER));
+        if (fields == null) {
+            return body;
+        }
+        if (BookProtobufHttpMessageConverter.class.isAssignableFrom(converterType)) {
+            return new BookProtobufValue(body, fields);
+        }
+        MappingJacksonValue container = body instanceof MappingJacksonValue
+                ? (MappingJacksonValue) body : new MappingJacksonValue(body);
+        container.setFilters(BookFields.filters(fields));
+        return container;
+    }
+}
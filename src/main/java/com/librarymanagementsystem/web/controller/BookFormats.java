@@ -0,0 +1,83 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.librarymanagementsystem.web.converter.BookProtobufHttpMessageConverter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Chooses the format of a tagged Book response from the Accept header, so its ETag can name the
+ * representation: JSON, Smile, CBOR and Protobuf bodies of one version, or of one fields subset,
+ * never share a strong tag. Handlers set the chosen type as the response Content-Type, which the
+ * message converters then write as is, so the tag and the body cannot disagree.
+ */
+final class BookFormats {
+    private static final Map<MediaType, String> NAMES = new LinkedHashMap<>();
+
+    static {
+        // in the converters' order, which breaks ties between equally acceptable formats
+        NAMES.put(MediaType.APPLICATION_JSON, "json");
+        NAMES.put(new MediaType("application", "x-jackson-smile"), "smile");
+        NAMES.put(MediaType.APPLICATION_CBOR, "cbor");
+        NAMES.put(BookProtobufHttpMessageConverter.PROTOBUF, "protobuf");
+    }
+
+    private BookFormats() {
+    }
+
+    /**
+     * Picks the format with the highest quality, taken from the most specific Accept range
+     * that includes it. No Accept header means JSON.
+     *
+     * @return the format, or null when none is acceptable
+     */
+    static MediaType select(HttpHeaders requestHeaders) {
+        List<MediaType> accepted;
+        try {
+            accepted = requestHeaders.getAccept();
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        if (accepted.isEmpty()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType selected = null;
+        double selectedQuality = 0;
+        for (MediaType format : NAMES.keySet()) {
+            MediaType range = null;
+            for (MediaType candidate : accepted) {
+                if (candidate.includes(format) && (range == null || specificity(candidate) > specificity(range))) {
+                    range = candidate;
+                }
+            }
+            if (range != null && range.getQualityValue() > selectedQuality) {
+                selected = format;
+                selectedQuality = range.getQualityValue();
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Extends a version tag such as {@code "3"} with the format and, when the response is trimmed,
+     * the fields it carries: {@code "3-json"}, {@code "3-protobuf-id.title"}.
+     */
+    static String tag(String eTag, MediaType format, Set<String> fields) {
+        StringBuilder tag = new StringBuilder(eTag.substring(0, eTag.length() - 1))
+                .append('-').append(NAMES.get(format));
+        if (fields != null) {
+            tag.append('-').append(BookFields.NAMES.stream().filter(fields::contains).collect(Collectors.joining(".")));
+        }
+        return tag.append('"').toString();
+    }
+
+    private static int specificity(MediaType range) {
+        return range.isWildcardType() ? 0 : range.isWildcardSubtype() ? 1 : 2;
+    }
+}
@@ -0,0 +1,72 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.librarymanagementsystem.business.service.BookImportService;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookImportResult;
+import com.librarymanagementsystem.openapi.DescriptionVariables;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@RestController
+@Tag(name = DescriptionVariables.BOOK_IMPORT, description = "Used to load many Books at once")
+@RequestMapping("api/v1/library/management/system/")
+@Slf4j
+public class BookImportController {
+    static final String TEXT_CSV = "text/csv";
+
+    private BookImportService bookImportService;
+    private ObjectReader jsonReader;
+    private ObjectReader csvReader;
+
+    @Autowired
+    public BookImportController(BookImportService bookImportService, ObjectMapper objectMapper) {
+        this.bookImportService = bookImportService;
+        this.jsonReader = objectMapper.readerFor(Book.class);
+        this.csvReader = new CsvMapper()
+                .readerFor(Book.class)
+                .with(CsvSchema.emptySchema().withHeader())
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    @PostMapping(value = "/importBooks", consumes = {MediaType.APPLICATION_JSON_VALUE, BookController.NDJSON, TEXT_CSV})
+    @Operation(
+            summary = "Import Books",
+            description = "Saves many books in batched transactions. Accepts a JSON array, newline-delimited JSON "
+                    + "or CSV with an author,title,price,description header. Invalid rows are skipped and reported",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The import has finished, see the error report"),
+                    @ApiResponse(responseCode = "415", description = "Unsupported content type"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookImportResult> importBooks(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) throws IOException {
+        ObjectReader reader = isCsv(contentType) ? csvReader : jsonReader;
+        try (MappingIterator<Book> rows = reader.readValues(body)) {
+            BookImportResult result = bookImportService.importBooks(rows);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+    }
+
+    private static boolean isCsv(String contentType) {
+        return MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV));
+    }
+}
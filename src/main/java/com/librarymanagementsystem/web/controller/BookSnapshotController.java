@@ -0,0 +1,87 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.librarymanagementsystem.business.service.BookSnapshotService;
+import com.librarymanagementsystem.model.BookSnapshotResult;
+import com.librarymanagementsystem.openapi.DescriptionVariables;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+
+@RestController
+@Tag(name = DescriptionVariables.BOOK_SNAPSHOT, description = "Used to back up and clone the Book catalog")
+@RequestMapping("api/v1/library/management/system/")
+@Slf4j
+public class BookSnapshotController {
+    static final String SNAPSHOT_FILE_NAME = "books.snapshot";
+
+    private BookSnapshotService bookSnapshotService;
+
+    @Autowired
+    public BookSnapshotController(BookSnapshotService bookSnapshotService) {
+        this.bookSnapshotService = bookSnapshotService;
+    }
+
+    @GetMapping(value = "/snapshot", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+            summary = "Export a catalog snapshot",
+            description = "Streams every book in a compact checksummed binary format that Restore a catalog "
+                    + "snapshot reads back. Only Books are included, not their copies or loans",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<StreamingResponseBody> exportSnapshot(
+            @Parameter(description = "Deflate every block, smaller but slower to write")
+            @RequestParam(defaultValue = "true") boolean compress) {
+        StreamingResponseBody body = outputStream -> {
+            bookSnapshotService.exportSnapshot(Channels.newChannel(outputStream), compress);
+            outputStream.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(SNAPSHOT_FILE_NAME).build().toString())
+                .body(body);
+    }
+
+    @PostMapping(value = "/snapshot", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+            summary = "Restore a catalog snapshot",
+            description = "Loads a snapshot produced by Export a catalog snapshot into an empty catalog, "
+                    + "keeping ids and versions. Only a new database is accepted: once a Book has been saved, "
+                    + "even if it was deleted since, the restore is refused. Copies and loans are not part of a "
+                    + "snapshot; restored Books have no copies until they are registered again",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The snapshot has been restored"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, the snapshot is truncated or corrupt"),
+                    @ApiResponse(responseCode = "409", description = "The catalog is not empty or has saved Books before"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookSnapshotResult> restoreSnapshot(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(bookSnapshotService.restoreSnapshot(Channels.newChannel(body)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid snapshot: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        } catch (IllegalStateException e) {
+            log.warn("Snapshot not restored: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).header("Message", e.getMessage()).build();
+        }
+    }
+}
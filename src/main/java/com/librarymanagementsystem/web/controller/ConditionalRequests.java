@@ -0,0 +1,69 @@
+package com.librarymanagementsystem.web.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+
+/**
+ * Evaluates If-None-Match and If-Modified-Since before a handler does any work,
+ * so a 304 costs neither a query nor serialization, and parses If-Match for
+ * optimistic updates.
+ */
+final class ConditionalRequests {
+    static final CacheControl REVALIDATE = CacheControl.noCache();
+
+    private ConditionalRequests() {
+    }
+
+    static boolean isNotModified(HttpHeaders requestHeaders, String eTag) {
+        return isNotModified(requestHeaders, eTag, -1);
+    }
+
+    /**
+     * If-None-Match wins when present; If-Modified-Since is only consulted without it
+     * and compared at the one-second resolution of HTTP dates.
+     */
+    static boolean isNotModified(HttpHeaders requestHeaders, String eTag, long lastModified) {
+        List<String> ifNoneMatch = requestHeaders.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            for (String candidate : ifNoneMatch) {
+                if ("*".equals(candidate) || opaqueTag(candidate).equals(opaqueTag(eTag))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = requestHeaders.getIfModifiedSince();
+        return lastModified >= 0 && ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /**
+     * Reads the Book version out of an If-Match header such as {@code "3-json"}, or a bare
+     * {@code "3"}; the format part is not compared, any representation of the version matches.
+     * Weak tags are rejected because If-Match requires strong comparison.
+     *
+     * @return null for {@code *}, which matches whatever version is current
+     */
+    static Long parseVersionTag(String ifMatch) {
+        String tag = ifMatch.trim();
+        if ("*".equals(tag)) {
+            return null;
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException("If-Match must be a single strong ETag, got: " + ifMatch);
+        }
+        String opaque = tag.substring(1, tag.length() - 1);
+        int format = opaque.indexOf('-');
+        try {
+            return Long.valueOf(format < 0 ? opaque : opaque.substring(0, format));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match does not name a Book version: " + ifMatch);
+        }
+    }
+
+    // If-None-Match uses weak comparison, so W/"x" and "x" are the same tag
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -0,0 +1,139 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.librarymanagementsystem.business.service.LoanService;
+import com.librarymanagementsystem.model.BookInventory;
+import com.librarymanagementsystem.model.Loan;
+import com.librarymanagementsystem.openapi.DescriptionVariables;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+@RestController
+@Tag(name = DescriptionVariables.LOAN, description = "Used to manage copies of Books and lend them out")
+@RequestMapping("api/v1/library/management/system/")
+@Slf4j
+public class LoanController {
+
+    private LoanService loanService;
+
+    @Autowired
+    public LoanController(LoanService loanService) {
+        this.loanService = loanService;
+    }
+
+    @GetMapping("/copies/{bookId}")
+    @Operation(
+            summary = "Get copies of a Book",
+            description = "How many copies of the Book the library owns and how many are on the shelf",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "404", description = "The Book has no copies registered"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookInventory> getCopies(@PathVariable long bookId) {
+        return loanService.getInventory(bookId).map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @PutMapping("/copies/{bookId}")
+    @Operation(
+            summary = "Set copies of a Book",
+            description = "Sets how many copies of the Book the library owns. Copies on loan stay on loan, "
+                    + "so the total cannot drop below them",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The copies have been updated"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, negative total"),
+                    @ApiResponse(responseCode = "404", description = "The server has not found anything matching the Request-URI"),
+                    @ApiResponse(responseCode = "409", description = "More copies than the total are on loan"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<BookInventory> setCopies(
+            @PathVariable long bookId,
+            @Parameter(description = "Copies the library owns") @RequestParam int total) {
+        try {
+            Optional<BookInventory> inventory = loanService.setCopies(bookId, total);
+            if (!inventory.isPresent()) {
+                log.warn("Cannot set copies of Book {}, entry not found", bookId);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            return ResponseEntity.ok(inventory.get());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid copies of Book {}: {}", bookId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        } catch (IllegalStateException e) {
+            log.warn("Copies of Book {} not changed: {}", bookId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).header("Message", e.getMessage()).build();
+        }
+    }
+
+    @PostMapping("/checkout/{bookId}")
+    @Operation(
+            summary = "Check out a copy of a Book",
+            description = "Lends one copy of the Book to the borrower",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "The copy has been lent"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, missing or too long borrower"),
+                    @ApiResponse(responseCode = "404", description = "The Book has no copies registered"),
+                    @ApiResponse(responseCode = "409", description = "Every copy is on loan"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<Loan> checkout(
+            @PathVariable long bookId,
+            @Parameter(description = "Who borrows the copy, at most 64 characters") @RequestParam String borrower) {
+        try {
+            return loanService.checkout(bookId, borrower)
+                    .map(loan -> new ResponseEntity<>(loan, HttpStatus.CREATED))
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid checkout of Book {}: {}", bookId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).header("Message", e.getMessage()).build();
+        } catch (IllegalStateException e) {
+            // the expected answer for a popular title, not worth a warning
+            log.debug("Checkout of Book {} refused: {}", bookId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).header("Message", e.getMessage()).build();
+        }
+    }
+
+    @PostMapping("/return/{loanId}")
+    @Operation(
+            summary = "Return a loan",
+            description = "Puts the lent copy back on the shelf",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The copy has been returned"),
+                    @ApiResponse(responseCode = "404", description = "The server has not found anything matching the Request-URI"),
+                    @ApiResponse(responseCode = "409", description = "The loan has already been returned"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<Loan> returnLoan(@PathVariable long loanId) {
+        try {
+            return loanService.returnLoan(loanId).map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (IllegalStateException e) {
+            log.warn("Loan {} not returned: {}", loanId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).header("Message", e.getMessage()).build();
+        }
+    }
+
+    @GetMapping("/loans/{loanId}")
+    @Operation(
+            summary = "Get a loan",
+            description = "Provide a loan id to see which Book was lent to whom and whether it is back",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "404", description = "The server has not found anything matching the Request-URI"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public ResponseEntity<Loan> getLoan(@PathVariable long loanId) {
+        return loanService.getLoan(loanId).map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+}
@@ -0,0 +1,112 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.librarymanagementsystem.business.service.ReactiveBookService;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.openapi.DescriptionVariables;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.ConstraintViolationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Twin of {@link BookController} whose handlers return Reactor types backed by R2DBC, so
+ * the servlet thread is released while the database works. This runs on Spring MVC, not
+ * WebFlux: a streamed listing is written with blocking servlet writes, one Book at a time,
+ * and a slow client holds the thread writing its stream.
+ */
+@RestController
+@Tag(name = DescriptionVariables.REACTIVE_BOOK, description = "Used to get and save Books without blocking")
+@RequestMapping("api/v1/library/management/system/reactive/")
+@Slf4j
+public class ReactiveBookController {
+
+    private ReactiveBookService reactiveBookService;
+
+    @Autowired
+    public ReactiveBookController(ReactiveBookService reactiveBookService) {
+        this.reactiveBookService = reactiveBookService;
+    }
+
+    @GetMapping(value = "/allBooks", produces = BookController.NDJSON)
+    @Operation(
+            summary = "Get All Books",
+            description = "Stream all books from the database as newline-delimited JSON. Each Book is written "
+                    + "when the previous write to the client has completed, on a thread held for the stream, "
+                    + "so concurrent streams are bounded by that thread pool and the endpoint's rate limit. "
+                    + "A JSON array is not offered, Spring MVC would collect the whole catalog before writing it.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public Flux<Book> getAllBookEntries() {
+        // MVC writes each element on the thread that emits it; keep slow clients off the R2DBC threads
+        return reactiveBookService.getAllBooks().publishOn(Schedulers.boundedElastic());
+    }
+
+    @GetMapping("/getByID/{id}")
+    @Operation(
+            summary = "Find Book by id",
+            description = "Retrieve book from the database by id",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "404", description = "The server has not found anything matching the Request-URI"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public Mono<ResponseEntity<Book>> getBookById(@Parameter(description = "ID of the Book entry", required = true)
+                                                  @PathVariable("id") Long id) {
+        return reactiveBookService.findBookById(id)
+                .map(book -> ResponseEntity.status(HttpStatus.OK).body(book))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).header(
+                        "Message", "Book not found with id: " + id).<Book>build());
+    }
+
+    @PostMapping("/saveBook")
+    @Operation(
+            summary = "Save a Book",
+            description = "Saves a new book to the database",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "The book has been successfully created"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request, invalid book data"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public Mono<ResponseEntity<Book>> saveBook(@RequestBody Book book) {
+        return reactiveBookService.saveBook(book)
+                .map(savedBook -> new ResponseEntity<>(savedBook, HttpStatus.CREATED))
+                .onErrorResume(e -> {
+                    if (e instanceof ConstraintViolationException) {
+                        log.warn("Invalid book: {}", e.getMessage());
+                        return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                .header("Message", e.getMessage()).<Book>build());
+                    }
+                    log.error("Error saving book: {}", e.getMessage());
+                    return Mono.just(new ResponseEntity<Book>((Book) null, HttpStatus.INTERNAL_SERVER_ERROR));
+                });
+    }
+
+    @DeleteMapping("/delete/{id}")
+    @Operation(
+            summary = "Deletes Book by id",
+            description = "Provide an id to delete specific book entry from the database",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "The request has succeeded"),
+                    @ApiResponse(responseCode = "404", description = "The server has not found anything matching the Request-URI"),
+                    @ApiResponse(responseCode = "500", description = "Server error")})
+    public Mono<ResponseEntity<String>> deleteBook(@PathVariable Long id) {
+        return reactiveBookService.deleteBookById(id)
+                .map(deleted -> deleted
+                        ? ResponseEntity.ok("Book entry with ID " + id + " deleted")
+                        : ResponseEntity.status(HttpStatus.NOT_FOUND).body("Book entry not found with ID: " + id));
+    }
+}
@@ -0,0 +1,92 @@
+package com.librarymanagementsystem.web.converter;
+
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookBatch;
+import com.librarymanagementsystem.model.BookPage;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Writes Book responses as {@code application/x-protobuf}: a single Book, a list of Books
+ * as BookList, and BookPage and BookBatch, following {@code static/book.proto}. A body wrapped
+ * in {@link BookProtobufValue} is written with only its Book fields. Write only, requests are
+ * still read as JSON.
+ */
+public class BookProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+
+    public BookProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    /**
+     * Also true for any Collection, so protobuf is offered for list responses during content
+     * negotiation, which only knows the raw class; {@link #canWrite(Type, Class, MediaType)}
+     * then checks that the elements are Books.
+     */
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Book.class == clazz || BookPage.class == clazz || BookBatch.class == clazz
+                || Collection.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (type != null && Collection.class.isAssignableFrom(clazz)) {
+            return ResolvableType.forType(type).asCollection().resolveGeneric(0) == Book.class;
+        }
+        return supports(clazz);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object body, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Set<String> fields = null;
+        if (body instanceof BookProtobufValue) {
+            fields = ((BookProtobufValue) body).getFields();
+            body = ((BookProtobufValue) body).getValue();
+        }
+        BookProtobufWriter writer = new BookProtobufWriter(outputMessage.getBody(), fields);
+        if (body instanceof Book) {
+            writer.writeBook((Book) body);
+        } else if (body instanceof BookPage) {
+            writer.writeBooks(1, ((BookPage) body).getBooks());
+            writer.writeString(2, ((BookPage) body).getNextToken());
+        } else if (body instanceof BookBatch) {
+            writer.writeBooks(1, ((BookBatch) body).getBooks());
+            writer.writeLongs(2, ((BookBatch) body).getMissingIds());
+        } else if (body instanceof Collection) {
+            writer.writeBooks(1, (Collection<Book>) body);
+        } else {
+            throw new HttpMessageNotWritableException("Cannot write " + body.getClass() + " as protobuf");
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf requests are not supported", inputMessage);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Protobuf requests are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,28 @@
+package com.librarymanagementsystem.web.converter;
+
+import java.util.Set;
+
+/**
+ * A response body to be written by {@link BookProtobufHttpMessageConverter} with only the named
+ * Book fields, the protobuf counterpart of Jackson's {@code MappingJacksonValue} filters.
+ */
+public class BookProtobufValue {
+    private final Object value;
+    private final Set<String> fields;
+
+    public BookProtobufValue(Object value, Set<String> fields) {
+        this.value = value;
+        this.fields = fields;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    /**
+     * @return the Book field names to write, null for all of them
+     */
+    public Set<String> getFields() {
+        return fields;
+    }
+}
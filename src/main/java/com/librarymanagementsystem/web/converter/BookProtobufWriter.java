@@ -0,0 +1,174 @@
+package com.librarymanagementsystem.web.converter;
+
+import com.librarymanagementsystem.model.Book;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Encodes Books in the protobuf wire format of {@code static/book.proto} without generated
+ * classes or reflection. A Book is encoded into a reused buffer first, so its length prefix
+ * is known before anything is written; null fields and fields outside the requested set are
+ * left out.
+ */
+public final class BookProtobufWriter {
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_FIXED64 = 1;
+    static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private final OutputStream out;
+    private final boolean id;
+    private final boolean author;
+    private final boolean title;
+    private final boolean price;
+    private final boolean description;
+    private final boolean version;
+    private final byte[] header = new byte[20];
+    private byte[] buffer = new byte[256];
+    private int position;
+
+    public BookProtobufWriter(OutputStream out) {
+        this(out, null);
+    }
+
+    /**
+     * @param fields the Book field names to write, null for all of them
+     */
+    public BookProtobufWriter(OutputStream out, Set<String> fields) {
+        this.out = out;
+        this.id = fields == null || fields.contains("id");
+        this.author = fields == null || fields.contains("author");
+        this.title = fields == null || fields.contains("title");
+        this.price = fields == null || fields.contains("price");
+        this.description = fields == null || fields.contains("description");
+        this.version = fields == null || fields.contains("version");
+    }
+
+    /**
+     * Writes a top-level Book message.
+     */
+    public void writeBook(Book book) throws IOException {
+        position = 0;
+        encodeBook(book);
+        out.write(buffer, 0, position);
+    }
+
+    /**
+     * Writes each Book as an element of the repeated Book field {@code field}.
+     */
+    public void writeBooks(int field, Collection<Book> books) throws IOException {
+        for (Book book : books) {
+            position = 0;
+            encodeBook(book);
+            int headerLength = varint(header, varint(header, 0, tag(field, WIRE_LENGTH_DELIMITED)), position);
+            out.write(header, 0, headerLength);
+            out.write(buffer, 0, position);
+        }
+    }
+
+    public void writeString(int field, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        position = 0;
+        encodeString(field, value);
+        out.write(buffer, 0, position);
+    }
+
+    /**
+     * Writes the values as a packed repeated int64 field.
+     */
+    public void writeLongs(int field, Collection<Long> values) throws IOException {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        position = 0;
+        for (Long value : values) {
+            ensureCapacity(10);
+            position = varint(buffer, position, value);
+        }
+        int headerLength = varint(header, varint(header, 0, tag(field, WIRE_LENGTH_DELIMITED)), position);
+        out.write(header, 0, headerLength);
+        out.write(buffer, 0, position);
+    }
+
+    private void encodeBook(Book book) {
+        if (id && book.getId() != null) {
+            encodeLong(1, book.getId());
+        }
+        if (author) {
+            encodeString(2, book.getAuthor());
+        }
+        if (title) {
+            encodeString(3, book.getTitle());
+        }
+        if (price && book.getPrice() != null) {
+            ensureCapacity(9);
+            position = varint(buffer, position, tag(4, WIRE_FIXED64));
+            long bits = Double.doubleToRawLongBits(book.getPrice());
+            for (int i = 0; i < 8; i++) {
+                buffer[position++] = (byte) (bits >>> (8 * i));
+            }
+        }
+        if (description) {
+            encodeString(5, book.getDescription());
+        }
+        if (version && book.getVersion() != null) {
+            encodeLong(6, book.getVersion());
+        }
+    }
+
+    private void encodeLong(int field, long value) {
+        ensureCapacity(11);
+        position = varint(buffer, position, tag(field, WIRE_VARINT));
+        position = varint(buffer, position, value);
+    }
+
+    private void encodeString(int field, String value) {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        // ASCII text, the common case for catalog data, is copied without an intermediate byte[]
+        byte[] utf8 = ascii ? null : value.getBytes(StandardCharsets.UTF_8);
+        int byteLength = ascii ? length : utf8.length;
+        ensureCapacity(byteLength + 6);
+        position = varint(buffer, position, tag(field, WIRE_LENGTH_DELIMITED));
+        position = varint(buffer, position, byteLength);
+        if (ascii) {
+            for (int i = 0; i < length; i++) {
+                buffer[position++] = (byte) value.charAt(i);
+            }
+        } else {
+            System.arraycopy(utf8, 0, buffer, position, byteLength);
+            position += byteLength;
+        }
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (position + bytes > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+        }
+    }
+
+    private static int tag(int field, int wireType) {
+        return (field << 3) | wireType;
+    }
+
+    private static int varint(byte[] target, int offset, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target[offset++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target[offset++] = (byte) value;
+        return offset;
+    }
+}
@@ -0,0 +1,242 @@
+package com.librarymanagementsystem.web.ratelimit;
+
+import com.librarymanagementsystem.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission control for the Book API, configured per endpoint under {@code library.rate-limit}.
+ * Each client gets its own token bucket per endpoint and is answered 429 once it runs dry. A client
+ * is a configured API key or, for requests without one, the remote address, so sending made-up
+ * keys does not buy fresh buckets.
+ * Heavy endpoints can also cap how many requests run at once across all clients; requests over
+ * the cap are shed with 503 instead of queueing for database connections. Both carry Retry-After.
+ */
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    static final String REJECTED_METER = "library.rate-limit.rejected";
+    static final String OTHER_CLIENTS = "other";
+
+    private final List<EndpointLimit> limits;
+    private final String clientHeader;
+    private final Set<String> apiKeys;
+    private final int maxTrackedClients;
+    private final MeterRegistry registry;
+    private final Set<String> trackedClients = ConcurrentHashMap.newKeySet();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry registry) {
+        this.clientHeader = properties.getClientHeader();
+        this.apiKeys = new HashSet<>(properties.getApiKeys());
+        this.maxTrackedClients = properties.getMaxTrackedClients();
+        this.registry = registry;
+        List<EndpointLimit> endpointLimits = new ArrayList<>();
+        for (Map.Entry<String, RateLimitProperties.Endpoint> entry : properties.getEndpoints().entrySet()) {
+            EndpointLimit limit = new EndpointLimit(entry.getKey(), entry.getValue(), properties.getMaxClients());
+            if (limit.permits != null) {
+                Gauge.builder("library.rate-limit.in-flight", limit, EndpointLimit::inFlight)
+                        .description("Requests being served under an endpoint's concurrency limit")
+                        .tag("endpoint", limit.name)
+                        .register(registry);
+            }
+            endpointLimits.add(limit);
+        }
+        endpointLimits.sort(Comparator.comparing(limit -> limit.pattern, PathPattern.SPECIFICITY_COMPARATOR));
+        this.limits = endpointLimits;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointLimit limit = match(request);
+        if (limit == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String client = clientKey(request);
+        if (limit.buckets != null) {
+            long waitNanos = limit.buckets.tryAcquire(client, System.nanoTime());
+            if (waitNanos > 0) {
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, limit, client, "rate",
+                        TimeUnit.NANOSECONDS.toSeconds(waitNanos - 1) + 1);
+                return;
+            }
+        }
+        if (limit.permits == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limit.permits.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, limit, client, "concurrency", limit.retryAfterSeconds);
+            return;
+        }
+        Runnable release = releaseOnce(limit.permits);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // streamed and reactive responses hold the permit until they complete
+                request.getAsyncContext().addListener(new ReleasingListener(release));
+            } else {
+                release.run();
+            }
+        }
+    }
+
+    private EndpointLimit match(HttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(UrlPathHelper.defaultInstance.getPathWithinApplication(request));
+        for (EndpointLimit limit : limits) {
+            if (limit.pattern.matches(path)) {
+                return limit;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(clientHeader);
+        if (apiKey != null && apiKeys.contains(apiKey.trim())) {
+            return "key:" + apiKey.trim();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, EndpointLimit limit, String client,
+                        String reason, long retryAfterSeconds) {
+        String clientTag = clientTag(client);
+        log.debug("Rejected {} on {} with {}, {} limit", clientTag, limit.name, status.value(), reason);
+        Counter.builder(REJECTED_METER)
+                .description("Requests turned away by rate limiting or load shedding")
+                .tag("endpoint", limit.name)
+                .tag("reason", reason)
+                .tag("client", clientTag)
+                .register(registry)
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setHeader("Message", "rate".equals(reason)
+                ? "Rate limit exceeded for " + limit.name
+                : "Too many concurrent requests for " + limit.name);
+    }
+
+    /**
+     * API keys are credentials, so only a fingerprint of them ends up in metrics.
+     */
+    private String clientTag(String client) {
+        String tag = client.startsWith("key:") ? "key:" + fingerprint(client.substring(4)) : client;
+        if (trackedClients.contains(tag)) {
+            return tag;
+        }
+        if (trackedClients.size() >= maxTrackedClients) {
+            return OTHER_CLIENTS;
+        }
+        trackedClients.add(tag);
+        return tag;
+    }
+
+    private static String fingerprint(String apiKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder();
+            for (int i = 0; i < 4; i++) {
+                hex.append(String.format("%02x", digest[i]));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Runnable releaseOnce(Semaphore permits) {
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    static final class EndpointLimit {
+        final String name;
+        final PathPattern pattern;
+        final TokenBuckets buckets;
+        final Semaphore permits;
+        final int maxConcurrent;
+        final long retryAfterSeconds;
+
+        EndpointLimit(String name, RateLimitProperties.Endpoint endpoint, int maxClients) {
+            if (endpoint.getPath() == null) {
+                throw new IllegalArgumentException("library.rate-limit.endpoints." + name + ".path is not set");
+            }
+            this.name = name;
+            this.pattern = PathPatternParser.defaultInstance.parse(endpoint.getPath());
+            this.buckets = endpoint.getRequestsPerSecond() > 0
+                    ? new TokenBuckets(maxClients, endpoint.getRequestsPerSecond(), endpoint.getBurst())
+                    : null;
+            this.maxConcurrent = endpoint.getMaxConcurrent();
+            this.permits = maxConcurrent > 0 ? new Semaphore(maxConcurrent) : null;
+            this.retryAfterSeconds = Math.max(1, endpoint.getRetryAfter().getSeconds());
+        }
+
+        double inFlight() {
+            return maxConcurrent - permits.availablePermits();
+        }
+    }
+
+    private static final class ReleasingListener implements AsyncListener {
+        private final Runnable release;
+
+        ReleasingListener(Runnable release) {
+            this.release = release;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release.run();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
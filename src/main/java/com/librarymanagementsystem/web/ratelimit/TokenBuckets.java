@@ -0,0 +1,58 @@
+package com.librarymanagementsystem.web.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets, one per client. Each bucket holds the theoretical arrival time of the
+ * client's next request (the generic cell rate algorithm), so taking a token is a single
+ * compare-and-set. Buckets live in a bounded map: one left idle until it is full again is
+ * dropped, as it would be recreated the same, and beyond the size limit the least recently used
+ * go first, which can only give their clients a fresh burst.
+ */
+final class TokenBuckets {
+    // keeps buckets of clients with a short tolerance around between their requests
+    private static final long MIN_IDLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Cache<String, AtomicLong> arrivalTimes;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+
+    TokenBuckets(int maxClients, double requestsPerSecond, int burst) {
+        if (requestsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = (long) (1_000_000_000L / requestsPerSecond);
+        this.toleranceNanos = intervalNanos * burst;
+        this.arrivalTimes = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxClients, 1))
+                .expireAfterAccess(Math.max(toleranceNanos, MIN_IDLE_NANOS), TimeUnit.NANOSECONDS)
+                .build();
+    }
+
+    /**
+     * @return 0 when the client got a token, otherwise how long it has to wait for one
+     */
+    long tryAcquire(String client, long nowNanos) {
+        AtomicLong arrivalTime = arrivalTimes.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long arrival = arrivalTime.get();
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            long wait = next - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrivalTime.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long size() {
+        arrivalTimes.cleanUp();
+        return arrivalTimes.estimatedSize();
+    }
+}
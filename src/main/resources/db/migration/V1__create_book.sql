@@ -0,0 +1,11 @@
+-- increment matches the allocationSize of the book_seq generator in BookDAO
+CREATE SEQUENCE book_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE book (
+    id          BIGINT           NOT NULL PRIMARY KEY,
+    author      VARCHAR(30)      NOT NULL,
+    title       VARCHAR(50)      NOT NULL,
+    price       DOUBLE PRECISION NOT NULL,
+    description VARCHAR(255),
+    version     BIGINT           DEFAULT 0 NOT NULL
+);
@@ -0,0 +1,6 @@
+-- price range filters and price ordering, id makes the order total for keyset paging
+CREATE INDEX book_price_id_idx ON book (price, id);
+-- exact and prefix author filters, narrowed by price and ordered by price within one author
+CREATE INDEX book_author_price_id_idx ON book (author, price, id);
+-- title ordering
+CREATE INDEX book_title_id_idx ON book (title, id);
@@ -0,0 +1,17 @@
+-- one row per committed book mutation, written in the same transaction as the mutation
+CREATE SEQUENCE book_change_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE book_change (
+    seq         BIGINT           NOT NULL PRIMARY KEY,
+    change_type VARCHAR(16)      NOT NULL,
+    book_id     BIGINT,
+    author      VARCHAR(30),
+    title       VARCHAR(50),
+    price       DOUBLE PRECISION,
+    description VARCHAR(255),
+    version     BIGINT,
+    changed_at  BIGINT           NOT NULL
+);
+
+-- retention purges by age
+CREATE INDEX book_change_changed_at_idx ON book_change (changed_at);
@@ -0,0 +1,21 @@
+-- copies of a Book and how many are on the shelf; goes with the Book, a snapshot restore starts without it
+CREATE TABLE book_inventory (
+    book_id   BIGINT  NOT NULL PRIMARY KEY,
+    total     INTEGER NOT NULL,
+    available INTEGER NOT NULL,
+    CONSTRAINT book_inventory_available_check CHECK (available >= 0 AND available <= total),
+    CONSTRAINT book_inventory_book_fk FOREIGN KEY (book_id) REFERENCES book (id) ON DELETE CASCADE
+);
+
+CREATE SEQUENCE loan_seq START WITH 1 INCREMENT BY 50;
+
+-- loans outlive the Book they were for, so there is no foreign key to book
+CREATE TABLE loan (
+    id          BIGINT      NOT NULL PRIMARY KEY,
+    book_id     BIGINT      NOT NULL,
+    borrower    VARCHAR(64) NOT NULL,
+    loaned_at   BIGINT      NOT NULL,
+    returned_at BIGINT
+);
+
+CREATE INDEX loan_book_id_idx ON loan (book_id);
@@ -0,0 +1,2 @@
+-- node that committed the change, so a node tailing the feed in cluster mode can skip its own writes
+ALTER TABLE book_change ADD COLUMN origin VARCHAR(64);
@@ -0,0 +1,3 @@
+-- descending price and title orders, H2 only seeks an index in the direction it was created in
+CREATE INDEX book_price_id_desc_idx ON book (price DESC, id DESC);
+CREATE INDEX book_title_id_desc_idx ON book (title DESC, id DESC);
@@ -0,0 +1,63 @@
+package com.librarymanagementsystem.business.catalog;
+
+import com.librarymanagementsystem.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BookCacheWritesTest {
+
+    private ConcurrentMapCache cache;
+    private Book v1;
+    private Book v2;
+
+    @BeforeEach
+    public void init() {
+        cache = new ConcurrentMapCache("books");
+        v1 = new Book(1L, "Frank Herbert", "Dune", 19.99, null, 1L);
+        v2 = new Book(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 2L);
+    }
+
+    @Test
+    void testPutLoaded_DoesNotReplaceACommittedWrite() {
+        // a reader loaded version 1, then an update committed and cached version 2
+        BookCacheWrites.putWritten(cache, v2);
+        BookCacheWrites.putLoaded(cache, 1L, v1);
+
+        assertEquals(v2, cache.get(1L).get());
+    }
+
+    @Test
+    void testPutLoaded_DoesNotReplaceADelete() {
+        BookCacheWrites.putRemoved(cache, 1L);
+        BookCacheWrites.putLoaded(cache, 1L, v1);
+
+        assertNotNull(cache.get(1L));
+        assertNull(cache.get(1L).get());
+    }
+
+    @Test
+    void testPutWritten_KeepsTheNewerVersion() {
+        BookCacheWrites.putWritten(cache, v2);
+        BookCacheWrites.putWritten(cache, v1);
+        assertEquals(v2, cache.get(1L).get());
+
+        BookCacheWrites.putLoaded(cache, 2L, null);
+        BookCacheWrites.putWritten(cache, new Book(2L, "Isaac Asimov", "Foundation", 15.99, null, 1L));
+        assertNull(cache.get(2L).get());
+    }
+
+    @Test
+    void testPutWritten_ANewBookReplacesAMissBeforeItsIdWasAssigned() {
+        // a client asked for the id before a save was given it
+        BookCacheWrites.putLoaded(cache, 3L, null);
+        Book saved = new Book(3L, "Stanisław Lem", "Solaris", 12.5, null, 0L);
+        BookCacheWrites.putWritten(cache, saved);
+
+        assertEquals(saved, cache.get(3L).get());
+    }
+}
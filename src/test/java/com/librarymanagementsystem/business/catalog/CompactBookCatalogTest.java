@@ -0,0 +1,96 @@
+package com.librarymanagementsystem.business.catalog;
+
+import com.librarymanagementsystem.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactBookCatalogTest {
+
+    private CompactBookCatalog catalog;
+
+    @BeforeEach
+    public void init() {
+        catalog = new CompactBookCatalog();
+        catalog.put(new Book(3L, "Isaac Asimov", "Foundation", 15.99, null, 0L));
+        catalog.put(new Book(1L, "Frank Herbert", "Dune", 19.99, "Desert planet Arrakis", 2L));
+        catalog.put(new Book(2L, "Stanisław Lem", "Solaris", 12.5, "", 1L));
+    }
+
+    @Test
+    void testGet() {
+        assertEquals(new Book(1L, "Frank Herbert", "Dune", 19.99, "Desert planet Arrakis", 2L), catalog.get(1L));
+        assertEquals(new Book(2L, "Stanisław Lem", "Solaris", 12.5, "", 1L), catalog.get(2L));
+        assertNull(catalog.get(3L).getDescription());
+        assertNull(catalog.get(4L));
+    }
+
+    @Test
+    void testPutReplacesAndPutIfNotOlderKeepsNewer() {
+        catalog.put(new Book(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 3L));
+        catalog.putIfNotOlder(new Book(1L, "Frank Herbert", "Dune", 19.99, null, 2L));
+
+        assertEquals("Dune Messiah", catalog.get(1L).getTitle());
+        assertEquals(3, catalog.size());
+    }
+
+    @Test
+    void testRemove() {
+        assertTrue(catalog.remove(1L));
+        assertFalse(catalog.remove(1L));
+
+        assertNull(catalog.get(1L));
+        assertEquals(Arrays.asList(2L, 3L), ids(catalog.toList()));
+    }
+
+    @Test
+    void testPutIfNotOlderRefusesRemovedUntilClear() {
+        catalog.remove(1L);
+        catalog.putIfNotOlder(new Book(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 3L));
+        assertNull(catalog.get(1L));
+
+        catalog.clear();
+        catalog.putIfNotOlder(new Book(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 3L));
+        assertEquals("Dune Messiah", catalog.get(1L).getTitle());
+    }
+
+    @Test
+    void testPageInIdOrder() {
+        assertEquals(Arrays.asList(1L, 2L), ids(catalog.page(0L, 2)));
+        assertEquals(Arrays.asList(3L), ids(catalog.page(2L, 2)));
+        assertTrue(catalog.page(3L, 2).isEmpty());
+    }
+
+    @Test
+    void testGrowsAndReusesSpace() {
+        int rows = 50_000;
+        for (long id = 4; id <= rows; id++) {
+            catalog.put(new Book(id, "Author Name", "Book Title " + id, 10.0, "Description for Book " + id, 0L));
+        }
+        for (long id = 4; id <= rows; id += 2) {
+            catalog.remove(id);
+            catalog.put(new Book(id + 1, "Author Name", "Book Title " + id, 11.0, null, 1L));
+        }
+
+        List<Book> forEach = new ArrayList<>();
+        catalog.forEach(forEach::add);
+        assertEquals(catalog.size(), forEach.size());
+        assertEquals(catalog.toList(), forEach);
+        assertNull(catalog.get(4L));
+        assertEquals("Book Title 4", catalog.get(5L).getTitle());
+    }
+
+    private static List<Long> ids(List<Book> books) {
+        List<Long> ids = new ArrayList<>();
+        books.forEach(book -> ids.add(book.getId()));
+        return ids;
+    }
+}
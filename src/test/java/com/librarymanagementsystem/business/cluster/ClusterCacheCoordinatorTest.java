@@ -0,0 +1,164 @@
+package com.librarymanagementsystem.business.cluster;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.config.CacheConfig;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookChange;
+import com.librarymanagementsystem.model.BookChangePage;
+import com.librarymanagementsystem.model.BookChangeType;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ClusterCacheCoordinatorTest {
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private jakarta.persistence.Cache secondLevelCache;
+
+    @Mock
+    private BookSearchService bookSearchService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ApplicationEventPublisher otherEventPublisher;
+
+    private final CatalogVersion catalogVersion = new CatalogVersion();
+
+    private ClusterCacheCoordinator node;
+    private ClusterCacheCoordinator otherNode;
+
+    private Book book;
+
+    @BeforeEach
+    public void init() {
+        LoopbackInvalidationBus bus = new LoopbackInvalidationBus(UUID.randomUUID().toString());
+        node = new ClusterCacheCoordinator(bus, "node-1", cacheManager, entityManagerFactory, bookSearchService,
+                catalogVersion, eventPublisher);
+        otherNode = new ClusterCacheCoordinator(bus, "node-2", cacheManager, entityManagerFactory,
+                bookSearchService, new CatalogVersion(), otherEventPublisher);
+        node.start();
+        otherNode.start();
+        book = new Book(1L, "Author Name", "Book Title", 19.99, "Description for Book", 2L);
+    }
+
+    @Test
+    void testOnBookChange_InvalidatesOtherNodes() {
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(cache);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        String eTag = catalogVersion.getETag();
+
+        otherNode.onBookChange(BookChangeEvent.saved(book));
+
+        verify(cache).evict(1L);
+        verify(secondLevelCache).evict(BookDAO.class, 1L);
+        verify(bookSearchService).indexBook(book);
+        assertNotEquals(eTag, catalogVersion.getETag());
+        ArgumentCaptor<BookChangeEvent> republished = ArgumentCaptor.forClass(BookChangeEvent.class);
+        verify(eventPublisher).publishEvent(republished.capture());
+        assertTrue(republished.getValue().isRemote());
+        // the writer does not apply its own change a second time
+        verify(otherEventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testOnBookChange_DoesNotForwardRemoteChanges() {
+        otherNode.onBookChange(BookChangeEvent.removed(1L).asRemote());
+
+        verify(bookSearchService, never()).removeBook(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testApply_Reload() {
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(cache);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+
+        node.apply(new BookInvalidation(null, BookChangeEvent.reloaded()));
+
+        verify(cache).clear();
+        verify(secondLevelCache).evict(BookDAO.class);
+        verify(bookSearchService).rebuildIndex();
+    }
+
+    @Test
+    void testApply_StopsAfterUnsubscribe() {
+        node.stop();
+
+        otherNode.onBookChange(BookChangeEvent.removed(1L));
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testChangeFeedInvalidations_KeepOrderAroundReloads() {
+        BookChangePage page = new BookChangePage(Arrays.asList(
+                new BookChange(1, BookChangeType.SAVED, 1L, book, 0, "node-2"),
+                new BookChange(2, BookChangeType.RELOADED, null, null, 0, "node-2"),
+                new BookChange(3, BookChangeType.SAVED, 1L, book, 0, "node-2"),
+                new BookChange(4, BookChangeType.DELETED, 2L, null, 0, "node-2")), 4);
+
+        List<BookInvalidation> invalidations = ChangeFeedInvalidationBus.toInvalidations(page);
+
+        assertEquals(3, invalidations.size());
+        assertTrue(invalidations.get(0).getChange().isReloaded());
+        assertEquals(Arrays.asList(book), invalidations.get(1).getChange().getSaved());
+        assertEquals(Arrays.asList(2L), invalidations.get(2).getChange().getRemoved());
+    }
+
+    @Test
+    void testChangeFeedInvalidations_CarryTheWritingNode() {
+        BookChangePage page = new BookChangePage(Arrays.asList(
+                new BookChange(1, BookChangeType.SAVED, 1L, book, 0, "node-1"),
+                new BookChange(2, BookChangeType.DELETED, 2L, null, 0, "node-2"),
+                new BookChange(3, BookChangeType.DELETED, 3L, null, 0, "node-2")), 3);
+
+        List<BookInvalidation> invalidations = ChangeFeedInvalidationBus.toInvalidations(page);
+
+        assertEquals(2, invalidations.size());
+        assertEquals("node-1", invalidations.get(0).getOrigin());
+        assertEquals("node-2", invalidations.get(1).getOrigin());
+        assertEquals(Arrays.asList(2L, 3L), invalidations.get(1).getChange().getRemoved());
+    }
+
+    @Test
+    void testApply_SkipsOwnChanges() {
+        node.apply(new BookInvalidation("node-1", BookChangeEvent.removed(1L)));
+
+        verify(bookSearchService, never()).removeBook(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+}
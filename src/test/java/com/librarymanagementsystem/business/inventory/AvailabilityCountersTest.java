@@ -0,0 +1,131 @@
+package com.librarymanagementsystem.business.inventory;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityCountersTest {
+
+    private final Map<Long, Integer> table = new HashMap<>();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private AvailabilityCounters counters(Duration resyncInterval) {
+        return new AvailabilityCounters(bookId -> {
+            loads.incrementAndGet();
+            return table.get(bookId);
+        }, resyncInterval);
+    }
+
+    @Test
+    void testTryTake_StopsAtZero() {
+        table.put(1L, 2);
+        AvailabilityCounters counters = counters(Duration.ofHours(1));
+
+        assertEquals(AvailabilityCounters.Admission.ADMITTED, counters.tryTake(1L));
+        assertEquals(AvailabilityCounters.Admission.ADMITTED, counters.tryTake(1L));
+        assertEquals(AvailabilityCounters.Admission.EXHAUSTED, counters.tryTake(1L));
+        assertEquals(1, loads.get());
+
+        counters.release(1L);
+        assertEquals(AvailabilityCounters.Admission.ADMITTED, counters.tryTake(1L));
+    }
+
+    @Test
+    void testTryTake_NoInventory() {
+        AvailabilityCounters counters = counters(Duration.ofHours(1));
+
+        assertEquals(AvailabilityCounters.Admission.NO_INVENTORY, counters.tryTake(7L));
+        assertEquals(0, counters.size());
+    }
+
+    @Test
+    void testTryTake_ReloadsAnExhaustedCountAfterTheResyncInterval() {
+        table.put(1L, 1);
+        AvailabilityCounters counters = counters(Duration.ZERO);
+        assertEquals(AvailabilityCounters.Admission.ADMITTED, counters.tryTake(1L));
+
+        // a copy came back on another node
+        table.put(1L, 1);
+
+        assertEquals(AvailabilityCounters.Admission.ADMITTED, counters.tryTake(1L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testInvalidate_ReloadsOnNextTake() {
+        table.put(1L, 0);
+        AvailabilityCounters counters = counters(Duration.ofHours(1));
+        assertEquals(AvailabilityCounters.Admission.EXHAUSTED, counters.tryTake(1L));
+
+        table.put(1L, 3);
+        counters.invalidate(1L);
+
+        assertEquals(AvailabilityCounters.Admission.ADMITTED, counters.tryTake(1L));
+    }
+
+    @Test
+    void testTryTake_DoesNotLockTheMapWhileLoading() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AvailabilityCounters counters = new AvailabilityCounters(bookId -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return 1;
+        }, Duration.ofHours(1));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<AvailabilityCounters.Admission> take = executor.submit(() -> counters.tryTake(1L));
+            assertTrue(loading.await(10, TimeUnit.SECONDS));
+
+            // would wait for the load if it ran under the map's lock
+            executor.submit(() -> counters.invalidate(1L)).get(1, TimeUnit.SECONDS);
+
+            release.countDown();
+            assertEquals(AvailabilityCounters.Admission.ADMITTED, take.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTryTake_NeverAdmitsMoreThanAvailable() throws InterruptedException {
+        table.put(1L, 50);
+        AvailabilityCounters counters = counters(Duration.ofHours(1));
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (counters.tryTake(1L) == AvailabilityCounters.Admission.ADMITTED) {
+                    admitted.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(50, admitted.get());
+    }
+}
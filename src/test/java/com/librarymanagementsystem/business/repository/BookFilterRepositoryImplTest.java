@@ -0,0 +1,79 @@
+package com.librarymanagementsystem.business.repository;
+
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.repository.model.BookSummaryRow;
+import com.librarymanagementsystem.model.BookFilter;
+import com.librarymanagementsystem.model.BookSort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Keyset paging against the real database, across ties in the sort value.
+ */
+@SpringBootTest
+class BookFilterRepositoryImplTest {
+    private static final BookFilter FILTER = new BookFilter(null, null, "Keyset Author", null);
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private List<BookDAO> rows;
+
+    @BeforeEach
+    public void init() {
+        rows = bookRepository.saveAll(Arrays.asList(
+                new BookDAO(null, "Keyset Author", "Delta", 10.0, null),
+                new BookDAO(null, "Keyset Author", "Alpha", 20.0, null),
+                new BookDAO(null, "Keyset Author", "Charlie", 10.0, null),
+                new BookDAO(null, "Keyset Author", "Bravo", 10.0, null),
+                new BookDAO(null, "Keyset Author", "Alpha", 5.0, null)));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        // the database is shared with the other tests that start the application
+        bookRepository.deleteAll(rows);
+    }
+
+    @Test
+    void testFindSummaries_PagesThroughTiesInEveryOrder() {
+        Comparator<BookDAO> byPrice = Comparator.comparing(BookDAO::getPrice).thenComparing(BookDAO::getId);
+        Comparator<BookDAO> byTitle = Comparator.comparing(BookDAO::getTitle).thenComparing(BookDAO::getId);
+
+        assertEquals(ids(byPrice), pageThrough(BookSort.PRICE_ASC));
+        assertEquals(ids(byPrice.reversed()), pageThrough(BookSort.PRICE_DESC));
+        assertEquals(ids(byTitle), pageThrough(BookSort.TITLE_ASC));
+        assertEquals(ids(byTitle.reversed()), pageThrough(BookSort.TITLE_DESC));
+    }
+
+    private List<Long> ids(Comparator<BookDAO> order) {
+        return rows.stream().sorted(order).map(BookDAO::getId).collect(Collectors.toList());
+    }
+
+    private List<Long> pageThrough(BookSort sort) {
+        List<Long> ids = new ArrayList<>();
+        Object afterValue = null;
+        Long afterId = null;
+        while (true) {
+            List<BookSummaryRow> page = bookRepository.findSummaries(FILTER, sort, afterValue, afterId, 2);
+            if (page.isEmpty()) {
+                return ids;
+            }
+            page.forEach(row -> ids.add(row.getId()));
+            BookSummaryRow last = page.get(page.size() - 1);
+            afterValue = "price".equals(sort.getProperty()) ? last.getPrice() : last.getTitle();
+            afterId = last.getId();
+        }
+    }
+}
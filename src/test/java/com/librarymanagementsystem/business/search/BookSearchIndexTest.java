@@ -0,0 +1,112 @@
+package com.librarymanagementsystem.business.search;
+
+import com.librarymanagementsystem.model.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookSearchIndexTest {
+
+    private BookSearchIndex index;
+
+    @BeforeEach
+    public void init() {
+        index = new BookSearchIndex();
+        index.add(new Book(1L, "Frank Herbert", "Dune", 19.99, "Desert planet Arrakis"));
+        index.add(new Book(2L, "Brian Herbert", "Dune Messiah", 21.99, "Sequel to Dune"));
+        index.add(new Book(3L, "Isaac Asimov", "Foundation", 15.99, "Psychohistory and the fall of an empire"));
+    }
+
+    @Test
+    void testSearch_RanksByFieldWeightedFrequency() {
+        BookSearchIndex.Hits hits = index.search("dune", 0, 10);
+
+        assertEquals(2, hits.getTotal());
+        assertEquals(Arrays.asList(2L, 1L), hits.getIds());
+    }
+
+    @Test
+    void testSearch_AllTermsMustMatchAndLastIsPrefix() {
+        BookSearchIndex.Hits hits = index.search("HERBERT mess", 0, 10);
+
+        assertEquals(1, hits.getTotal());
+        assertEquals(Collections.singletonList(2L), hits.getIds());
+    }
+
+    @Test
+    void testSearch_Paging() {
+        BookSearchIndex.Hits hits = index.search("herbert", 1, 1);
+
+        assertEquals(2, hits.getTotal());
+        assertEquals(Collections.singletonList(2L), hits.getIds());
+    }
+
+    @Test
+    void testRemoveAndUpdate() {
+        index.remove(1L);
+        index.add(new Book(3L, "Isaac Asimov", "Foundation and Empire", 15.99, null));
+
+        assertEquals(Collections.singletonList(2L), index.search("dune", 0, 10).getIds());
+        assertTrue(index.search("psychohistory", 0, 10).getIds().isEmpty());
+        assertEquals(Collections.singletonList(3L), index.search("empire", 0, 10).getIds());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testSearch_PrefixKeepsBestCompletion() {
+        index.add(new Book(4L, "Frank Herbert", "Dunes and Desert", 9.99, null));
+
+        BookSearchIndex.Hits hits = index.search("dun", 0, 10);
+
+        assertEquals(3, hits.getTotal());
+        assertEquals(3, hits.getIds().size());
+        assertTrue(hits.getIds().containsAll(Arrays.asList(1L, 2L, 4L)));
+    }
+
+    @Test
+    void testSearch_SingleCommonTermSkipsBlocks() {
+        for (long id = 10; id < 1010; id++) {
+            index.add(id % 7 == 0 ? new Book(id, "Author", "Common " + id, 9.99, null)
+                    : new Book(id, "Author", "Title " + id, 9.99, "common"));
+        }
+        index.remove(14L);
+
+        BookSearchIndex.Hits hits = index.search("common", 0, 5);
+
+        assertEquals(999, hits.getTotal());
+        assertEquals(Arrays.asList(21L, 28L, 35L, 42L, 49L), hits.getIds());
+        assertEquals(Arrays.asList(1001L, 1008L, 10L, 11L), index.search("common", 140, 4).getIds());
+    }
+
+    @Test
+    void testAdd_IgnoresOlderVersion() {
+        index.add(new Book(5L, "Leo Tolstoy", "War and Peace", 9.99, null, 2L));
+        index.add(new Book(5L, "Leo Tolstoy", "Anna Karenina", 9.99, null, 1L));
+
+        assertEquals(Collections.singletonList(5L), index.search("peace", 0, 10).getIds());
+        assertTrue(index.search("karenina", 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void testRepeatedUpdates_RenumberDocuments() {
+        for (int i = 0; i < 5 * BookSearchIndex.MIN_COMPACTION; i++) {
+            index.add(new Book(1L, "Frank Herbert", "Dune " + i, 19.99, "Desert planet Arrakis"));
+        }
+
+        assertEquals(3, index.size());
+        assertEquals(Arrays.asList(2L, 1L), index.search("dune", 0, 10).getIds());
+        assertEquals(Collections.singletonList(1L), index.search("dune 5119", 0, 10).getIds());
+        assertTrue(index.search("dune 17", 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void testTokenize() {
+        assertEquals(Arrays.asList("war", "peace", "1869"), BookSearchIndex.tokenize("War & Peace (1869)"));
+        assertTrue(index.search("  ", 0, 10).getIds().isEmpty());
+    }
+}
@@ -0,0 +1,244 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
+import com.librarymanagementsystem.business.repository.BookChangeRepository;
+import com.librarymanagementsystem.business.repository.model.BookChangeDAO;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookChangePage;
+import com.librarymanagementsystem.model.BookChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookChangeFeedServiceImplTest {
+
+    @Mock
+    private BookChangeRepository bookChangeRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    private BookChangeFeedServiceImpl bookChangeFeedService;
+
+    @BeforeEach
+    public void init() {
+        bookChangeFeedService = new BookChangeFeedServiceImpl(bookChangeRepository, bookMapper,
+                new BookMetrics(new SimpleMeterRegistry()), Duration.ofSeconds(5), Duration.ofDays(7));
+        // without the dispatcher thread, subscriptions are only served when a test calls dispatch()
+        bookChangeFeedService.stop();
+    }
+
+    @Test
+    void testGetChanges_MapsSavedAndDeleted() {
+        long now = System.currentTimeMillis();
+        BookChangeDAO saved = change(1L, BookChangeType.SAVED, now);
+        BookChangeDAO deleted = change(2L, BookChangeType.DELETED, now);
+        when(bookChangeRepository.findBySeqGreaterThanOrderBySeqAsc(0L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(saved, deleted));
+        when(bookMapper.changeToBook(saved)).thenReturn(new Book(5L, "Author Name", "Book Title", 19.99, null));
+
+        BookChangePage page = bookChangeFeedService.getChanges(0L, 10);
+
+        assertEquals(2, page.getChanges().size());
+        assertEquals(2L, page.getLastSeq());
+        assertEquals("Book Title", page.getChanges().get(0).getBook().getTitle());
+        assertNull(page.getChanges().get(1).getBook());
+    }
+
+    @Test
+    void testGetChanges_StopsAtRecentGap() {
+        long now = System.currentTimeMillis();
+        when(bookChangeRepository.findBySeqGreaterThanOrderBySeqAsc(3L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(change(4L, BookChangeType.DELETED, now),
+                        change(6L, BookChangeType.DELETED, now)));
+
+        BookChangePage page = bookChangeFeedService.getChanges(3L, 10);
+
+        assertEquals(1, page.getChanges().size());
+        assertEquals(4L, page.getLastSeq());
+    }
+
+    @Test
+    void testGetChanges_WaitsForATransactionHeldOpenLongerThanTheSettleTime() {
+        // seq 5 was taken a minute ago by a transaction that is still open, 4 and 6 committed long since
+        long longAgo = System.currentTimeMillis() - Duration.ofMinutes(1).toMillis();
+        when(bookChangeRepository.findBySeqGreaterThanOrderBySeqAsc(3L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(change(4L, BookChangeType.DELETED, longAgo),
+                        change(6L, BookChangeType.DELETED, longAgo)))
+                .thenReturn(Arrays.asList(change(4L, BookChangeType.DELETED, longAgo),
+                        change(5L, BookChangeType.DELETED, longAgo),
+                        change(6L, BookChangeType.DELETED, longAgo)));
+
+        BookChangePage beforeCommit = bookChangeFeedService.getChanges(3L, 10);
+        BookChangePage afterCommit = bookChangeFeedService.getChanges(3L, 10);
+
+        assertEquals(4L, beforeCommit.getLastSeq());
+        assertEquals(3, afterCommit.getChanges().size());
+        assertEquals(6L, afterCommit.getLastSeq());
+    }
+
+    @Test
+    void testGetChanges_PassesGapOnceSeenForTheSettleTime() throws InterruptedException {
+        bookChangeFeedService = new BookChangeFeedServiceImpl(bookChangeRepository, bookMapper,
+                new BookMetrics(new SimpleMeterRegistry()), Duration.ofMillis(100), Duration.ofDays(7));
+        bookChangeFeedService.stop();
+        long now = System.currentTimeMillis();
+        when(bookChangeRepository.findBySeqGreaterThanOrderBySeqAsc(3L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(change(4L, BookChangeType.DELETED, now),
+                        change(6L, BookChangeType.DELETED, now)));
+
+        assertEquals(4L, bookChangeFeedService.getChanges(3L, 10).getLastSeq());
+        Thread.sleep(150);
+        BookChangePage page = bookChangeFeedService.getChanges(3L, 10);
+
+        assertEquals(2, page.getChanges().size());
+        assertEquals(6L, page.getLastSeq());
+    }
+
+    @Test
+    void testGetChanges_InvalidLimit() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bookChangeFeedService.getChanges(0L, BookChangeFeedServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testGetChanges_BehindPurge() {
+        when(bookChangeRepository.findMaxSeq()).thenReturn(20L);
+        when(bookChangeRepository.findMaxSeqChangedBefore(anyLong())).thenReturn(12L);
+
+        bookChangeFeedService.purge();
+
+        verify(bookChangeRepository).deleteThrough(12L);
+        assertThrows(IllegalStateException.class, () -> bookChangeFeedService.getChanges(11L, 10));
+    }
+
+    @Test
+    void testPurge_KeepsNewestChange() {
+        when(bookChangeRepository.findMaxSeq()).thenReturn(20L);
+        when(bookChangeRepository.findMaxSeqChangedBefore(anyLong())).thenReturn(20L);
+
+        bookChangeFeedService.purge();
+
+        verify(bookChangeRepository).deleteThrough(19L);
+    }
+
+    @Test
+    void testSubscribe_DeliversUntilListenerStops() {
+        long now = System.currentTimeMillis();
+        when(bookChangeRepository.findMaxSeq()).thenReturn(2L);
+        when(bookChangeRepository.findBySeqGreaterThanOrderBySeqAsc(0L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(change(1L, BookChangeType.DELETED, now),
+                        change(2L, BookChangeType.DELETED, now)));
+        List<BookChangePage> received = new ArrayList<>();
+        bookChangeFeedService.subscribe(0L, 10, page -> {
+            received.add(page);
+            return false;
+        });
+
+        bookChangeFeedService.dispatch();
+        bookChangeFeedService.dispatch();
+
+        assertEquals(1, received.size());
+        assertEquals(2L, received.get(0).getLastSeq());
+    }
+
+    @Test
+    void testSubscribe_CancelledSubscriptionIsNotServed() {
+        Runnable cancel = bookChangeFeedService.subscribe(0L, 10, page -> true);
+        cancel.run();
+
+        bookChangeFeedService.dispatch();
+
+        verify(bookChangeRepository, never()).findBySeqGreaterThanOrderBySeqAsc(anyLong(), any());
+    }
+
+    @Test
+    void testSubscribe_RetriesFailedPageWithBackoff() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        when(bookChangeRepository.findMaxSeq()).thenReturn(1L);
+        when(bookChangeRepository.findBySeqGreaterThanOrderBySeqAsc(0L, PageRequest.of(0, 10)))
+                .thenThrow(new QueryTimeoutException("Timeout"))
+                .thenReturn(Arrays.asList(change(1L, BookChangeType.DELETED, now)));
+        List<BookChangePage> received = new ArrayList<>();
+        bookChangeFeedService.subscribe(0L, 10, received::add);
+
+        bookChangeFeedService.dispatch();
+        // still backing off
+        bookChangeFeedService.dispatch();
+        Thread.sleep(BookChangeFeedServiceImpl.retryBackoffMillis(1));
+        bookChangeFeedService.dispatch();
+
+        verify(bookChangeRepository, times(2)).findBySeqGreaterThanOrderBySeqAsc(0L, PageRequest.of(0, 10));
+        assertEquals(1, received.size());
+        assertEquals(1L, received.get(0).getLastSeq());
+    }
+
+    @Test
+    void testRetryBackoff_DoublesUpToMaximum() {
+        assertEquals(1000, BookChangeFeedServiceImpl.retryBackoffMillis(1));
+        assertEquals(4000, BookChangeFeedServiceImpl.retryBackoffMillis(3));
+        assertEquals(BookChangeFeedServiceImpl.MAX_RETRY_BACKOFF_MILLIS,
+                BookChangeFeedServiceImpl.retryBackoffMillis(100));
+    }
+
+    @Test
+    void testSubscribe_ResyncsFromHeadWhenBehindPurge() {
+        List<BookChangePage> received = new ArrayList<>();
+        AtomicInteger resyncs = new AtomicInteger();
+        bookChangeFeedService.subscribe(5L, 10, received::add, resyncs::incrementAndGet);
+        when(bookChangeRepository.findMaxSeq()).thenReturn(20L);
+        when(bookChangeRepository.findMaxSeqChangedBefore(anyLong())).thenReturn(12L);
+        bookChangeFeedService.purge();
+
+        bookChangeFeedService.dispatch();
+        when(bookChangeRepository.findMaxSeq()).thenReturn(21L);
+        when(bookChangeRepository.findBySeqGreaterThanOrderBySeqAsc(20L, PageRequest.of(0, 10)))
+                .thenReturn(Arrays.asList(change(21L, BookChangeType.DELETED, System.currentTimeMillis())));
+        bookChangeFeedService.dispatch();
+
+        assertEquals(1, resyncs.get());
+        assertEquals(1, received.size());
+        assertEquals(21L, received.get(0).getLastSeq());
+        verify(bookChangeRepository, never()).findBySeqGreaterThanOrderBySeqAsc(5L, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void testSubscribe_WithoutResyncIsDroppedBehindPurge() {
+        bookChangeFeedService.subscribe(5L, 10, page -> true);
+        when(bookChangeRepository.findMaxSeq()).thenReturn(20L);
+        when(bookChangeRepository.findMaxSeqChangedBefore(anyLong())).thenReturn(12L);
+        bookChangeFeedService.purge();
+
+        bookChangeFeedService.dispatch();
+        bookChangeFeedService.dispatch();
+
+        verify(bookChangeRepository, never()).findBySeqGreaterThanOrderBySeqAsc(anyLong(), any());
+    }
+
+    private static BookChangeDAO change(long seq, BookChangeType type, long changedAt) {
+        return new BookChangeDAO(seq, type, 5L, null, null, null, null, null, changedAt, "node-1");
+    }
+}
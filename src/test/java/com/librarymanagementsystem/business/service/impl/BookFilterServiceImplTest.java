@@ -0,0 +1,104 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookSummaryRow;
+import com.librarymanagementsystem.model.BookFacets;
+import com.librarymanagementsystem.model.BookFilter;
+import com.librarymanagementsystem.model.BookFilterPage;
+import com.librarymanagementsystem.model.BookSort;
+import com.librarymanagementsystem.model.BookSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookFilterServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    @InjectMocks
+    private BookFilterServiceImpl bookFilterService;
+
+    private final BookFilter filter = new BookFilter(10.0, 30.0, null, "Auth");
+
+    @Test
+    void testFilterBooks_HasNextPage() {
+        BookSummaryRow first = new BookSummaryRow(4L, "Author Name", "Book Title 4", 12.5);
+        BookSummaryRow second = new BookSummaryRow(2L, "Author Name", "Book Title 2", 14.0);
+        when(bookRepository.findSummaries(filter, BookSort.PRICE_ASC, null, null, 2))
+                .thenReturn(Arrays.asList(first, second));
+        when(bookMapper.rowToSummary(first)).thenReturn(new BookSummary(4L, "Author Name", "Book Title 4", 12.5));
+
+        BookFilterPage page = bookFilterService.filterBooks(filter, BookSort.PRICE_ASC, null, 1);
+
+        assertEquals(1, page.getBooks().size());
+        assertArrayEquals(new String[]{"12.5", "4"},
+                BookFilterServiceImpl.decodeToken(page.getNextToken(), BookSort.PRICE_ASC));
+    }
+
+    @Test
+    void testFilterBooks_ContinuesAfterKey() {
+        String token = BookFilterServiceImpl.encodeToken(BookSort.TITLE_DESC, "Book | Title", 7L);
+        when(bookRepository.findSummaries(filter, BookSort.TITLE_DESC, "Book | Title", 7L, 11))
+                .thenReturn(Collections.<BookSummaryRow>emptyList());
+
+        BookFilterPage page = bookFilterService.filterBooks(filter, BookSort.TITLE_DESC, token, 10);
+
+        assertEquals(0, page.getBooks().size());
+        assertNull(page.getNextToken());
+    }
+
+    @Test
+    void testFilterBooks_TokenOfAnotherSort() {
+        String token = BookFilterServiceImpl.encodeToken(BookSort.PRICE_ASC, 12.5, 4L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> bookFilterService.filterBooks(filter, BookSort.TITLE_ASC, token, 10));
+    }
+
+    @Test
+    void testFilterBooks_InvalidFilter() {
+        assertThrows(IllegalArgumentException.class, () -> bookFilterService.filterBooks(
+                new BookFilter(30.0, 10.0, null, null), BookSort.PRICE_ASC, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> bookFilterService.filterBooks(
+                new BookFilter(null, null, "Author Name", "Auth"), BookSort.PRICE_ASC, null, 10));
+    }
+
+    @Test
+    void testGetFacets() {
+        Map<String, Long> authors = new LinkedHashMap<>();
+        authors.put("Author Name", 3L);
+        Map<Double, Long> prices = new LinkedHashMap<>();
+        prices.put(10.0, 2L);
+        prices.put(20.0, 1L);
+        when(bookRepository.countByAuthor(filter, BookFilterServiceImpl.TOP_AUTHORS)).thenReturn(authors);
+        when(bookRepository.countByPriceBucket(eq(filter), eq(10.0), anyInt())).thenReturn(prices);
+
+        BookFacets facets = bookFilterService.getFacets(filter, 10.0);
+
+        assertEquals("Author Name", facets.getAuthors().get(0).getValue());
+        assertEquals(3L, facets.getAuthors().get(0).getCount());
+        assertEquals("10", facets.getPrices().get(0).getValue());
+        assertEquals("20", facets.getPrices().get(1).getValue());
+    }
+}
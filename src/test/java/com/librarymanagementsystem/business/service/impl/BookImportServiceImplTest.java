@@ -0,0 +1,135 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeRecorder;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookImportResult;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookImportServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private BookSearchService bookSearchService;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookChangeRecorder changeRecorder;
+
+    private BookImportServiceImpl bookImportService;
+
+    private Book book;
+
+    @BeforeEach
+    public void init() {
+        bookImportService = new BookImportServiceImpl(bookRepository, bookMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, entityManager,
+                cacheManager, bookSearchService, catalogVersion, eventPublisher, changeRecorder, 2);
+        book = new Book(null, "Author Name", "Book Title", 19.99, "Description for Book");
+    }
+
+    @Test
+    void testImportBooks_CommitsEveryInterval() {
+        when(bookMapper.bookToDAO(any(Book.class)))
+                .thenReturn(new BookDAO(null, "Author Name", "Book Title", 19.99, "Description for Book"));
+
+        BookImportResult result = bookImportService.importBooks(Arrays.asList(book, book, book).iterator());
+
+        assertEquals(3, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertTrue(result.getErrors().isEmpty());
+        verify(bookRepository, times(2)).saveAll(anyList());
+        verify(changeRecorder, times(2)).recordSaved(anyList());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void testImportBooks_ReportsInvalidRows() {
+        Book missingTitle = new Book(null, "Author Name", null, 19.99, null);
+        when(bookMapper.bookToDAO(book))
+                .thenReturn(new BookDAO(null, "Author Name", "Book Title", 19.99, "Description for Book"));
+
+        BookImportResult result = bookImportService.importBooks(Arrays.asList(book, missingTitle).iterator());
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+        assertEquals("title: Title cannot be null", result.getErrors().get(0).getMessage());
+    }
+
+    @Test
+    void testImportBooks_StopsOnUnreadableRow() {
+        List<Book> rows = Arrays.asList(book, book);
+        Iterator<Book> delegate = rows.iterator();
+        Iterator<Book> failing = new Iterator<Book>() {
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                if (read == 1) {
+                    throw new IllegalStateException("Unexpected character");
+                }
+                return delegate.hasNext();
+            }
+
+            @Override
+            public Book next() {
+                read++;
+                return delegate.next();
+            }
+        };
+        when(bookMapper.bookToDAO(book))
+                .thenReturn(new BookDAO(null, "Author Name", "Book Title", 19.99, "Description for Book"));
+
+        BookImportResult result = bookImportService.importBooks(failing);
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getRow());
+    }
+}
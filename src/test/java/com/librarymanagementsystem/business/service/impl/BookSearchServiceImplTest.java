@@ -0,0 +1,97 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.model.Book;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSearchServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookSearchServiceImpl bookSearchService;
+
+    @BeforeEach
+    public void init() {
+        bookSearchService = new BookSearchServiceImpl(bookRepository, bookMapper,
+                new BookMetrics(new SimpleMeterRegistry()), entityManager, transactionManager);
+        when(bookMapper.daoToBook(any(BookDAO.class))).thenAnswer(invocation -> {
+            BookDAO dao = invocation.getArgument(0);
+            return new Book(dao.getId(), dao.getAuthor(), dao.getTitle(), dao.getPrice(), dao.getDescription(),
+                    dao.getVersion());
+        });
+    }
+
+    @Test
+    void testRebuildIndex_ReplaysWritesMadeDuringTheBuild() {
+        BookDAO dune = new BookDAO(1L, "Frank Herbert", "Dune", 19.99, "Desert planet", 1L);
+        BookDAO foundation = new BookDAO(2L, "Isaac Asimov", "Foundation", 15.99, "Psychohistory", 1L);
+        when(bookRepository.streamAllOrderById()).thenReturn(Stream.of(dune, foundation).peek(row -> {
+            if (row == foundation) {
+                // Dune has been read and Foundation is being read as an update and a delete commit
+                bookSearchService.indexBook(new Book(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 2L));
+                bookSearchService.removeBook(2L);
+            }
+        }));
+        when(bookRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return ids.iterator().hasNext() ? Collections.singletonList(
+                    new BookDAO(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 2L)) : Collections.emptyList();
+        });
+
+        bookSearchService.rebuildIndex();
+
+        assertEquals(1, bookSearchService.search("messiah", 0, 10).getTotalHits());
+        assertEquals(0, bookSearchService.search("desert", 0, 10).getTotalHits());
+        assertEquals(0, bookSearchService.search("foundation", 0, 10).getTotalHits());
+    }
+
+    @Test
+    void testRebuildIndex_KeepsServingTheOldIndexUntilTheSwap() {
+        bookSearchService.indexBook(new Book(3L, "Leo Tolstoy", "War and Peace", 9.99, null, 1L));
+        when(bookRepository.streamAllOrderById()).thenReturn(Stream.of(
+                new BookDAO(3L, "Leo Tolstoy", "War and Peace", 9.99, null, 1L),
+                new BookDAO(4L, "Leo Tolstoy", "Anna Karenina", 9.99, null, 1L)).filter(row -> {
+                    // mid-build, searches still see the complete previous index
+                    assertEquals(1, bookSearchService.search("peace", 0, 10).getTotalHits());
+                    return true;
+                }));
+        when(bookRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(
+                new BookDAO(3L, "Leo Tolstoy", "War and Peace", 9.99, null, 1L),
+                new BookDAO(4L, "Leo Tolstoy", "Anna Karenina", 9.99, null, 1L)));
+
+        bookSearchService.rebuildIndex();
+
+        assertEquals(2, bookSearchService.search("tolstoy", 0, 10).getTotalHits());
+        assertEquals(2, bookSearchService.search("tolstoy", 0, 10).getBooks().size());
+    }
+}
@@ -0,0 +1,121 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookCacheWrites;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.service.BookService;
+import com.librarymanagementsystem.config.CacheConfig;
+import com.librarymanagementsystem.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.cache.CacheManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * The Book cache around findBookById, against the real cache configuration and database.
+ */
+@SpringBootTest(properties = "library.cache.books.negative-ttl=500ms")
+class BookServiceCacheTest {
+    private static final long NEGATIVE_TTL_MILLIS = 500;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @SpyBean
+    private BookRepository bookRepository;
+
+    private Book book;
+
+    @BeforeEach
+    public void init() {
+        book = bookService.saveBook(new Book(null, "Author Name", "Book Title", 19.99, "Description for Book"));
+        cacheManager.getCache(CacheConfig.BOOKS_CACHE).clear();
+        clearInvocations(bookRepository);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        // the database is shared with the other tests that start the application
+        if (bookService.findBookById(book.getId()).isPresent()) {
+            bookService.deleteBookById(book.getId());
+        }
+    }
+
+    @Test
+    void testFindBookById_SecondReadIsServedFromTheCache() {
+        assertEquals("Book Title", bookService.findBookById(book.getId()).get().getTitle());
+        assertEquals("Book Title", bookService.findBookById(book.getId()).get().getTitle());
+
+        verify(bookRepository, times(1)).findById(book.getId());
+    }
+
+    @Test
+    void testFindBookById_MissIsCachedForTheNegativeTtl() throws InterruptedException {
+        long missingId = book.getId() + 1_000_000;
+        assertFalse(bookService.findBookById(missingId).isPresent());
+        assertFalse(bookService.findBookById(missingId).isPresent());
+        verify(bookRepository, times(1)).findById(missingId);
+
+        Thread.sleep(NEGATIVE_TTL_MILLIS + 100);
+
+        assertFalse(bookService.findBookById(missingId).isPresent());
+        verify(bookRepository, times(2)).findById(missingId);
+    }
+
+    @Test
+    void testSaveBook_ReplacesTheCachedEntry() {
+        bookService.findBookById(book.getId());
+
+        bookService.saveBook(new Book(book.getId(), "Author Name", "Saved Title", 19.99, null, book.getVersion()));
+
+        assertEquals("Saved Title", bookService.findBookById(book.getId()).get().getTitle());
+        verify(bookRepository, times(1)).findById(book.getId());
+    }
+
+    @Test
+    void testUpdateBook_ReplacesTheCachedEntry() {
+        Book cached = bookService.findBookById(book.getId()).get();
+
+        bookService.updateBook(book.getId(), cached.getVersion(),
+                new Book(null, "Author Name", "Updated Title", 24.99, null), false);
+
+        assertEquals("Updated Title", bookService.findBookById(book.getId()).get().getTitle());
+    }
+
+    @Test
+    void testDeleteBookById_CachesTheIdAsMissing() {
+        assertTrue(bookService.findBookById(book.getId()).isPresent());
+
+        bookService.deleteBookById(book.getId());
+
+        Optional<Book> deleted = bookService.findBookById(book.getId());
+        assertFalse(deleted.isPresent());
+        verify(bookRepository, times(1)).findById(book.getId());
+    }
+
+    @Test
+    void testUpdateBook_AfterAConcurrentDeleteDoesNotCacheTheBook() {
+        Book cached = bookService.findBookById(book.getId()).get();
+        Book updated = new Book(book.getId(), "Author Name", "Updated Title", 24.99, null, cached.getVersion() + 1);
+
+        // the delete's cache write lands before that of an update that committed just ahead of it
+        bookService.deleteBookById(book.getId());
+        BookCacheWrites.putWritten(cacheManager.getCache(CacheConfig.BOOKS_CACHE), updated);
+
+        assertFalse(bookService.findBookById(book.getId()).isPresent());
+    }
+}
@@ -1,18 +1,35 @@
 package com.librarymanagementsystem.business.service.impl;
 
+import com.librarymanagementsystem.business.catalog.BookChangeRecorder;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
 import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
 import com.librarymanagementsystem.business.repository.BookRepository;
 import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
 import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookBatch;
+import com.librarymanagementsystem.model.BookPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
 
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -20,9 +37,12 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -36,43 +56,109 @@ class BookServiceImplTest {
     @Mock
     private BookMapper bookMapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private BookSearchService bookSearchService;
+
+    @Spy
+    private BookMetrics bookMetrics = new BookMetrics(new SimpleMeterRegistry());
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookChangeRecorder changeRecorder;
+
     @InjectMocks
     private BookServiceImpl bookService;
 
     private Book book;
     private BookDAO bookDAO;
-    private List<BookDAO> bookDAOList;
+    private List<Book> bookList;
 
     @BeforeEach
     public void init() {
         book = new Book(1L, "Author Name", "Book Title", 19.99, "Description for Book");
         bookDAO = new BookDAO(1L, "Author Name", "Book Title", 19.99, "Description for Book");
-        bookDAOList =createBookDAOList(bookDAO);
+        bookList = Arrays.asList(book, new Book(2L, "Author Name", "Second Title", 9.99, null));
     }
 
     @Test
     void testGetAllBooks() {
-        when(bookRepository.findAll()).thenReturn(bookDAOList);
-        when(bookMapper.daoToBook(bookDAO)).thenReturn(book);
+        when(bookRepository.findAllBooks()).thenReturn(bookList);
 
-        List<Book> bookList = bookService.getAllBooks();
+        List<Book> result = bookService.getAllBooks();
 
-        verify(bookRepository, times(1)).findAll();
-        verify(bookMapper, times(bookDAOList.size())).daoToBook(any(BookDAO.class));
-        assertEquals(bookDAOList.size(), bookList.size());
-        assertEquals(book.getId(), bookList.get(0).getId());
+        verify(bookRepository, times(1)).findAllBooks();
+        verify(bookMapper, never()).daoToBook(any(BookDAO.class));
+        verify(bookMetrics, times(1)).recordListRows(bookList.size());
+        assertEquals(bookList, result);
     }
 
     @Test
     void testGetAllBooks_ListEmpty() {
-        when(bookRepository.findAll()).thenReturn(Collections.emptyList());
+        when(bookRepository.findAllBooks()).thenReturn(Collections.emptyList());
 
         List<Book> result = bookService.getAllBooks();
 
-        verify(bookRepository, times(1)).findAll();
+        verify(bookRepository, times(1)).findAllBooks();
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void testGetBookPage_HasNextPage() {
+        when(bookRepository.findBookPage(0L, PageRequest.of(0, 2))).thenReturn(bookList);
+
+        BookPage page = bookService.getBookPage(null, 1);
+
+        assertEquals(1, page.getBooks().size());
+        assertEquals(book.getId(), BookServiceImpl.decodeToken(page.getNextToken()));
+    }
+
+    @Test
+    void testGetBookPage_LastPage() {
+        String token = BookServiceImpl.encodeToken(1L);
+        when(bookRepository.findBookPage(1L, PageRequest.of(0, 11))).thenReturn(Collections.singletonList(book));
+
+        BookPage page = bookService.getBookPage(token, 10);
+
+        assertEquals(1, page.getBooks().size());
+        assertNull(page.getNextToken());
+    }
+
+    @Test
+    void testGetBookPage_InvalidRequest() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBookPage("not-a-token", 10));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBookPage(null, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> bookService.getBookPage(null, BookServiceImpl.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    void testStreamAllBooks() {
+        when(bookRepository.streamAllBooks()).thenReturn(bookList.stream());
+        List<Book> streamed = new ArrayList<>();
+
+        bookService.streamAllBooks(streamed::add);
+
+        assertEquals(bookList, streamed);
+        verify(bookMapper, never()).daoToBook(any(BookDAO.class));
+    }
+
     @Test
     void testFindBookById_Found() {
         when(bookRepository.findById(1L)).thenReturn(Optional.of(bookDAO));
@@ -96,6 +182,48 @@ class BookServiceImplTest {
         verify(bookRepository, times(1)).findById(anyLong());
     }
 
+    @Test
+    void testFindBookById_CacheHitIsTimedAsCacheLookup() {
+        ConcurrentMapCache cache = new ConcurrentMapCache("books");
+        when(cacheManager.getCache("books")).thenReturn(cache);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(bookDAO));
+        when(bookMapper.daoToBook(bookDAO)).thenReturn(book);
+
+        assertEquals(book, bookService.findBookById(1L).get());
+        assertEquals(book, bookService.findBookById(1L).get());
+
+        verify(bookRepository, times(1)).findById(1L);
+        verify(bookMetrics, times(1)).recordCacheHit(anyLong());
+        verify(bookMetrics, times(1)).timeMapping(any());
+    }
+
+    @Test
+    void testFindBooksByIds() {
+        ConcurrentMapCache cache = new ConcurrentMapCache("books");
+        Book cachedBook = new Book(5L, "Author Name", "Cached Title", 9.99, null);
+        cache.put(5L, cachedBook);
+        cache.put(6L, null);
+        when(cacheManager.getCache("books")).thenReturn(cache);
+        when(bookRepository.findBooksByIdIn(Arrays.asList(1L, 99L))).thenReturn(Collections.singletonList(book));
+
+        BookBatch batch = bookService.findBooksByIds(Arrays.asList(5L, 1L, 6L, 1L, 99L));
+
+        assertEquals(Arrays.asList(cachedBook, book), batch.getBooks());
+        assertEquals(Arrays.asList(6L, 99L), batch.getMissingIds());
+        verify(bookRepository, times(1)).findBooksByIdIn(any());
+        assertEquals(book, cache.get(1L).get());
+        assertNull(cache.get(99L).get());
+    }
+
+    @Test
+    void testFindBooksByIds_TooMany() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 0; id <= BookServiceImpl.MAX_BATCH_IDS; id++) {
+            ids.add(id);
+        }
+        assertThrows(IllegalArgumentException.class, () -> bookService.findBooksByIds(ids));
+    }
+
     @Test
     void testSaveBook() {
         when(bookMapper.bookToDAO(book)).thenReturn(bookDAO);
@@ -107,24 +235,98 @@ class BookServiceImplTest {
         verify(bookRepository, times(1)).save(bookDAO);
         verify(bookMapper, times(1)).bookToDAO(book);
         verify(bookMapper,times(1)).daoToBook(bookDAO);
+        verify(changeRecorder, times(1)).recordSaved(bookDAO);
+        verify(bookSearchService, times(1)).indexBook(book);
+        verify(catalogVersion, times(1)).bump();
         assertNotNull(savedBook);
         assertEquals(book.getTitle(), savedBook.getTitle());
     }
 
+    @Test
+    void testUpdateBook() {
+        bookDAO.setVersion(3L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(bookDAO));
+        when(bookRepository.saveAndFlush(bookDAO)).thenReturn(bookDAO);
+        when(bookMapper.daoToBook(bookDAO)).thenReturn(book);
+
+        Optional<Book> updated = bookService.updateBook(1L, 3L, book, false);
+
+        assertTrue(updated.isPresent());
+        verify(bookMapper).replaceDAO(book, bookDAO);
+        verify(bookMapper, never()).patchDAO(any(Book.class), any(BookDAO.class));
+        verify(changeRecorder).recordSaved(bookDAO);
+        verify(bookSearchService).indexBook(book);
+        verify(catalogVersion).bump();
+    }
+
+    @Test
+    void testUpdateBook_Partial() {
+        bookDAO.setVersion(3L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(bookDAO));
+        when(bookRepository.saveAndFlush(bookDAO)).thenReturn(bookDAO);
+        when(bookMapper.daoToBook(bookDAO)).thenReturn(book);
+
+        bookService.updateBook(1L, 3L, book, true);
+
+        verify(bookMapper).patchDAO(book, bookDAO);
+        verify(bookMapper, never()).replaceDAO(any(Book.class), any(BookDAO.class));
+    }
+
+    @Test
+    void testUpdateBook_StaleVersion() {
+        bookDAO.setVersion(4L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(bookDAO));
+
+        assertThrows(OptimisticLockingFailureException.class, () -> bookService.updateBook(1L, 3L, book, false));
+
+        verify(bookRepository, never()).saveAndFlush(any(BookDAO.class));
+        verify(catalogVersion, never()).bump();
+    }
+
+    @Test
+    void testUpdateBook_AnyVersion() {
+        bookDAO.setVersion(7L);
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(bookDAO));
+        when(bookRepository.saveAndFlush(bookDAO)).thenReturn(bookDAO);
+        when(bookMapper.daoToBook(bookDAO)).thenReturn(book);
+
+        Optional<Book> updated = bookService.updateBook(1L, null, book, false);
+
+        assertTrue(updated.isPresent());
+        verify(bookRepository).saveAndFlush(bookDAO);
+    }
+
+    @Test
+    void testUpdateBook_NotFound() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+
+        Optional<Book> updated = bookService.updateBook(1L, 3L, book, false);
+
+        assertFalse(updated.isPresent());
+        verify(catalogVersion, never()).bump();
+    }
+
     @Test
     void testDeleteBookById() {
         Long bookId = book.getId();
+        when(bookRepository.existsById(bookId)).thenReturn(true);
 
         bookService.deleteBookById(bookId);
 
         verify(bookRepository).deleteById(bookId);
+        verify(changeRecorder).recordDeleted(bookId);
+        verify(bookSearchService).removeBook(bookId);
+        verify(catalogVersion).bump();
     }
 
-private List<BookDAO> createBookDAOList(BookDAO bookDAO) {
-    List<BookDAO> list = new ArrayList<>();
-    list.add(bookDAO);
-    list.add(bookDAO);
-    return list;
+    @Test
+    void testDeleteBookById_NotFoundRecordsNothing() {
+        Long bookId = book.getId();
+        when(bookRepository.existsById(bookId)).thenReturn(false);
+
+        bookService.deleteBookById(bookId);
+
+        verify(bookRepository, never()).deleteById(bookId);
+        verify(changeRecorder, never()).recordDeleted(anyLong());
     }
 }
-
@@ -0,0 +1,85 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookService;
+import com.librarymanagementsystem.business.service.BookSnapshotService;
+import com.librarymanagementsystem.business.snapshot.BookSnapshotWriter;
+import com.librarymanagementsystem.model.Book;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Snapshot restore against the real database and Hibernate's id generator.
+ */
+@SpringBootTest
+class BookSnapshotRestoreTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookSnapshotService bookSnapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> savedIds = new ArrayList<>();
+
+    @AfterEach
+    public void cleanUp() {
+        // the database is shared with the other tests that start the application
+        savedIds.forEach(id -> {
+            if (bookService.findBookById(id).isPresent()) {
+                bookService.deleteBookById(id);
+            }
+        });
+    }
+
+    @Test
+    void testSaveDeleteRestoreSave_RestoreIsRefusedAndTheNextIdIsFree() throws IOException {
+        Book deleted = save();
+        bookService.deleteBookById(deleted.getId());
+        // the generator still holds the ids after this one, a restored row could take the next of them
+        ReadableByteChannel snapshot = snapshot(new BookDAO(deleted.getId() + 1, "Frank Herbert", "Dune",
+                19.99, null, 0L));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> bookSnapshotService.restoreSnapshot(snapshot));
+        assertTrue(e.getMessage().contains("book_seq"));
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book", Long.class));
+
+        Book saved = save();
+        assertNotEquals(deleted.getId(), saved.getId());
+        assertTrue(bookService.findBookById(saved.getId()).isPresent());
+    }
+
+    private Book save() {
+        Book book = bookService.saveBook(new Book(null, "Author Name", "Book Title", 19.99, "Description for Book"));
+        savedIds.add(book.getId());
+        return book;
+    }
+
+    private static ReadableByteChannel snapshot(BookDAO book) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BookSnapshotWriter writer = new BookSnapshotWriter(Channels.newChannel(out), true)) {
+            writer.write(book);
+        }
+        return Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
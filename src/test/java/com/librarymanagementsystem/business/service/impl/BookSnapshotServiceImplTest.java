@@ -0,0 +1,186 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.catalog.BookChangeRecorder;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.business.snapshot.BookSnapshotWriter;
+import com.librarymanagementsystem.config.CacheConfig;
+import com.librarymanagementsystem.model.BookSnapshotResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookSnapshotServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private jakarta.persistence.Cache secondLevelCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private BookSearchService bookSearchService;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookChangeRecorder changeRecorder;
+
+    private BookSnapshotServiceImpl bookSnapshotService;
+
+    @BeforeEach
+    public void init() {
+        bookSnapshotService = new BookSnapshotServiceImpl(bookRepository, jdbcTemplate, entityManager,
+                transactionManager, cacheManager, bookSearchService, catalogVersion, eventPublisher, changeRecorder,
+                2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRestoreSnapshot_InsertsRowsAndRestartsTheSequence() throws IOException {
+        List<BookDAO> books = Arrays.asList(
+                new BookDAO(3L, "Isaac Asimov", "Foundation", 15.99, null, 0L),
+                new BookDAO(12L, "Frank Herbert", "Dune", 19.99, "Desert planet", 2L),
+                new BookDAO(57L, "Stanisław Lem", "Solaris", 12.5, "", 1L));
+        stubEmptyCatalog(57L);
+        List<Long> inserted = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(eq(BookSnapshotServiceImpl.INSERT_BOOK), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+                    Collection<BookDAO> chunk = invocation.getArgument(1);
+                    chunk.forEach(bookDAO -> inserted.add(bookDAO.getId()));
+                    return new int[0][];
+                });
+
+        BookSnapshotResult result = bookSnapshotService.restoreSnapshot(snapshot(books));
+
+        assertEquals(3, result.getRows());
+        assertEquals(Arrays.asList(3L, 12L, 57L), inserted);
+        // Hibernate hands out the increment's worth of ids below the next value, all above 57
+        verify(jdbcTemplate).execute("ALTER SEQUENCE book_seq RESTART WITH "
+                + (57 + BookSnapshotServiceImpl.SEQUENCE_INCREMENT));
+    }
+
+    @Test
+    void testRestoreSnapshot_ClearsCachesAndRebuildsTheIndex() throws IOException {
+        stubEmptyCatalog(1L);
+
+        bookSnapshotService.restoreSnapshot(snapshot(Arrays.asList(
+                new BookDAO(1L, "Frank Herbert", "Dune", 19.99, null, 0L))));
+
+        verify(cache).clear();
+        verify(secondLevelCache).evict(BookDAO.class);
+        verify(changeRecorder).recordReloaded();
+        InOrder order = inOrder(bookSearchService, catalogVersion, eventPublisher);
+        order.verify(bookSearchService).rebuildIndex();
+        order.verify(catalogVersion).bump();
+        ArgumentCaptor<BookChangeEvent> event = ArgumentCaptor.forClass(BookChangeEvent.class);
+        order.verify(eventPublisher).publishEvent(event.capture());
+        assertTrue(event.getValue().isReloaded());
+    }
+
+    @Test
+    void testRestoreSnapshot_RejectedWhenTheCatalogIsNotEmpty() throws IOException {
+        when(bookRepository.count()).thenReturn(1L);
+        ReadableByteChannel snapshot = snapshot(Arrays.asList(
+                new BookDAO(1L, "Frank Herbert", "Dune", 19.99, null, 0L)));
+
+        assertThrows(IllegalStateException.class, () -> bookSnapshotService.restoreSnapshot(snapshot));
+
+        verifyNoInteractions(jdbcTemplate, cacheManager, bookSearchService, changeRecorder);
+        verify(catalogVersion, never()).bump();
+    }
+
+    @Test
+    void testRestoreSnapshot_RejectedOnceBookSeqHasBeenUsed() throws IOException {
+        when(bookRepository.count()).thenReturn(0L);
+        when(jdbcTemplate.queryForObject(BookSnapshotServiceImpl.BOOK_SEQ_USED, Boolean.class)).thenReturn(true);
+        ReadableByteChannel snapshot = snapshot(Arrays.asList(
+                new BookDAO(1L, "Frank Herbert", "Dune", 19.99, null, 0L)));
+
+        assertThrows(IllegalStateException.class, () -> bookSnapshotService.restoreSnapshot(snapshot));
+
+        verify(jdbcTemplate, never()).execute(anyString());
+        verifyNoInteractions(cacheManager, bookSearchService, changeRecorder);
+    }
+
+    private void stubEmptyCatalog(long maxId) {
+        when(bookRepository.count()).thenReturn(0L);
+        when(jdbcTemplate.queryForObject(BookSnapshotServiceImpl.BOOK_SEQ_USED, Boolean.class)).thenReturn(false);
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(maxId);
+        when(cacheManager.getCache(CacheConfig.BOOKS_CACHE)).thenReturn(cache);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+    }
+
+    private static ReadableByteChannel snapshot(List<BookDAO> books) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BookSnapshotWriter writer = new BookSnapshotWriter(Channels.newChannel(out), true)) {
+            for (BookDAO book : books) {
+                writer.write(book);
+            }
+        }
+        return Channels.newChannel(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
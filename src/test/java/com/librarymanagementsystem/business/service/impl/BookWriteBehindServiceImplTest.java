@@ -0,0 +1,137 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeRecorder;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
+import com.librarymanagementsystem.business.mappers.BookMapper;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.business.service.BookSearchService;
+import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookWriteState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookWriteBehindServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookMapper bookMapper;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private BookSearchService bookSearchService;
+
+    @Mock
+    private CatalogVersion catalogVersion;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookChangeRecorder changeRecorder;
+
+    private BookWriteBehindServiceImpl bookWriteBehindService;
+
+    private final Book first = new Book(null, "Author Name", "Book Title 1", 19.99, null);
+    private final Book second = new Book(null, "Author Name", "Book Title 2", 29.99, null);
+
+    @BeforeEach
+    public void init() {
+        // the writer thread is not started, tests commit groups themselves
+        bookWriteBehindService = new BookWriteBehindServiceImpl(bookRepository, bookMapper,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, cacheManager,
+                bookSearchService, catalogVersion, eventPublisher, changeRecorder, new SimpleMeterRegistry(),
+                10, 100, Duration.ofMillis(10), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testCommit_OneTransactionForTheGroup() throws Exception {
+        BookDAO firstDAO = new BookDAO(1L, "Author Name", "Book Title 1", 19.99, null);
+        BookDAO secondDAO = new BookDAO(2L, "Author Name", "Book Title 2", 29.99, null);
+        when(bookMapper.bookToDAO(first)).thenReturn(firstDAO);
+        when(bookMapper.bookToDAO(second)).thenReturn(secondDAO);
+        when(bookRepository.saveAll(anyList())).thenReturn(Arrays.asList(firstDAO, secondDAO));
+        when(bookMapper.daoToBook(firstDAO)).thenReturn(new Book(1L, "Author Name", "Book Title 1", 19.99, null));
+        when(bookMapper.daoToBook(secondDAO)).thenReturn(new Book(2L, "Author Name", "Book Title 2", 29.99, null));
+        BookWriteBehindServiceImpl.PendingWrite firstWrite = new BookWriteBehindServiceImpl.PendingWrite("a", first);
+        BookWriteBehindServiceImpl.PendingWrite secondWrite = new BookWriteBehindServiceImpl.PendingWrite("b", second);
+
+        bookWriteBehindService.commit(Arrays.asList(firstWrite, secondWrite));
+
+        verify(bookRepository, times(1)).saveAll(anyList());
+        verify(changeRecorder, times(1)).recordSaved(anyList());
+        verify(catalogVersion, times(1)).bump();
+        assertEquals(2L, secondWrite.committed.get().getId());
+        assertEquals(BookWriteState.COMMITTED, bookWriteBehindService.getStatus("a").get().getState());
+    }
+
+    @Test
+    void testCommit_FailedGroupIsRetriedOneByOne() {
+        BookDAO firstDAO = new BookDAO(null, "Author Name", "Book Title 1", 19.99, null);
+        BookDAO secondDAO = new BookDAO(null, "Author Name", "Book Title 2", 29.99, null);
+        when(bookMapper.bookToDAO(first)).thenReturn(firstDAO);
+        when(bookMapper.bookToDAO(second)).thenReturn(secondDAO);
+        when(bookRepository.saveAll(anyList()))
+                .thenThrow(new DataIntegrityViolationException("value too long"))
+                .thenReturn(Collections.singletonList(firstDAO))
+                .thenThrow(new DataIntegrityViolationException("value too long"));
+        when(bookMapper.daoToBook(firstDAO)).thenReturn(first);
+        BookWriteBehindServiceImpl.PendingWrite firstWrite = new BookWriteBehindServiceImpl.PendingWrite("a", first);
+        BookWriteBehindServiceImpl.PendingWrite secondWrite = new BookWriteBehindServiceImpl.PendingWrite("b", second);
+        List<BookWriteBehindServiceImpl.PendingWrite> batch = Arrays.asList(firstWrite, secondWrite);
+
+        bookWriteBehindService.commit(batch);
+
+        verify(bookRepository, times(3)).saveAll(anyList());
+        assertTrue(firstWrite.committed.isDone());
+        assertThrows(ExecutionException.class, () -> secondWrite.committed.get());
+        assertEquals(BookWriteState.FAILED, bookWriteBehindService.getStatus("b").get().getState());
+    }
+
+    @Test
+    void testSubmit_RejectsInvalidBook() {
+        Book missingTitle = new Book(null, "Author Name", null, 19.99, null);
+
+        assertThrows(ConstraintViolationException.class, () -> bookWriteBehindService.submit(missingTitle));
+    }
+
+    @Test
+    void testSubmit_RejectedWhenNotRunning() {
+        assertThrows(RejectedExecutionException.class, () -> bookWriteBehindService.submit(first));
+        verify(bookRepository, never()).saveAll(anyList());
+    }
+}
@@ -0,0 +1,72 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.metrics.BookMetrics;
+import com.librarymanagementsystem.business.service.BookService;
+import com.librarymanagementsystem.model.Book;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+@ExtendWith(MockitoExtension.class)
+class CompactCatalogBookServiceTest {
+
+    @Mock
+    private BookService jpaBookService;
+
+    private CompactCatalogBookService compactCatalogBookService;
+
+    @BeforeEach
+    public void init() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        compactCatalogBookService = new CompactCatalogBookService(jpaBookService, new BookMetrics(registry), registry);
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(new Book(1L, "Frank Herbert", "Dune", 19.99, null, 1L));
+            return null;
+        }).when(jpaBookService).streamAllBooks(any());
+        compactCatalogBookService.load();
+    }
+
+    @Test
+    void testOnBookChange_SavedReplacesOlderVersion() {
+        compactCatalogBookService.onBookChange(BookChangeEvent.saved(
+                new Book(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 2L)));
+
+        assertEquals("Dune Messiah", compactCatalogBookService.findBookById(1L).get().getTitle());
+    }
+
+    @Test
+    void testOnBookChange_LateEventDoesNotOverwriteNewerVersion() {
+        compactCatalogBookService.onBookChange(BookChangeEvent.saved(
+                new Book(1L, "Frank Herbert", "Children of Dune", 23.99, null, 3L)));
+        compactCatalogBookService.onBookChange(BookChangeEvent.saved(
+                new Book(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 2L)).asRemote());
+
+        assertEquals("Children of Dune", compactCatalogBookService.findBookById(1L).get().getTitle());
+        assertEquals(3L, compactCatalogBookService.findBookById(1L).get().getVersion());
+    }
+
+    @Test
+    void testOnBookChange_LateSaveDoesNotBringBackARemovedBook() {
+        // the update to version 2 committed before the delete, but its event arrives after the delete's
+        compactCatalogBookService.onBookChange(BookChangeEvent.removed(1L));
+        compactCatalogBookService.onBookChange(BookChangeEvent.saved(
+                new Book(1L, "Frank Herbert", "Dune Messiah", 21.99, null, 2L)).asRemote());
+
+        assertFalse(compactCatalogBookService.findBookById(1L).isPresent());
+        assertTrue(compactCatalogBookService.getAllBooks().isEmpty());
+        assertTrue(compactCatalogBookService.getBookPage(null, 10).getBooks().isEmpty());
+    }
+}
@@ -0,0 +1,198 @@
+package com.librarymanagementsystem.business.service.impl;
+
+import com.librarymanagementsystem.business.catalog.BookChangeEvent;
+import com.librarymanagementsystem.business.repository.BookInventoryRepository;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.LoanRepository;
+import com.librarymanagementsystem.business.repository.model.BookInventoryDAO;
+import com.librarymanagementsystem.business.repository.model.LoanDAO;
+import com.librarymanagementsystem.model.BookInventory;
+import com.librarymanagementsystem.model.Loan;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LoanServiceImplTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookInventoryRepository inventoryRepository;
+
+    @Mock
+    private LoanRepository loanRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private LoanServiceImpl loanService;
+
+    @BeforeEach
+    public void init() {
+        loanService = new LoanServiceImpl(bookRepository, inventoryRepository, loanRepository, transactionManager,
+                new SimpleMeterRegistry(), Duration.ofHours(1));
+    }
+
+    @Test
+    void testCheckout() {
+        when(inventoryRepository.findAvailable(1L)).thenReturn(2);
+        when(inventoryRepository.takeCopy(1L)).thenReturn(1);
+        when(loanRepository.save(any(LoanDAO.class))).thenAnswer(LoanServiceImplTest::savedLoan);
+
+        Optional<Loan> loan = loanService.checkout(1L, "reader-42");
+
+        assertTrue(loan.isPresent());
+        assertEquals(10L, loan.get().getId());
+        assertEquals("reader-42", loan.get().getBorrower());
+    }
+
+    @Test
+    void testCheckout_ExhaustedCountSkipsTheDatabase() {
+        when(inventoryRepository.findAvailable(1L)).thenReturn(1);
+        when(inventoryRepository.takeCopy(1L)).thenReturn(1);
+        when(loanRepository.save(any(LoanDAO.class))).thenAnswer(LoanServiceImplTest::savedLoan);
+        loanService.checkout(1L, "reader-1");
+
+        assertThrows(IllegalStateException.class, () -> loanService.checkout(1L, "reader-2"));
+
+        verify(inventoryRepository, times(1)).takeCopy(1L);
+        verify(inventoryRepository, times(1)).findAvailable(1L);
+    }
+
+    @Test
+    void testCheckout_DatabaseRefusesAStaleCount() {
+        when(inventoryRepository.findAvailable(1L)).thenReturn(1, 0);
+        when(inventoryRepository.takeCopy(1L)).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> loanService.checkout(1L, "reader-1"));
+        // the count is reloaded rather than handed the copy back
+        assertThrows(IllegalStateException.class, () -> loanService.checkout(1L, "reader-2"));
+
+        verify(loanRepository, never()).save(any(LoanDAO.class));
+        verify(inventoryRepository, times(1)).takeCopy(1L);
+        verify(inventoryRepository, times(2)).findAvailable(1L);
+    }
+
+    @Test
+    void testCheckout_FailedTransactionReleasesTheCopy() {
+        when(inventoryRepository.findAvailable(1L)).thenReturn(1);
+        when(inventoryRepository.takeCopy(1L)).thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(1);
+        when(loanRepository.save(any(LoanDAO.class))).thenAnswer(LoanServiceImplTest::savedLoan);
+
+        assertThrows(IllegalStateException.class, () -> loanService.checkout(1L, "reader-1"));
+
+        assertTrue(loanService.checkout(1L, "reader-1").isPresent());
+    }
+
+    @Test
+    void testCheckout_NoInventory() {
+        when(inventoryRepository.findAvailable(99L)).thenReturn(null);
+
+        assertFalse(loanService.checkout(99L, "reader-42").isPresent());
+
+        verify(inventoryRepository, never()).takeCopy(anyLong());
+    }
+
+    @Test
+    void testCheckout_InvalidBorrower() {
+        assertThrows(IllegalArgumentException.class, () -> loanService.checkout(1L, " "));
+        assertThrows(IllegalArgumentException.class,
+                () -> loanService.checkout(1L, new String(new char[LoanServiceImpl.MAX_BORROWER_LENGTH + 1])
+                        .replace('\0', 'a')));
+    }
+
+    @Test
+    void testReturnLoan() {
+        when(loanRepository.findById(10L)).thenReturn(Optional.of(new LoanDAO(10L, 1L, "reader-42", 1000L, null)));
+        when(loanRepository.markReturned(anyLong(), anyLong())).thenReturn(1);
+
+        Optional<Loan> loan = loanService.returnLoan(10L);
+
+        assertTrue(loan.isPresent());
+        assertNotNull(loan.get().getReturnedAt());
+        verify(inventoryRepository, times(1)).returnCopy(1L);
+    }
+
+    @Test
+    void testReturnLoan_AlreadyReturned() {
+        when(loanRepository.findById(10L)).thenReturn(Optional.of(new LoanDAO(10L, 1L, "reader-42", 1000L, 2000L)));
+        when(loanRepository.markReturned(anyLong(), anyLong())).thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> loanService.returnLoan(10L));
+
+        verify(inventoryRepository, never()).returnCopy(anyLong());
+    }
+
+    @Test
+    void testSetCopies_FirstCopies() {
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(inventoryRepository.resize(1L, 3)).thenReturn(0);
+        when(inventoryRepository.existsById(1L)).thenReturn(false);
+        when(inventoryRepository.findById(1L)).thenReturn(Optional.of(new BookInventoryDAO(1L, 3, 3)));
+
+        Optional<BookInventory> inventory = loanService.setCopies(1L, 3);
+
+        assertEquals(new BookInventory(1L, 3, 3), inventory.get());
+        verify(inventoryRepository, times(1)).saveAndFlush(new BookInventoryDAO(1L, 3, 3));
+    }
+
+    @Test
+    void testSetCopies_BelowCopiesOnLoan() {
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(inventoryRepository.resize(1L, 1)).thenReturn(0);
+        when(inventoryRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> loanService.setCopies(1L, 1));
+
+        verify(inventoryRepository, never()).saveAndFlush(any(BookInventoryDAO.class));
+    }
+
+    @Test
+    void testSetCopies_BookNotFound() {
+        when(bookRepository.existsById(99L)).thenReturn(false);
+
+        assertFalse(loanService.setCopies(99L, 3).isPresent());
+        assertThrows(IllegalArgumentException.class, () -> loanService.setCopies(1L, -1));
+    }
+
+    @Test
+    void testOnBookChange_DropsTheCountOfARemovedBook() {
+        when(inventoryRepository.findAvailable(1L)).thenReturn(0, 2);
+
+        assertThrows(IllegalStateException.class, () -> loanService.checkout(1L, "reader-1"));
+        loanService.onBookChange(BookChangeEvent.removed(1L));
+
+        when(inventoryRepository.takeCopy(1L)).thenReturn(1);
+        when(loanRepository.save(any(LoanDAO.class))).thenAnswer(LoanServiceImplTest::savedLoan);
+        assertTrue(loanService.checkout(1L, "reader-1").isPresent());
+    }
+
+    private static LoanDAO savedLoan(InvocationOnMock invocation) {
+        LoanDAO loanDAO = invocation.getArgument(0);
+        loanDAO.setId(10L);
+        return loanDAO;
+    }
+}
@@ -0,0 +1,96 @@
+package com.librarymanagementsystem.business.snapshot;
+
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookSnapshotTest {
+
+    @Test
+    void testRoundTrip_Uncompressed() throws IOException {
+        List<BookDAO> books = books(BookSnapshotFormat.BLOCK_ROWS + 10);
+
+        assertEquals(books, read(write(books, false)));
+    }
+
+    @Test
+    void testRoundTrip_Compressed() throws IOException {
+        List<BookDAO> books = books(BookSnapshotFormat.BLOCK_ROWS * 2);
+
+        byte[] compressed = write(books, true);
+
+        assertEquals(books, read(compressed));
+        assertTrue(compressed.length < write(books, false).length);
+    }
+
+    @Test
+    void testRoundTrip_NullDescriptionAndUnicode() throws IOException {
+        List<BookDAO> books = Arrays.asList(
+                new BookDAO(7L, "Stanisław Lem", "Solaris", 12.5, null, 3L),
+                new BookDAO(9L, "Author Name", "Book Title", 19.99, "", 0L));
+
+        assertEquals(books, read(write(books, true)));
+    }
+
+    @Test
+    void testRead_ChecksumMismatch() throws IOException {
+        byte[] snapshot = write(books(10), false);
+        snapshot[BookSnapshotFormat.HEADER_BYTES + BookSnapshotFormat.BLOCK_HEADER_BYTES + 3] ^= 1;
+
+        assertThrows(IllegalArgumentException.class, () -> read(snapshot));
+    }
+
+    @Test
+    void testRead_Truncated() throws IOException {
+        byte[] snapshot = write(books(10), true);
+
+        assertThrows(IllegalArgumentException.class, () -> read(Arrays.copyOf(snapshot, snapshot.length - 4)));
+    }
+
+    @Test
+    void testRead_NotASnapshot() {
+        assertThrows(IllegalArgumentException.class, () -> read("[{\"id\":1}]".getBytes()));
+    }
+
+    private static List<BookDAO> books(int rows) {
+        List<BookDAO> books = new ArrayList<>(rows);
+        for (int i = 1; i <= rows; i++) {
+            books.add(new BookDAO((long) i, "Author Name " + (i % 100), "Book Title " + i, 10 + i / 100.0,
+                    "Description for Book " + i, (long) (i % 3)));
+        }
+        return books;
+    }
+
+    private static byte[] write(List<BookDAO> books, boolean compress) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BookSnapshotWriter writer = new BookSnapshotWriter(Channels.newChannel(out), compress)) {
+            for (BookDAO book : books) {
+                writer.write(book);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private static List<BookDAO> read(byte[] snapshot) throws IOException {
+        List<BookDAO> books = new ArrayList<>();
+        try (BookSnapshotReader reader = new BookSnapshotReader(Channels.newChannel(new ByteArrayInputStream(snapshot)))) {
+            List<BookDAO> block = reader.readBlock();
+            while (!block.isEmpty()) {
+                books.addAll(block);
+                block = reader.readBlock();
+            }
+        }
+        return books;
+    }
+}
@@ -0,0 +1,59 @@
+package com.librarymanagementsystem.load;
+
+import com.librarymanagementsystem.business.catalog.CompactBookCatalog;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import com.librarymanagementsystem.model.Book;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Heap taken by one million books held the JPA way, as BookDAO entities plus their mapped
+ * Book objects, against the same books in a {@link CompactBookCatalog}.
+ */
+@Tag("load")
+class CatalogFootprintLoadTest {
+    private static final int ROWS = 1_000_000;
+
+    @Test
+    void compareFootprints() throws Exception {
+        long baseline = usedHeap();
+        List<BookDAO> bookDAOs = new ArrayList<>(ROWS);
+        List<Book> books = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            BookDAO bookDAO = new BookDAO((long) i, "Author Name " + (i % 1000), "Book Title " + i,
+                    10 + (i % 9000) / 100.0, "Description for Book " + i, 0L);
+            bookDAOs.add(bookDAO);
+            books.add(new Book(bookDAO.getId(), bookDAO.getAuthor(), bookDAO.getTitle(), bookDAO.getPrice(),
+                    bookDAO.getDescription(), bookDAO.getVersion()));
+        }
+        long objectGraphBytes = usedHeap() - baseline;
+
+        CompactBookCatalog catalog = new CompactBookCatalog();
+        books.forEach(catalog::put);
+        bookDAOs = null;
+        books = null;
+        long catalogBytes = usedHeap() - baseline;
+
+        LoadTestApplication.writeReport("catalog-footprint.txt", Arrays.asList(
+                String.format("BookDAO + Book objects: %d MB for %d books, %d bytes/book",
+                        objectGraphBytes >> 20, ROWS, objectGraphBytes / ROWS),
+                String.format("compact catalog:        %d MB for %d books, %d bytes/book (%d MB by its own count)",
+                        catalogBytes >> 20, catalog.size(), catalogBytes / ROWS, catalog.footprintBytes() >> 20)));
+        assertTrue(catalogBytes * 2 < objectGraphBytes, "The compact catalog should take less than half the heap");
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
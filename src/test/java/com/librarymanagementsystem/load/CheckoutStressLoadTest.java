@@ -0,0 +1,160 @@
+package com.librarymanagementsystem.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hundreds of clients checking out the same popular title: a single burst must lend exactly
+ * the copies there are, and sustained checkout-and-return cycles must keep every copy
+ * accounted for while throughput grows with the number of clients.
+ */
+@Tag("load")
+class CheckoutStressLoadTest {
+    private static final int COPIES = 50;
+    private static final int BURST_CLIENTS = 500;
+    private static final int[] CLIENTS = {1, 16, 64, 256};
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void popularTitle() throws Exception {
+        try (LoadTestApplication application = LoadTestApplication.start()) {
+            long bookId = application.seed(1)[0];
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            String baseUrl = application.baseUrl();
+            JdbcTemplate jdbcTemplate = application.getBean(JdbcTemplate.class);
+            List<String> lines = new ArrayList<>();
+
+            setCopies(client, baseUrl, bookId);
+            int[] statuses = burst(client, baseUrl, bookId);
+            lines.add(String.format(Locale.ROOT, "burst of %d checkouts for %d copies: %d lent, %d refused, %d other",
+                    BURST_CLIENTS, COPIES, statuses[0], statuses[1], statuses[2]));
+            assertEquals(COPIES, statuses[0], "lent a different number of copies than there are");
+            assertEquals(0, statuses[2], "checkouts failed with something other than 409");
+            assertEquals(0, available(jdbcTemplate, bookId));
+            assertEquals(COPIES, openLoans(jdbcTemplate, bookId));
+            // put the burst's copies back on the shelf, Set copies reloads the in-memory count
+            jdbcTemplate.update("UPDATE loan SET returned_at = 0 WHERE book_id = ?", bookId);
+            jdbcTemplate.update("UPDATE book_inventory SET available = total WHERE book_id = ?", bookId);
+
+            LoadResult single = null;
+            LoadResult widest = null;
+            for (int clients : CLIENTS) {
+                setCopies(client, baseUrl, bookId);
+                AtomicLong refused = new AtomicLong();
+                LoadResult result = cycle(client, baseUrl, bookId, clients, refused);
+                lines.add(result + String.format(Locale.ROOT, " refused=%d", refused.get()));
+                assertEquals(0, result.getErrors(), result.getName() + " had failed requests");
+                assertEquals(COPIES, available(jdbcTemplate, bookId), "copies went missing with " + clients + " clients");
+                assertEquals(0, openLoans(jdbcTemplate, bookId));
+                single = single == null ? result : single;
+                widest = result;
+            }
+            MeterRegistry registry = application.getBean(MeterRegistry.class);
+            for (String outcome : new String[]{"loaned", "unavailable", "conflict"}) {
+                lines.add(String.format(Locale.ROOT, "checkouts %-12s %.0f", outcome,
+                        registry.get("library.loans.checkouts").tag("outcome", outcome).counter().count()));
+            }
+            LoadTestApplication.writeReport("checkout-stress.txt", lines);
+            assertTrue(widest.getThroughput() >= single.getThroughput(),
+                    "throughput dropped from " + single.getThroughput() + " to " + widest.getThroughput() + " req/s");
+        }
+    }
+
+    /**
+     * @return lent, refused and any other responses
+     */
+    private static int[] burst(HttpClient client, String baseUrl, long bookId) throws InterruptedException {
+        AtomicInteger lent = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        AtomicInteger other = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BURST_CLIENTS);
+        for (int i = 0; i < BURST_CLIENTS; i++) {
+            String borrower = "reader-" + i;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    int status = client.send(checkout(baseUrl, bookId, borrower),
+                            HttpResponse.BodyHandlers.discarding()).statusCode();
+                    (status == 201 ? lent : status == 409 ? refused : other).incrementAndGet();
+                } catch (Exception e) {
+                    other.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS), "the burst did not finish");
+        return new int[]{lent.get(), refused.get(), other.get()};
+    }
+
+    private LoadResult cycle(HttpClient client, String baseUrl, long bookId, int clients, AtomicLong refused)
+            throws InterruptedException {
+        AtomicLong borrowers = new AtomicLong();
+        return LoadDriver.run("checkout-return-" + clients, clients, WARMUP, MEASUREMENT, () -> {
+            HttpResponse<String> loan = client.send(checkout(baseUrl, bookId, "reader-" + borrowers.incrementAndGet()),
+                    HttpResponse.BodyHandlers.ofString());
+            if (loan.statusCode() == 409) {
+                // every copy is out, a served answer rather than a failure
+                refused.incrementAndGet();
+                return 200;
+            }
+            if (loan.statusCode() != 201) {
+                return loan.statusCode();
+            }
+            JsonNode body = objectMapper.readTree(loan.body());
+            HttpRequest returnLoan = HttpRequest.newBuilder(URI.create(baseUrl + "/return/" + body.get("id").asLong()))
+                    .POST(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            return client.send(returnLoan, HttpResponse.BodyHandlers.discarding()).statusCode();
+        });
+    }
+
+    private static void setCopies(HttpClient client, String baseUrl, long bookId) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/copies/" + bookId + "?total=" + COPIES))
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        assertEquals(200, client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+    }
+
+    private static HttpRequest checkout(String baseUrl, long bookId, String borrower) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/checkout/" + bookId + "?borrower=" + borrower))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static int available(JdbcTemplate jdbcTemplate, long bookId) {
+        return jdbcTemplate.queryForObject("SELECT available FROM book_inventory WHERE book_id = ?", Integer.class,
+                bookId);
+    }
+
+    private static int openLoans(JdbcTemplate jdbcTemplate, long bookId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM loan WHERE book_id = ? AND returned_at IS NULL",
+                Integer.class, bookId);
+    }
+}
@@ -0,0 +1,103 @@
+package com.librarymanagementsystem.load;
+
+import org.h2.tools.Server;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Starts 1, 2 and 4 nodes in this JVM on one H2 database served over TCP, kept coherent by the
+ * loopback invalidation bus, and spreads a read-mostly mix over them like a load balancer would.
+ * All nodes share this machine's cores, so the numbers show the overhead of the shared database
+ * and the bus rather than what separate hosts would add.
+ */
+@Tag("load")
+class ClusterScalingLoadTest {
+    private static final int ROWS = 20_000;
+    private static final int CLIENTS = 64;
+    private static final int[] NODES = {1, 2, 4};
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    void compareNodeCounts() throws Exception {
+        Server database = Server.createTcpServer("-tcpPort", "0", "-ifNotExists", "-tcpDaemon").start();
+        try {
+            List<LoadResult> results = new ArrayList<>();
+            for (int nodes : NODES) {
+                results.add(runCluster(nodes, database.getPort()));
+            }
+            List<String> lines = new ArrayList<>();
+            for (LoadResult result : results) {
+                lines.add(result.toString() + String.format(Locale.ROOT, " speedup=%.2f",
+                        result.getThroughput() / results.get(0).getThroughput()));
+            }
+            LoadTestApplication.writeReport("cluster-scaling.txt", lines);
+            for (LoadResult result : results) {
+                assertEquals(0, result.getErrors(), result.getName() + " had failed requests");
+            }
+        } finally {
+            database.stop();
+        }
+    }
+
+    private static LoadResult runCluster(int nodes, int databasePort) throws Exception {
+        String name = "nodes-" + nodes;
+        List<LoadTestApplication> applications = new ArrayList<>();
+        try {
+            long[] ids = null;
+            // one at a time, the first node migrates the schema before the others connect
+            for (int i = 0; i < nodes; i++) {
+                applications.add(LoadTestApplication.start("spring.profiles.active=cluster",
+                        "library.cluster.database-port=" + databasePort,
+                        "library.cluster.database-name=" + name,
+                        "library.cluster.invalidation=loopback",
+                        "library.cluster.channel=" + name,
+                        "library.cluster.node-id=" + name + "-" + i));
+                if (ids == null) {
+                    ids = applications.get(0).seed(ROWS);
+                }
+            }
+            long[] seeded = ids;
+            List<String> baseUrls = new ArrayList<>();
+            for (LoadTestApplication application : applications) {
+                baseUrls.add(application.baseUrl());
+            }
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            AtomicLong sequence = new AtomicLong();
+            return LoadDriver.run(name, CLIENTS, WARMUP, MEASUREMENT, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                String baseUrl = baseUrls.get(random.nextInt(baseUrls.size()));
+                HttpRequest request;
+                if (random.nextInt(10) > 0) {
+                    long id = seeded[random.nextInt(seeded.length)];
+                    request = HttpRequest.newBuilder(URI.create(baseUrl + "/getByID/" + id)).GET().build();
+                } else {
+                    long n = sequence.incrementAndGet();
+                    String body = "{\"author\":\"Author Name " + (n % 1000) + "\",\"title\":\"Book Title " + n
+                            + "\",\"price\":19.99}";
+                    request = HttpRequest.newBuilder(URI.create(baseUrl + "/saveBook"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+                }
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            });
+        } finally {
+            for (LoadTestApplication application : applications) {
+                application.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.librarymanagementsystem.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-model load driver: a fixed number of clients send requests back to back
+ * and every completed request's latency is recorded after a warm-up period.
+ */
+final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    /**
+     * @param request sends one request and returns its HTTP status
+     */
+    static LoadResult run(String name, int clients, Duration warmup, Duration measurement,
+                          Callable<Integer> request) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + measurement.toNanos();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+        for (int c = 0; c < clients; c++) {
+            final int client = c;
+            Thread thread = new Thread(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < stopAt) {
+                        int status;
+                        try {
+                            status = request.call();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        long end = System.nanoTime();
+                        if (now < measureFrom) {
+                            continue;
+                        }
+                        if (status < 200 || status >= 300) {
+                            errors.incrementAndGet();
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = end - now;
+                    }
+                } finally {
+                    latencies[client] = samples;
+                    counts[client] = count;
+                    done.countDown();
+                }
+            }, name + "-client-" + c);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new LoadResult(name, total, errors.get(), measurement, all);
+    }
+}
@@ -0,0 +1,44 @@
+package com.librarymanagementsystem.load;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Locale;
+
+@Getter
+class LoadResult {
+    private final String name;
+    private final long requests;
+    private final long errors;
+    private final double throughput;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+
+    LoadResult(String name, long requests, long errors, Duration measurement, long[] sortedLatencyNanos) {
+        this.name = name;
+        this.requests = requests;
+        this.errors = errors;
+        this.throughput = requests / (measurement.toNanos() / 1e9);
+        this.p50Millis = percentile(sortedLatencyNanos, 0.50);
+        this.p95Millis = percentile(sortedLatencyNanos, 0.95);
+        this.p99Millis = percentile(sortedLatencyNanos, 0.99);
+        this.maxMillis = sortedLatencyNanos.length == 0 ? 0 : sortedLatencyNanos[sortedLatencyNanos.length - 1] / 1e6;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%-24s requests=%d errors=%d throughput=%.1f req/s p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                name, requests, errors, throughput, p50Millis, p95Millis, p99Millis, maxMillis);
+    }
+}
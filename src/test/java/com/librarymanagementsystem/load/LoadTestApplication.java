@@ -0,0 +1,127 @@
+package com.librarymanagementsystem.load;
+
+import com.librarymanagementsystem.LibraryManagementSystemApplication;
+import com.librarymanagementsystem.business.repository.BookRepository;
+import com.librarymanagementsystem.business.repository.model.BookDAO;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Starts the application on a random port with its own in-memory database for a load test,
+ * unless a profile passed in the properties configures another one.
+ */
+final class LoadTestApplication implements AutoCloseable {
+    static final String BASE_PATH = "/api/v1/library/management/system";
+    static final Path REPORT_DIR = Paths.get("target", "load-test");
+    // profiles that bring their own database instead of a fresh in-memory one
+    private static final List<String> DATABASE_PROFILES = Arrays.asList("persistent", "cluster");
+
+    private final ConfigurableApplicationContext context;
+
+    private LoadTestApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * @param properties {@code key=value} pairs, passed as command-line arguments so they win over
+     *                   application.properties and profile files
+     */
+    static LoadTestApplication start(String... properties) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        arguments.put("server.port", "0");
+        // load tests measure the service itself, RateLimitLoadTest turns admission control back on
+        arguments.put("library.rate-limit.enabled", "false");
+        Map<String, String> overrides = new LinkedHashMap<>();
+        for (String property : properties) {
+            int separator = property.indexOf('=');
+            overrides.put(property.substring(0, separator), property.substring(separator + 1));
+        }
+        if (!configuresDatabase(overrides.get("spring.profiles.active"))) {
+            String database = "load-" + UUID.randomUUID();
+            arguments.put("spring.datasource.url", "jdbc:h2:mem:" + database);
+            arguments.put("spring.r2dbc.url", "r2dbc:h2:mem:///" + database);
+        }
+        arguments.putAll(overrides);
+        List<String> args = new ArrayList<>();
+        for (Map.Entry<String, String> argument : arguments.entrySet()) {
+            args.add("--" + argument.getKey() + "=" + argument.getValue());
+        }
+        return new LoadTestApplication(new SpringApplicationBuilder(LibraryManagementSystemApplication.class)
+                .properties("spring.main.banner-mode=off", "logging.level.root=WARN")
+                .run(args.toArray(new String[0])));
+    }
+
+    private static boolean configuresDatabase(String profiles) {
+        if (profiles == null) {
+            return false;
+        }
+        for (String profile : profiles.split(",")) {
+            if (DATABASE_PROFILES.contains(profile.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + BASE_PATH;
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Inserts {@code rows} synthetic books and returns their ids.
+     */
+    long[] seed(int rows) {
+        BookRepository repository = context.getBean(BookRepository.class);
+        long[] ids = new long[rows];
+        int next = 0;
+        List<BookDAO> chunk = new ArrayList<>(1000);
+        for (int i = 1; i <= rows; i++) {
+            chunk.add(new BookDAO(null, "Author Name " + (i % 1000), "Book Title " + i, 10 + (i % 9000) / 100.0,
+                    "Description for Book " + i));
+            if (chunk.size() == 1000 || i == rows) {
+                for (BookDAO saved : repository.saveAll(chunk)) {
+                    ids[next++] = saved.getId();
+                }
+                chunk.clear();
+            }
+        }
+        return ids;
+    }
+
+    static void report(String fileName, List<LoadResult> results) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (LoadResult result : results) {
+            lines.add(result.toString());
+        }
+        writeReport(fileName, lines);
+    }
+
+    static void writeReport(String fileName, List<String> lines) throws IOException {
+        Files.createDirectories(REPORT_DIR);
+        lines.forEach(System.out::println);
+        Files.write(REPORT_DIR.resolve(fileName), lines, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
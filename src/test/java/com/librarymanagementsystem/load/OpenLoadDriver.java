@@ -0,0 +1,134 @@
+package com.librarymanagementsystem.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-model load driver: every operation has its own arrival schedule, with exponentially
+ * distributed gaps at the profile's rate, and requests go out on schedule whether or not
+ * earlier ones have been answered. Response times are measured from the scheduled send time,
+ * so a stalled server shows up as latency instead of quietly lowering the request rate.
+ */
+final class OpenLoadDriver {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private OpenLoadDriver() {
+    }
+
+    /**
+     * @param operations builds the next request of each operation from that operation's own
+     *                   seeded random, so a profile sends the same requests on every run
+     */
+    static List<WorkloadResult> run(WorkloadProfile profile, HttpClient client,
+                                    Map<String, Function<Random, HttpRequest>> operations) throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + profile.getWarmup().toNanos();
+        long stopAt = measureFrom + profile.getDuration().toNanos();
+        AtomicInteger outstanding = new AtomicInteger();
+        List<Schedule> schedules = new ArrayList<>();
+        for (Map.Entry<String, Function<Random, HttpRequest>> operation : operations.entrySet()) {
+            if (profile.getRates().getOrDefault(operation.getKey(), 0.0) <= 0) {
+                continue;
+            }
+            Schedule schedule = new Schedule(operation.getKey(), operation.getValue(),
+                    new Random(profile.getSeed() * 31 + operation.getKey().hashCode()));
+            Thread thread = new Thread(() -> schedule.send(profile, client, outstanding, start, measureFrom, stopAt),
+                    "workload-" + operation.getKey());
+            thread.setDaemon(true);
+            schedule.thread = thread;
+            schedules.add(schedule);
+        }
+        schedules.forEach(schedule -> schedule.thread.start());
+        for (Schedule schedule : schedules) {
+            schedule.thread.join();
+        }
+        long drainBy = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (outstanding.get() > 0) {
+            if (System.nanoTime() > drainBy) {
+                throw new IllegalStateException(outstanding.get() + " requests still unanswered after "
+                        + DRAIN_TIMEOUT);
+            }
+            Thread.sleep(10);
+        }
+        List<WorkloadResult> results = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            results.add(new WorkloadResult(schedule.name, schedule.offered.get(), schedule.dropped.get(),
+                    schedule.errors.get(), profile.getDuration(), schedule.histogram));
+        }
+        return results;
+    }
+
+    private static final class Schedule {
+        private final String name;
+        private final Function<Random, HttpRequest> requests;
+        private final Random random;
+        private final Histogram histogram = new ConcurrentHistogram(3);
+        private final AtomicLong offered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private Thread thread;
+
+        private Schedule(String name, Function<Random, HttpRequest> requests, Random random) {
+            this.name = name;
+            this.requests = requests;
+            this.random = random;
+        }
+
+        private void send(WorkloadProfile profile, HttpClient client, AtomicInteger outstanding, long start,
+                          long measureFrom, long stopAt) {
+            long intended = start + gap(profile.rateAt(name, 0));
+            while (intended < stopAt) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                    continue;
+                }
+                boolean measured = intended >= measureFrom;
+                HttpRequest request = requests.apply(random);
+                if (measured) {
+                    offered.incrementAndGet();
+                }
+                if (outstanding.incrementAndGet() > profile.getMaxOutstanding()) {
+                    // the server fell this far behind, more connections would only measure the client
+                    outstanding.decrementAndGet();
+                    if (measured) {
+                        dropped.incrementAndGet();
+                    }
+                } else {
+                    long scheduled = intended;
+                    client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .whenComplete((response, failure) -> {
+                                long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                                outstanding.decrementAndGet();
+                                if (!measured) {
+                                    return;
+                                }
+                                histogram.recordValue(micros);
+                                if (failure != null || response.statusCode() < 200 || response.statusCode() >= 300) {
+                                    errors.incrementAndGet();
+                                }
+                            });
+                }
+                intended += gap(profile.rateAt(name, intended - start));
+            }
+        }
+
+        private long gap(double ratePerSecond) {
+            return (long) (-Math.log(1 - random.nextDouble()) / ratePerSecond * 1e9);
+        }
+    }
+}
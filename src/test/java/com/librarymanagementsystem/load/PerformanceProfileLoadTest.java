@@ -0,0 +1,89 @@
+package com.librarymanagementsystem.load;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs a mix of id lookups, page reads and saves against the default configuration and the
+ * performance profile, and reports how long requests held a pooled connection next to throughput.
+ */
+@Tag("load")
+class PerformanceProfileLoadTest {
+    private static final int ROWS = 50_000;
+    private static final int CLIENTS = 64;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    void compareWithDefaults() throws Exception {
+        List<String> poolStats = new ArrayList<>();
+        // the Book cache is off so lookups reach Hibernate, where the second-level cache sits
+        LoadResult defaults = runMode("defaults", poolStats, "library.cache.books.maximum-size=0");
+        LoadResult performance = runMode("performance", poolStats, "library.cache.books.maximum-size=0",
+                "spring.profiles.active=performance");
+        List<String> lines = new ArrayList<>();
+        for (LoadResult result : Arrays.asList(defaults, performance)) {
+            lines.add(result.toString());
+        }
+        lines.addAll(poolStats);
+        LoadTestApplication.writeReport("performance-profile.txt", lines);
+        assertEquals(0, defaults.getErrors(), "requests failed with the defaults");
+        assertEquals(0, performance.getErrors(), "requests failed with the performance profile");
+    }
+
+    private static LoadResult runMode(String name, List<String> poolStats, String... properties) throws Exception {
+        try (LoadTestApplication application = LoadTestApplication.start(properties)) {
+            long[] ids = application.seed(ROWS);
+            String baseUrl = application.baseUrl();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            AtomicLong sequence = new AtomicLong();
+            LoadResult result = LoadDriver.run(name, CLIENTS, WARMUP, MEASUREMENT, () -> {
+                int pick = ThreadLocalRandom.current().nextInt(100);
+                HttpRequest request;
+                if (pick < 70) {
+                    // a fifth of the catalog takes most lookups, which is what a second-level cache is for
+                    int bound = ThreadLocalRandom.current().nextInt(10) < 8 ? ids.length / 5 : ids.length;
+                    long id = ids[ThreadLocalRandom.current().nextInt(bound)];
+                    request = HttpRequest.newBuilder(URI.create(baseUrl + "/getByID/" + id)).GET().build();
+                } else if (pick < 90) {
+                    request = HttpRequest.newBuilder(URI.create(baseUrl + "/allBooks/page?size=100")).GET().build();
+                } else {
+                    long n = sequence.incrementAndGet();
+                    String body = "{\"author\":\"Author Name " + (n % 1000) + "\",\"title\":\"Book Title " + n
+                            + "\",\"price\":19.99}";
+                    request = HttpRequest.newBuilder(URI.create(baseUrl + "/saveBook"))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+                }
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            });
+            MeterRegistry registry = application.getBean(MeterRegistry.class);
+            Timer usage = registry.find("hikaricp.connections.usage").timer();
+            Timer acquire = registry.find("hikaricp.connections.acquire").timer();
+            if (usage != null && acquire != null) {
+                poolStats.add(String.format(Locale.ROOT,
+                        "%-24s connections held=%d mean hold=%.3fms max hold=%.2fms mean acquire=%.3fms",
+                        name, usage.count(), usage.mean(TimeUnit.MILLISECONDS), usage.max(TimeUnit.MILLISECONDS),
+                        acquire.mean(TimeUnit.MILLISECONDS)));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.librarymanagementsystem.load;
+
+import com.librarymanagementsystem.business.repository.BookRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Restarts the application on an existing one-million-row file database and checks
+ * that it is ready to serve within the startup budget.
+ */
+@Tag("load")
+class PersistentStartupLoadTest {
+    private static final int ROWS = 1_000_000;
+    private static final int RESTARTS = 3;
+    private static final Duration STARTUP_BUDGET = Duration.ofSeconds(5);
+
+    @TempDir
+    Path storage;
+
+    @Test
+    void restartOnExistingCatalog() throws Exception {
+        String[] properties = {"spring.profiles.active=persistent",
+                "library.storage.path=" + storage.resolve("library").toAbsolutePath()};
+        try (LoadTestApplication application = LoadTestApplication.start(properties)) {
+            application.getBean(JdbcTemplate.class).update("INSERT INTO book "
+                    + "(id, author, title, price, description, version) "
+                    + "SELECT NEXT VALUE FOR book_seq, 'Author Name ' || MOD(X, 1000), 'Book Title ' || X, "
+                    + "10 + MOD(X, 9000) / 100.0, 'Description for Book ' || X, 0 FROM SYSTEM_RANGE(1, ?)", ROWS);
+        }
+        List<String> lines = new ArrayList<>();
+        long slowestMillis = 0;
+        for (int i = 1; i <= RESTARTS; i++) {
+            long start = System.nanoTime();
+            try (LoadTestApplication application = LoadTestApplication.start(properties)) {
+                long startupMillis = (System.nanoTime() - start) / 1_000_000;
+                assertEquals(ROWS, application.getBean(BookRepository.class).count());
+                slowestMillis = Math.max(slowestMillis, startupMillis);
+                lines.add(String.format("restart %d on %d rows: started in %d ms", i, ROWS, startupMillis));
+            }
+        }
+        LoadTestApplication.writeReport("persistent-startup.txt", lines);
+        assertTrue(slowestMillis <= STARTUP_BUDGET.toMillis(),
+                "Slowest restart took " + slowestMillis + " ms, budget is " + STARTUP_BUDGET.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,78 @@
+package com.librarymanagementsystem.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * One client hammers the full-table allBooks read while well-behaved clients look books up
+ * by id, with and without admission control. The lookups' latency shows how much the
+ * misbehaving client costs everybody else.
+ */
+@Tag("load")
+class RateLimitLoadTest {
+    private static final int ROWS = 20_000;
+    private static final int HOG_CLIENTS = 32;
+    private static final int CLIENTS = 16;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    void compareAdmissionControl() throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+        results.addAll(runMode("unlimited", "library.rate-limit.enabled=false"));
+        // lookups get a generous default rate, so only allBooks is held back
+        results.addAll(runMode("limited", "library.rate-limit.enabled=true", "library.rate-limit.api-keys=hog",
+                "library.rate-limit.endpoints.default.requests-per-second=100000",
+                "library.rate-limit.endpoints.default.burst=100000"));
+        LoadTestApplication.report("rate-limit.txt", results);
+        for (LoadResult result : results) {
+            if (result.getName().endsWith("lookups")) {
+                assertEquals(0, result.getErrors(), result.getName() + " had failed requests");
+            }
+        }
+    }
+
+    private static List<LoadResult> runMode(String name, String... properties) throws Exception {
+        try (LoadTestApplication application = LoadTestApplication.start(properties)) {
+            long[] ids = application.seed(ROWS);
+            String baseUrl = application.baseUrl();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            // 429 and 503 answers to the hog are counted as its errors
+            CompletableFuture<LoadResult> hog = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return LoadDriver.run(name + "-allBooks", HOG_CLIENTS, WARMUP, MEASUREMENT, () -> {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/allBooks"))
+                                .header("X-API-Key", "hog").GET().build();
+                        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    });
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CompletionException(e);
+                }
+            });
+            LoadResult lookups = LoadDriver.run(name + "-lookups", CLIENTS, WARMUP, MEASUREMENT, () -> {
+                long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/getByID/" + id))
+                        .header("X-API-Key", Thread.currentThread().getName()).GET().build();
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            });
+            List<LoadResult> results = new ArrayList<>();
+            results.add(hog.join());
+            results.add(lookups);
+            return results;
+        }
+    }
+}
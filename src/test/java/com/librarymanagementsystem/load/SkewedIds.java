@@ -0,0 +1,42 @@
+package com.librarymanagementsystem.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws ids with Zipf-distributed popularity: the id of rank {@code k} is picked with a
+ * probability proportional to {@code 1 / k^exponent}. Ranks are assigned by a seeded shuffle
+ * so the popular books are spread over the table rather than being the oldest rows.
+ */
+final class SkewedIds {
+    private final long[] ranked;
+    private final double[] cumulative;
+
+    SkewedIds(long[] ids, double exponent, long seed) {
+        ranked = ids.clone();
+        Random random = new Random(seed);
+        for (int i = ranked.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = ranked[i];
+            ranked[i] = ranked[j];
+            ranked[j] = swap;
+        }
+        cumulative = new double[ranked.length];
+        double sum = 0;
+        for (int k = 0; k < ranked.length; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < cumulative.length; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    long next(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return ranked[Math.min(index, ranked.length - 1)];
+    }
+}
@@ -0,0 +1,152 @@
+package com.librarymanagementsystem.load;
+
+import com.librarymanagementsystem.LibraryManagementSystemApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Time from launching a cold JVM to the first successful Get All Books response, for each
+ * fast-start option on its own and combined. Needs the output of {@code mvn -Pfast-start verify}
+ * (the classpath file, AOT classes and CDS archive) and is skipped without it.
+ */
+@Tag("load")
+class StartupTimeLoadTest {
+    private static final Path FAST_START_DIR = Paths.get("target", "fast-start");
+    private static final int RUNS = 5;
+    private static final Duration FIRST_REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    @Test
+    void timeToFirstRequest() throws Exception {
+        Path classpathFile = FAST_START_DIR.resolve("classpath.txt");
+        Path archive = FAST_START_DIR.resolve("app.jsa").toAbsolutePath();
+        assumeTrue(Files.exists(classpathFile) && Files.exists(archive),
+                "Run mvn -Pfast-start verify first, it writes " + FAST_START_DIR);
+        Path applicationJar;
+        try (Stream<Path> files = Files.list(FAST_START_DIR)) {
+            applicationJar = files.filter(file -> file.toString().endsWith("-fast-start.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No application jar in " + FAST_START_DIR));
+        }
+        // the same classpath the CDS archive was created with, or the JVM ignores the archive
+        String classpath = applicationJar.toAbsolutePath() + File.pathSeparator
+                + new String(Files.readAllBytes(classpathFile), StandardCharsets.UTF_8).trim();
+        String aot = "-Dspring.aot.enabled=true";
+        String cds = "-XX:SharedArchiveFile=" + archive;
+        String fastStart = "--spring.profiles.active=fast-start";
+
+        Map<String, List<String>> options = new LinkedHashMap<>();
+        options.put("default", Collections.emptyList());
+        options.put("lazy-initialization", Collections.singletonList("--spring.main.lazy-initialization=true"));
+        options.put("deferred-repositories",
+                Collections.singletonList("--spring.data.jpa.repositories.bootstrap-mode=deferred"));
+        options.put("springdoc-disabled",
+                Arrays.asList("--springdoc.api-docs.enabled=false", "--springdoc.swagger-ui.enabled=false"));
+        options.put("cds", Collections.singletonList(cds));
+        options.put("fast-start-profile", Collections.singletonList(fastStart));
+        options.put("fast-start-profile+aot", Arrays.asList(aot, fastStart));
+        options.put("fast-start-profile+aot+cds", Arrays.asList(aot, cds, fastStart));
+
+        List<String> lines = new ArrayList<>();
+        Map<String, Long> medians = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> option : options.entrySet()) {
+            long[] millis = new long[RUNS];
+            for (int run = 0; run < RUNS; run++) {
+                millis[run] = firstRequestMillis(classpath, option.getKey(), run, option.getValue());
+            }
+            Arrays.sort(millis);
+            medians.put(option.getKey(), millis[RUNS / 2]);
+            lines.add(String.format("%-28s time to first request: median %5d ms, min %5d ms, max %5d ms",
+                    option.getKey(), millis[RUNS / 2], millis[0], millis[RUNS - 1]));
+        }
+        LoadTestApplication.writeReport("startup-time.txt", lines);
+        assertTrue(medians.get("fast-start-profile+aot+cds") < medians.get("default"),
+                "AOT, CDS and the fast-start profile together did not start faster than the default");
+    }
+
+    private static long firstRequestMillis(String classpath, String option, int run, List<String> arguments)
+            throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        // JVM options go before the main class, application arguments after it
+        for (String argument : arguments) {
+            if (argument.startsWith("-") && !argument.startsWith("--")) {
+                command.add(argument);
+            }
+        }
+        command.add("-cp");
+        command.add(classpath);
+        command.add(LibraryManagementSystemApplication.class.getName());
+        for (String argument : arguments) {
+            if (argument.startsWith("--")) {
+                command.add(argument);
+            }
+        }
+        command.add("--server.port=" + port);
+        Files.createDirectories(LoadTestApplication.REPORT_DIR);
+        File log = LoadTestApplication.REPORT_DIR.resolve("startup-" + option + "-" + run + ".log").toFile();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(100)).build();
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:" + port + LoadTestApplication.BASE_PATH + "/allBooks"))
+                .timeout(FIRST_REQUEST_TIMEOUT)
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+        try {
+            long deadline = start + FIRST_REQUEST_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(option + " exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (ConnectException | HttpTimeoutException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(option + " did not answer within " + FIRST_REQUEST_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
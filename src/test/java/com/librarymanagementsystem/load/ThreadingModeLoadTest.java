@@ -0,0 +1,58 @@
+package com.librarymanagementsystem.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Compares platform-thread and virtual-thread request handling under a burst of
+ * more concurrent clients than Tomcat has worker threads. The virtual-thread run
+ * needs a Java 21 runtime and is skipped otherwise.
+ */
+@Tag("load")
+class ThreadingModeLoadTest {
+    private static final int ROWS = 10_000;
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    void compareThreadingModes() throws Exception {
+        List<LoadResult> results = new ArrayList<>();
+        results.add(runMode("platform-threads", "spring.threads.virtual.enabled=false"));
+        if (Runtime.version().feature() >= 21) {
+            results.add(runMode("virtual-threads", "spring.profiles.active=virtual-threads"));
+        }
+        LoadTestApplication.report("threading-modes.txt", results);
+        for (LoadResult result : results) {
+            assertEquals(0, result.getErrors(), result.getName() + " had failed requests");
+        }
+        assumeTrue(results.size() == 2, "Virtual threads need Java 21, only platform threads were measured");
+    }
+
+    private static LoadResult runMode(String name, String property) throws Exception {
+        // a zero-size cache sends every lookup to the database, which is the blocking call under test
+        try (LoadTestApplication application = LoadTestApplication.start(property,
+                "library.cache.books.maximum-size=0")) {
+            long[] ids = application.seed(ROWS);
+            String url = application.baseUrl() + "/getByID/";
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            return LoadDriver.run(name, CLIENTS, WARMUP, MEASUREMENT, () -> {
+                long id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+                HttpRequest request = HttpRequest.newBuilder(URI.create(url + id)).GET().build();
+                return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            });
+        }
+    }
+}
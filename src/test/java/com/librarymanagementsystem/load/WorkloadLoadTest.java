@@ -0,0 +1,108 @@
+package com.librarymanagementsystem.load;
+
+import com.librarymanagementsystem.business.service.BookSearchService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the workload profiles named in {@code load.profiles} (all of them by default) against a
+ * freshly seeded catalog and writes, per profile, a summary to {@code workload-<profile>.txt}
+ * and the latency distribution of each operation to {@code workload-<profile>-<operation>.hgrm}
+ * so runs before and after a change can be compared.
+ */
+@Tag("load")
+class WorkloadLoadTest {
+    private static final String DEFAULT_PROFILES = "read-heavy,mixed,write-burst,search-1m";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    void workloadProfiles() throws Exception {
+        for (String name : System.getProperty("load.profiles", DEFAULT_PROFILES).split("\\s*,\\s*")) {
+            run(WorkloadProfile.load(name));
+        }
+    }
+
+    private static void run(WorkloadProfile profile) throws Exception {
+        try (LoadTestApplication application = LoadTestApplication.start()) {
+            String baseUrl = application.baseUrl();
+            SkewedIds ids = new SkewedIds(application.seed(profile.getRows()), profile.getSkew(), profile.getSeed());
+            // the rows were inserted behind the service's back
+            application.getBean(BookSearchService.class).rebuildIndex();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            List<WorkloadResult> results = OpenLoadDriver.run(profile, client,
+                    operations(baseUrl, ids, profile.getRows()));
+
+            List<String> lines = new ArrayList<>(profile.describe());
+            for (WorkloadResult result : results) {
+                lines.add(result.toString());
+                result.writeDistribution(LoadTestApplication.REPORT_DIR.resolve(
+                        "workload-" + profile.getName() + "-" + result.getName() + ".hgrm"));
+            }
+            LoadTestApplication.writeReport("workload-" + profile.getName() + ".txt", lines);
+            for (WorkloadResult result : results) {
+                assertEquals(0, result.getErrors(),
+                        profile.getName() + " " + result.getName() + " had failed requests");
+            }
+        }
+    }
+
+    private static Map<String, Function<Random, HttpRequest>> operations(String baseUrl, SkewedIds ids, int rows) {
+        Map<String, Function<Random, HttpRequest>> operations = new LinkedHashMap<>();
+        operations.put("get-by-id", random -> get(baseUrl + "/getByID/" + ids.next(random)));
+        operations.put("all-books", random -> get(baseUrl + "/allBooks"));
+        operations.put("search", random -> get(baseUrl + "/search?size=20&query=" + encode(searchQuery(random, rows))));
+        operations.put("save", random -> {
+            int n = random.nextInt(1_000_000);
+            String body = String.format(Locale.ROOT, "{\"author\":\"Load Author %d\",\"title\":\"Load Title %d\","
+                            + "\"price\":%.2f,\"description\":\"Saved by the workload test\"}",
+                    n % 1000, n, 10 + n % 9000 / 100.0);
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/saveBook"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        });
+        return operations;
+    }
+
+    /**
+     * Queries over the seeded rows: a title number whose last term expands as a prefix, an
+     * author that a thousandth of the catalog shares, and a prefix of a term every book has.
+     */
+    private static String searchQuery(Random random, int rows) {
+        int kind = random.nextInt(10);
+        if (kind < 5) {
+            return "title " + (1 + random.nextInt(rows));
+        }
+        return kind < 8 ? "author name " + random.nextInt(1000) : "boo";
+    }
+
+    private static String encode(String value) {
+        try {
+            return URLEncoder.encode(value, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.librarymanagementsystem.load;
+
+import lombok.Getter;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * A reproducible workload read from {@code load-profiles/<name>.properties} on the test
+ * classpath: the catalog size, a random seed, and a Poisson arrival rate per operation, some
+ * of which can burst to a multiple of their rate for a while at a fixed interval. Any key can
+ * be overridden with a {@code load.<key>} system property, e.g. {@code -Dload.rate.save=50}.
+ */
+@Getter
+final class WorkloadProfile {
+    private static final String RATE_PREFIX = "rate.";
+    private static final String OVERRIDE_PREFIX = "load.";
+
+    private final String name;
+    private final int rows;
+    private final long seed;
+    private final Duration warmup;
+    private final Duration duration;
+    /**
+     * Zipf exponent of id popularity, 0 for uniform access.
+     */
+    private final double skew;
+    private final int maxOutstanding;
+    /**
+     * Requests per second by operation name.
+     */
+    private final Map<String, Double> rates;
+    private final Set<String> burstOperations;
+    private final double burstMultiplier;
+    private final Duration burstEvery;
+    private final Duration burstLength;
+
+    private WorkloadProfile(String name, Properties properties) {
+        this.name = name;
+        this.rows = Integer.parseInt(required(properties, "rows"));
+        this.seed = Long.parseLong(properties.getProperty("seed", "42"));
+        this.warmup = DurationStyle.detectAndParse(properties.getProperty("warmup", "10s"));
+        this.duration = DurationStyle.detectAndParse(required(properties, "duration"));
+        this.skew = Double.parseDouble(properties.getProperty("skew", "0"));
+        this.maxOutstanding = Integer.parseInt(properties.getProperty("max-outstanding", "5000"));
+        Map<String, Double> rates = new LinkedHashMap<>();
+        List<String> keys = new ArrayList<>(properties.stringPropertyNames());
+        Collections.sort(keys);
+        for (String key : keys) {
+            if (key.startsWith(RATE_PREFIX)) {
+                rates.put(key.substring(RATE_PREFIX.length()), Double.parseDouble(properties.getProperty(key)));
+            }
+        }
+        this.rates = Collections.unmodifiableMap(rates);
+        String burst = properties.getProperty("burst.operations", "").trim();
+        this.burstOperations = burst.isEmpty() ? Collections.<String>emptySet()
+                : new HashSet<>(Arrays.asList(burst.split("\\s*,\\s*")));
+        this.burstMultiplier = Double.parseDouble(properties.getProperty("burst.multiplier", "1"));
+        this.burstEvery = DurationStyle.detectAndParse(properties.getProperty("burst.every", "0s"));
+        this.burstLength = DurationStyle.detectAndParse(properties.getProperty("burst.length", "0s"));
+    }
+
+    static WorkloadProfile load(String name) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = WorkloadProfile.class.getResourceAsStream("/load-profiles/" + name + ".properties")) {
+            if (in == null) {
+                throw new IllegalArgumentException("No workload profile " + name + " in load-profiles");
+            }
+            properties.load(in);
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(OVERRIDE_PREFIX) && !key.equals("load.profiles")) {
+                properties.setProperty(key.substring(OVERRIDE_PREFIX.length()), System.getProperty(key));
+            }
+        }
+        return new WorkloadProfile(name, properties);
+    }
+
+    private static String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Workload profile is missing " + key);
+        }
+        return value;
+    }
+
+    /**
+     * @param elapsedNanos time since the start of the run, warm-up included
+     */
+    double rateAt(String operation, long elapsedNanos) {
+        double rate = rates.getOrDefault(operation, 0.0);
+        if (burstOperations.contains(operation) && !burstEvery.isZero()
+                && elapsedNanos % burstEvery.toNanos() < burstLength.toNanos()) {
+            return rate * burstMultiplier;
+        }
+        return rate;
+    }
+
+    List<String> describe() {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "profile %s: rows=%d seed=%d skew=%.2f warmup=%ds duration=%ds "
+                        + "max-outstanding=%d", name, rows, seed, skew, warmup.getSeconds(), duration.getSeconds(),
+                maxOutstanding));
+        for (Map.Entry<String, Double> rate : rates.entrySet()) {
+            lines.add(String.format(Locale.ROOT, "  %-10s %8.1f req/s%s", rate.getKey(), rate.getValue(),
+                    burstOperations.contains(rate.getKey())
+                            ? String.format(Locale.ROOT, ", x%.0f for %dms every %ds", burstMultiplier,
+                            burstLength.toMillis(), burstEvery.getSeconds())
+                            : ""));
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,62 @@
+package com.librarymanagementsystem.load;
+
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * What one operation of an open-model run got: requests offered at the scheduled rate,
+ * requests dropped because too many were outstanding, failures, and the response time of
+ * every completed request in microseconds, measured from when it was scheduled to be sent.
+ */
+@Getter
+class WorkloadResult {
+    private final String name;
+    private final long offered;
+    private final long dropped;
+    private final long errors;
+    private final double offeredRate;
+    private final double throughput;
+    private final Histogram histogram;
+
+    WorkloadResult(String name, long offered, long dropped, long errors, Duration measurement, Histogram histogram) {
+        double seconds = measurement.toNanos() / 1e9;
+        this.name = name;
+        this.offered = offered;
+        this.dropped = dropped;
+        this.errors = errors;
+        this.offeredRate = offered / seconds;
+        this.throughput = (histogram.getTotalCount() - errors) / seconds;
+        this.histogram = histogram;
+    }
+
+    double percentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    /**
+     * Writes the full percentile distribution in HdrHistogram's {@code .hgrm} format, in
+     * milliseconds, for plotting runs against each other.
+     */
+    void writeDistribution(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "%-10s offered=%8.1f/s throughput=%8.1f/s requests=%d errors=%d dropped=%d "
+                        + "p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                name, offeredRate, throughput, histogram.getTotalCount(), errors, dropped, percentileMillis(50),
+                percentileMillis(90), percentileMillis(99), percentileMillis(99.9), histogram.getMaxValue() / 1000.0);
+    }
+}
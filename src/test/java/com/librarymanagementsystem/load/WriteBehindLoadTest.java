@@ -0,0 +1,86 @@
+package com.librarymanagementsystem.load;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compares synchronous saves, where every request commits its own transaction, with
+ * write-behind group commits acknowledged after the commit (201) and before it (202).
+ */
+@Tag("load")
+class WriteBehindLoadTest {
+    private static final int CLIENTS = 64;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(20);
+
+    @Test
+    void compareSavePaths() throws Exception {
+        List<String> commitStats = new ArrayList<>();
+        LoadResult synchronous = runMode("synchronous", null, commitStats, "library.write-behind.enabled=false");
+        LoadResult durable = runMode("write-behind-201", null, commitStats, "library.write-behind.enabled=true");
+        // 503s under backpressure are expected here and show up as errors
+        LoadResult accepted = runMode("write-behind-202", "respond-async", commitStats,
+                "library.write-behind.enabled=true");
+        List<String> lines = new ArrayList<>();
+        for (LoadResult result : Arrays.asList(synchronous, durable, accepted)) {
+            lines.add(result.toString());
+        }
+        lines.addAll(commitStats);
+        LoadTestApplication.writeReport("write-behind.txt", lines);
+        assertEquals(0, synchronous.getErrors(), "synchronous saves failed");
+        assertEquals(0, durable.getErrors(), "acknowledged write-behind saves failed");
+    }
+
+    private static LoadResult runMode(String name, String prefer, List<String> commitStats, String... properties)
+            throws Exception {
+        try (LoadTestApplication application = LoadTestApplication.start(properties)) {
+            String url = application.baseUrl() + "/saveBook";
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+            AtomicLong sequence = new AtomicLong();
+            LoadResult result = LoadDriver.run(name, CLIENTS, WARMUP, MEASUREMENT, () -> {
+                long n = sequence.incrementAndGet();
+                String body = "{\"author\":\"Author Name " + (n % 1000) + "\",\"title\":\"Book Title " + n
+                        + "\",\"price\":19.99}";
+                HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body));
+                if (prefer != null) {
+                    request.header("Prefer", prefer);
+                }
+                return client.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+            });
+            MeterRegistry registry = application.getBean(MeterRegistry.class);
+            DistributionSummary batch = registry.find("library.write-behind.batch").summary();
+            Timer latency = registry.find("library.write-behind.latency").timer();
+            if (batch != null && latency != null) {
+                StringBuilder line = new StringBuilder(String.format(Locale.ROOT,
+                        "%-24s group commits=%d mean batch=%.1f accept-to-commit", name, batch.count(), batch.mean()));
+                for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+                    line.append(String.format(Locale.ROOT, " p%s=%.2fms",
+                            String.valueOf(percentile.percentile() * 100).replace(".0", ""),
+                            percentile.value(TimeUnit.MILLISECONDS)));
+                }
+                commitStats.add(line.toString());
+            }
+            return result;
+        }
+    }
+}
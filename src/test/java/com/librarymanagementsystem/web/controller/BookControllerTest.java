@@ -1,38 +1,60 @@
 package com.librarymanagementsystem.web.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.librarymanagementsystem.business.catalog.CatalogVersion;
 import com.librarymanagementsystem.business.service.BookService;
 import com.librarymanagementsystem.model.Book;
+import com.librarymanagementsystem.model.BookPage;
+import com.librarymanagementsystem.web.converter.BookProtobufHttpMessageConverter;
+import com.librarymanagementsystem.web.converter.BookProtobufWriter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+// every test is the same client, keep allBooks from running out of tokens
 @SpringBootTest
 @AutoConfigureMockMvc
 class BookControllerTest {
@@ -46,14 +68,24 @@ class BookControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private CatalogVersion catalogVersion;
+
     private Book book;
     private Book savedBook;
 
     private static final String BASE_URL = "/api/v1/library/management/system";
     private static final String ALL_BOOKS_URL = BASE_URL + "/allBooks";
+    private static final String BOOK_PAGE_URL = ALL_BOOKS_URL + "/page";
+    private static final String BOOK_STREAM_URL = ALL_BOOKS_URL + "/stream";
     private static final String GET_BY_ID_URL = BASE_URL + "/getByID/";
     private static final String SAVE_BOOK_URL = BASE_URL + "/saveBook";
+    private static final String UPDATE_BOOK_URL = BASE_URL + "/updateBook/";
+    private static final String PATCH_BOOK_URL = BASE_URL + "/patchBook/";
     private static final String DELETE_BOOK_URL = BASE_URL + "/delete/";
+    private static final String CACHE_STATS_URL = BASE_URL + "/cacheStats";
+    private static final String FILTER_URL = BASE_URL + "/filter";
+    private static final String FACETS_URL = BASE_URL + "/facets";
 
     @BeforeEach
     public void init() {
@@ -76,6 +108,29 @@ class BookControllerTest {
         verify(bookService, times(1)).getAllBooks();
     }
 
+    @Test
+    void testGetAllBookEntries_NotModified() throws Exception {
+        String eTag = BookFormats.tag(catalogVersion.getETag(), MediaType.APPLICATION_JSON, null);
+        mockMvc.perform(get(ALL_BOOKS_URL).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andExpect(content().string(""));
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    void testGetAllBookEntries_ChangedCatalog() throws Exception {
+        String staleETag = BookFormats.tag(catalogVersion.getETag(), MediaType.APPLICATION_JSON, null);
+        catalogVersion.bump();
+        when(bookService.getAllBooks()).thenReturn(Collections.singletonList(book));
+        mockMvc.perform(get(ALL_BOOKS_URL).header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG,
+                        BookFormats.tag(catalogVersion.getETag(), MediaType.APPLICATION_JSON, null)))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
     @Test
     void testFindAllBooks_WhenListEmpty() throws Exception {
         when(bookService.getAllBooks()).thenReturn(Collections.emptyList());
@@ -86,6 +141,98 @@ class BookControllerTest {
         verify(bookService, times(1)).getAllBooks();
     }
 
+    @Test
+    void testGetBookPage_Successful() throws Exception {
+        when(bookService.getBookPage(isNull(), eq(100))).thenReturn(new BookPage(Collections.singletonList(book), "MQ"));
+        mockMvc.perform(get(BOOK_PAGE_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.books", hasSize(1)))
+                .andExpect(jsonPath("$.books[0].id").value(book.getId()))
+                .andExpect(jsonPath("$.nextToken").value("MQ"));
+        verify(bookService, times(1)).getBookPage(null, 100);
+    }
+
+    @Test
+    void testGetBookPage_InvalidToken() throws Exception {
+        when(bookService.getBookPage("bad", 10)).thenThrow(new IllegalArgumentException("Invalid continuation token: bad"));
+        mockMvc.perform(get(BOOK_PAGE_URL).param("continuationToken", "bad").param("size", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("Message", "Invalid continuation token: bad"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamAllBookEntries() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<Book> consumer = invocation.getArgument(0);
+            consumer.accept(book);
+            consumer.accept(book);
+            return null;
+        }).when(bookService).streamAllBooks(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get(BOOK_STREAM_URL)).andReturn();
+        String expectedLine = objectMapper.writeValueAsString(book) + "\n";
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BookController.NDJSON))
+                .andExpect(content().string(expectedLine + expectedLine));
+    }
+
+    @Test
+    void testGetAllBookEntries_SparseFields() throws Exception {
+        when(bookService.getAllBooks()).thenReturn(Collections.singletonList(book));
+        mockMvc.perform(get(ALL_BOOKS_URL).param("fields", "id,title"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(book.getId()))
+                .andExpect(jsonPath("$[0].title").value(book.getTitle()))
+                .andExpect(jsonPath("$[0].author").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    void testGetAllBookEntries_UnknownField() throws Exception {
+        mockMvc.perform(get(ALL_BOOKS_URL).param("fields", "id,isbn"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string("Message", containsString("isbn")));
+        verify(bookService, never()).getAllBooks();
+    }
+
+    @Test
+    void testGetAllBookEntries_Smile() throws Exception {
+        when(bookService.getAllBooks()).thenReturn(Collections.singletonList(book));
+        byte[] body = mockMvc.perform(get(ALL_BOOKS_URL).accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+        JsonNode books = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(book.getTitle(), books.get(0).get("title").asText());
+    }
+
+    @Test
+    void testGetAllBookEntries_Protobuf() throws Exception {
+        when(bookService.getAllBooks()).thenReturn(Collections.singletonList(book));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new BookProtobufWriter(expected).writeBooks(1, Collections.singletonList(book));
+        mockMvc.perform(get(ALL_BOOKS_URL).accept(BookProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BookProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(content().bytes(expected.toByteArray()));
+    }
+
+    @Test
+    void testGetAllBookEntries_ProtobufSparseFields() throws Exception {
+        when(bookService.getAllBooks()).thenReturn(Collections.singletonList(book));
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        new BookProtobufWriter(expected, new HashSet<>(Arrays.asList("id", "title")))
+                .writeBooks(1, Collections.singletonList(book));
+        mockMvc.perform(get(ALL_BOOKS_URL).param("fields", "id,title")
+                        .accept(BookProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(expected.toByteArray()));
+    }
+
     @Test
     void testGetBookById_Found() throws Exception {
         when(bookService.findBookById(1L)).thenReturn(Optional.of(book));
@@ -97,6 +244,47 @@ class BookControllerTest {
         verify(bookService, times(1)).findBookById(1L);
     }
 
+    @Test
+    void testGetBookById_NotModified() throws Exception {
+        Book versionedBook = new Book(1L, "Author Name", "Book Title", 19.99, "Description for Book", 3L);
+        when(bookService.findBookById(1L)).thenReturn(Optional.of(versionedBook));
+        mockMvc.perform(get(GET_BY_ID_URL + "/1").header(HttpHeaders.IF_NONE_MATCH, "\"3-json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                .andExpect(content().string(""));
+        mockMvc.perform(get(GET_BY_ID_URL + "/1").header(HttpHeaders.IF_NONE_MATCH, "\"2-json\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-json\""))
+                .andExpect(jsonPath("$.version").value(3));
+    }
+
+    @Test
+    void testGetBookById_ETagNamesTheFormat() throws Exception {
+        Book versionedBook = new Book(1L, "Author Name", "Book Title", 19.99, "Description for Book", 3L);
+        when(bookService.findBookById(1L)).thenReturn(Optional.of(versionedBook));
+        mockMvc.perform(get(GET_BY_ID_URL + "/1").accept(BookProtobufHttpMessageConverter.PROTOBUF)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3-json\""))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BookProtobufHttpMessageConverter.PROTOBUF))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-protobuf\""));
+        mockMvc.perform(get(GET_BY_ID_URL + "/1")
+                        .accept("application/x-jackson-smile;q=0.5", "application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-cbor\""));
+    }
+
+    @Test
+    void testGetAllBookEntries_ETagNamesTheFields() throws Exception {
+        when(bookService.getAllBooks()).thenReturn(Collections.singletonList(book));
+        mockMvc.perform(get(ALL_BOOKS_URL).param("fields", "title,id"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG,
+                        BookFormats.tag(catalogVersion.getETag(), MediaType.APPLICATION_JSON,
+                                new HashSet<>(Arrays.asList("id", "title")))))
+                .andExpect(header().string(HttpHeaders.ETAG, endsWith("-json-id.title\"")));
+    }
+
     @Test
     void testGetBookById_NotFound() throws Exception {
         Long id = 99L;
@@ -136,6 +324,81 @@ class BookControllerTest {
         verify(bookService, times(1)).saveBook(any());
     }
 
+    @Test
+    void testUpdateBook_Successful() throws Exception {
+        Book updatedBook = new Book(1L, "Author Name", "New Title", 19.99, "Description for Book", 4L);
+        when(bookService.updateBook(eq(1L), eq(3L), any(Book.class), eq(false)))
+                .thenReturn(Optional.of(updatedBook));
+
+        mockMvc.perform(put(UPDATE_BOOK_URL + 1)
+                        .header(HttpHeaders.IF_MATCH, "\"3-protobuf\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedBook)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4-json\""))
+                .andExpect(jsonPath("$.title").value("New Title"));
+    }
+
+    @Test
+    void testPatchBook_Conflict() throws Exception {
+        when(bookService.updateBook(eq(1L), eq(3L), any(Book.class), eq(true)))
+                .thenThrow(new OptimisticLockingFailureException("Book 1 is at version 4, not 3"));
+
+        mockMvc.perform(patch(PATCH_BOOK_URL + 1)
+                        .header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 24.99}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void testUpdateBook_IfMatchAnyVersion() throws Exception {
+        Book updatedBook = new Book(1L, "Author Name", "New Title", 19.99, "Description for Book", 4L);
+        when(bookService.updateBook(eq(1L), isNull(), any(Book.class), eq(false)))
+                .thenReturn(Optional.of(updatedBook));
+
+        mockMvc.perform(put(UPDATE_BOOK_URL + 1)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedBook)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4-json\""));
+    }
+
+    @Test
+    void testPatchBook_IfMatchAnyVersion() throws Exception {
+        Book patchedBook = new Book(1L, "Author Name", "Book Title", 24.99, "Description for Book", 4L);
+        when(bookService.updateBook(eq(1L), isNull(), any(Book.class), eq(true)))
+                .thenReturn(Optional.of(patchedBook));
+
+        mockMvc.perform(patch(PATCH_BOOK_URL + 1)
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\": 24.99}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(24.99));
+    }
+
+    @Test
+    void testUpdateBook_IfMatchMissing() throws Exception {
+        mockMvc.perform(put(UPDATE_BOOK_URL + 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book)))
+                .andExpect(status().isPreconditionRequired());
+        verify(bookService, never()).updateBook(any(), any(), any(), any(Boolean.class));
+    }
+
+    @Test
+    void testUpdateBook_NotFound() throws Exception {
+        when(bookService.updateBook(eq(99L), eq(0L), any(Book.class), eq(false))).thenReturn(Optional.empty());
+
+        mockMvc.perform(put(UPDATE_BOOK_URL + 99)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(book)))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testDeleteBook_FoundAndDeleted() throws Exception {
         when(bookService.findBookById(book.getId())).thenReturn(Optional.of(book));
@@ -159,5 +422,42 @@ class BookControllerTest {
         verify(bookService, times(1)).findBookById(id);
         verify(bookService, never()).deleteBookById(anyLong());
     }
-}
 
+    @Test
+    void testFilterBooks_Empty() throws Exception {
+        mockMvc.perform(get(FILTER_URL)
+                        .param("minPrice", "10")
+                        .param("maxPrice", "30")
+                        .param("authorPrefix", "Auth")
+                        .param("sort", "TITLE_DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books", hasSize(0)))
+                .andExpect(jsonPath("$.nextToken").doesNotExist());
+    }
+
+    @Test
+    void testFilterBooks_InvalidRange() throws Exception {
+        mockMvc.perform(get(FILTER_URL).param("minPrice", "30").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().exists("Message"));
+    }
+
+    @Test
+    void testGetFacets_Empty() throws Exception {
+        mockMvc.perform(get(FACETS_URL).param("author", "Author Name").param("bucketWidth", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authors", hasSize(0)))
+                .andExpect(jsonPath("$.prices", hasSize(0)))
+                .andExpect(jsonPath("$.bucketWidth").value(5.0));
+    }
+
+    @Test
+    void testGetCacheStatistics() throws Exception {
+        mockMvc.perform(get(CACHE_STATS_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.hitCount").isNumber())
+                .andExpect(jsonPath("$.missCount").isNumber())
+                .andExpect(jsonPath("$.evictionCount").isNumber());
+    }
+}
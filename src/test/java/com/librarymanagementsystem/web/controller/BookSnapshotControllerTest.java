@@ -0,0 +1,51 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.librarymanagementsystem.business.service.BookSnapshotService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookSnapshotControllerTest {
+
+    private static final String SNAPSHOT_URL = "/api/v1/library/management/system/snapshot";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private BookSnapshotService bookSnapshotService;
+
+    @Test
+    void testRestoreSnapshot_CatalogNotEmpty() throws Exception {
+        when(bookSnapshotService.restoreSnapshot(any()))
+                .thenThrow(new IllegalStateException("The catalog must be empty before a snapshot is restored"));
+
+        mockMvc.perform(post(SNAPSHOT_URL)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isConflict())
+                .andExpect(header().string("Message", "The catalog must be empty before a snapshot is restored"));
+    }
+
+    @Test
+    void testRestoreSnapshot_Corrupt() throws Exception {
+        when(bookSnapshotService.restoreSnapshot(any())).thenThrow(new IllegalArgumentException("Not a snapshot"));
+
+        mockMvc.perform(post(SNAPSHOT_URL)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,121 @@
+package com.librarymanagementsystem.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.librarymanagementsystem.business.service.ReactiveBookService;
+import com.librarymanagementsystem.model.Book;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ReactiveBookControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveBookService reactiveBookService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Book book;
+
+    private static final String BASE_URL = "/api/v1/library/management/system/reactive";
+    private static final String ALL_BOOKS_URL = BASE_URL + "/allBooks";
+    private static final String GET_BY_ID_URL = BASE_URL + "/getByID/";
+    private static final String SAVE_BOOK_URL = BASE_URL + "/saveBook";
+    private static final String DELETE_BOOK_URL = BASE_URL + "/delete/";
+
+    @BeforeEach
+    public void init() {
+        book = new Book(1L, "Author Name", "Book Title", 19.99, "Description for Book");
+    }
+
+    @Test
+    void testGetAllBookEntries_Ndjson() throws Exception {
+        when(reactiveBookService.getAllBooks()).thenReturn(Flux.just(book, book));
+        MvcResult result = performAsync(get(ALL_BOOKS_URL).accept(BookController.NDJSON))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().trim().split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(book.getTitle(), objectMapper.readValue(lines[0], Book.class).getTitle());
+    }
+
+    @Test
+    void testGetAllBookEntries_JsonIsNotOffered() throws Exception {
+        mockMvc.perform(get(ALL_BOOKS_URL).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void testGetBookById_Found() throws Exception {
+        when(reactiveBookService.findBookById(1L)).thenReturn(Mono.just(book));
+        performAsync(get(GET_BY_ID_URL + 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(book.getId()));
+    }
+
+    @Test
+    void testGetBookById_NotFound() throws Exception {
+        when(reactiveBookService.findBookById(99L)).thenReturn(Mono.empty());
+        performAsync(get(GET_BY_ID_URL + 99))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("Message", "Book not found with id: 99"));
+    }
+
+    @Test
+    void testSaveBook_Invalid() throws Exception {
+        when(reactiveBookService.saveBook(any()))
+                .thenReturn(Mono.error(new ConstraintViolationException("title: Title cannot be null",
+                        Collections.emptySet())));
+        performAsync(post(SAVE_BOOK_URL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(book)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testDeleteBook_NotFound() throws Exception {
+        when(reactiveBookService.deleteBookById(99L)).thenReturn(Mono.just(false));
+        performAsync(delete(DELETE_BOOK_URL + 99))
+                .andExpect(status().isNotFound())
+                .andExpect(content().string("Book entry not found with ID: 99"));
+    }
+
+    private ResultActions performAsync(RequestBuilder requestBuilder) throws Exception {
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result));
+    }
+}
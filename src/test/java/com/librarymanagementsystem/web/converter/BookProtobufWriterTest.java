@@ -0,0 +1,50 @@
+package com.librarymanagementsystem.web.converter;
+
+import com.librarymanagementsystem.model.Book;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class BookProtobufWriterTest {
+
+    @Test
+    void testWriteBook_SkipsNullFields() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BookProtobufWriter(out).writeBook(new Book(150L, "A", "T", null, null));
+
+        assertArrayEquals(new byte[]{0x08, (byte) 0x96, 0x01, 0x12, 0x01, 'A', 0x1A, 0x01, 'T'}, out.toByteArray());
+    }
+
+    @Test
+    void testWriteBook_EncodesPriceAndUtf8() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BookProtobufWriter(out).writeBook(new Book(null, "é", null, 1.0, null));
+
+        assertArrayEquals(new byte[]{0x12, 0x02, (byte) 0xC3, (byte) 0xA9,
+                0x21, 0, 0, 0, 0, 0, 0, (byte) 0xF0, 0x3F}, out.toByteArray());
+    }
+
+    @Test
+    void testWriteBook_SkipsFieldsOutsideTheRequestedSet() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BookProtobufWriter(out, new HashSet<>(Arrays.asList("id", "title")))
+                .writeBook(new Book(150L, "A", "T", 1.0, "D", 2L));
+
+        assertArrayEquals(new byte[]{0x08, (byte) 0x96, 0x01, 0x1A, 0x01, 'T'}, out.toByteArray());
+    }
+
+    @Test
+    void testWriteBooksAndMissingIds() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BookProtobufWriter writer = new BookProtobufWriter(out);
+        writer.writeBooks(1, Collections.singletonList(new Book(1L, null, null, null, null)));
+        writer.writeLongs(2, Arrays.asList(3L, 300L));
+
+        assertArrayEquals(new byte[]{0x0A, 0x02, 0x08, 0x01, 0x12, 0x03, 0x03, (byte) 0xAC, 0x02}, out.toByteArray());
+    }
+}
@@ -0,0 +1,147 @@
+package com.librarymanagementsystem.web.ratelimit;
+
+import com.librarymanagementsystem.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RateLimitFilterTest {
+
+    private static final String ALL_BOOKS_URL = "/api/v1/library/management/system/allBooks";
+    private static final String GET_BY_ID_URL = "/api/v1/library/management/system/getByID/1";
+
+    private SimpleMeterRegistry registry;
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    public void init() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getEndpoints().put("all-books", endpoint(ALL_BOOKS_URL, 0.001, 2, 1));
+        properties.getEndpoints().put("default", endpoint("/api/**", 0.001, 1, 0));
+        properties.getApiKeys().add("secret-key");
+        registry = new SimpleMeterRegistry();
+        filter = new RateLimitFilter(properties, registry);
+    }
+
+    @Test
+    void testRateLimit_RejectsClientOverBurst() throws Exception {
+        assertEquals(200, perform(get(ALL_BOOKS_URL, "10.0.0.1")).getStatus());
+        assertEquals(200, perform(get(ALL_BOOKS_URL, "10.0.0.1")).getStatus());
+
+        MockHttpServletResponse rejected = perform(get(ALL_BOOKS_URL, "10.0.0.1"));
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("Rate limit exceeded for all-books", rejected.getHeader("Message"));
+        assertEquals(1, rejections("all-books", "rate", "ip:10.0.0.1"));
+        assertEquals(200, perform(get(ALL_BOOKS_URL, "10.0.0.2")).getStatus());
+    }
+
+    @Test
+    void testRateLimit_UsesMostSpecificEndpoint() throws Exception {
+        assertEquals(200, perform(get(GET_BY_ID_URL, "10.0.0.1")).getStatus());
+        assertEquals(429, perform(get(GET_BY_ID_URL, "10.0.0.1")).getStatus());
+        // allBooks has its own buckets, the default endpoint's are used up
+        assertEquals(200, perform(get(ALL_BOOKS_URL, "10.0.0.1")).getStatus());
+        assertEquals(200, perform(get("/actuator/health", "10.0.0.1")).getStatus());
+    }
+
+    @Test
+    void testRateLimit_KeysByApiKeyAndHidesIt() throws Exception {
+        MockHttpServletRequest first = get(GET_BY_ID_URL, "10.0.0.1");
+        first.addHeader("X-API-Key", "secret-key");
+        assertEquals(200, perform(first).getStatus());
+        MockHttpServletRequest second = get(GET_BY_ID_URL, "10.0.0.2");
+        second.addHeader("X-API-Key", "secret-key");
+
+        assertEquals(429, perform(second).getStatus());
+        // same address, no key: a different client
+        assertEquals(200, perform(get(GET_BY_ID_URL, "10.0.0.1")).getStatus());
+        Counter counter = registry.find(RateLimitFilter.REJECTED_METER).counter();
+        assertNotNull(counter);
+        String client = counter.getId().getTag("client");
+        assertEquals(12, client.length());
+        assertEquals(-1, client.indexOf("secret"));
+    }
+
+    @Test
+    void testRateLimit_RotatingUnknownKeysShareTheAddressBucket() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = get(GET_BY_ID_URL, "10.0.0.1");
+            request.addHeader("X-API-Key", "made-up-" + i);
+
+            assertEquals(i == 0 ? 200 : 429, perform(request).getStatus());
+        }
+        assertEquals(2, rejections("default", "rate", "ip:10.0.0.1"));
+    }
+
+    @Test
+    void testConcurrencyLimit_ShedsUntilAsyncResponseCompletes() throws Exception {
+        MockHttpServletRequest streaming = get(ALL_BOOKS_URL, "10.0.0.1");
+        streaming.setAsyncSupported(true);
+        FilterChain startsAsync = (request, response) -> request.startAsync();
+        filter.doFilter(streaming, new MockHttpServletResponse(), startsAsync);
+
+        MockHttpServletResponse shed = perform(get(ALL_BOOKS_URL, "10.0.0.2"));
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(1, rejections("all-books", "concurrency", "ip:10.0.0.2"));
+
+        streaming.getAsyncContext().complete();
+        assertEquals(200, perform(get(ALL_BOOKS_URL, "10.0.0.3")).getStatus());
+    }
+
+    @Test
+    void testMetrics_CapTrackedClients() throws Exception {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxTrackedClients(1);
+        properties.getEndpoints().put("default", endpoint("/api/**", 0.001, 1, 0));
+        filter = new RateLimitFilter(properties, registry);
+        for (String address : new String[]{"10.0.0.1", "10.0.0.2"}) {
+            perform(get(GET_BY_ID_URL, address));
+            perform(get(GET_BY_ID_URL, address));
+        }
+
+        assertEquals(1, rejections("default", "rate", "ip:10.0.0.1"));
+        assertEquals(1, rejections("default", "rate", RateLimitFilter.OTHER_CLIENTS));
+        assertNull(registry.find(RateLimitFilter.REJECTED_METER).tag("client", "ip:10.0.0.2").counter());
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private double rejections(String endpoint, String reason, String client) {
+        Counter counter = registry.find(RateLimitFilter.REJECTED_METER)
+                .tag("endpoint", endpoint).tag("reason", reason).tag("client", client).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static MockHttpServletRequest get(String uri, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static RateLimitProperties.Endpoint endpoint(String path, double requestsPerSecond, int burst,
+                                                         int maxConcurrent) {
+        RateLimitProperties.Endpoint endpoint = new RateLimitProperties.Endpoint();
+        endpoint.setPath(path);
+        endpoint.setRequestsPerSecond(requestsPerSecond);
+        endpoint.setBurst(burst);
+        endpoint.setMaxConcurrent(maxConcurrent);
+        return endpoint;
+    }
+}
@@ -0,0 +1,70 @@
+package com.librarymanagementsystem.web.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketsTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testTryAcquire_AllowsBurstThenWaits() {
+        TokenBuckets buckets = new TokenBuckets(16, 2, 3);
+        long now = -5 * SECOND;
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire("client", now));
+        }
+        assertEquals(SECOND / 2, buckets.tryAcquire("client", now));
+        assertEquals(0, buckets.tryAcquire("client", now + SECOND / 2));
+        assertEquals(SECOND / 2, buckets.tryAcquire("client", now + SECOND / 2));
+    }
+
+    @Test
+    void testTryAcquire_RefillsOnlyUpToBurst() {
+        TokenBuckets buckets = new TokenBuckets(16, 10, 2);
+        long now = 0;
+        assertEquals(0, buckets.tryAcquire("client", now));
+
+        now += 60 * SECOND;
+        assertEquals(0, buckets.tryAcquire("client", now));
+        assertEquals(0, buckets.tryAcquire("client", now));
+        assertEquals(SECOND / 10, buckets.tryAcquire("client", now));
+    }
+
+    @Test
+    void testTryAcquire_SeparatesClients() {
+        TokenBuckets buckets = new TokenBuckets(4096, 1, 1);
+
+        assertEquals(0, buckets.tryAcquire("ip:10.0.0.1", 0));
+        assertEquals(SECOND, buckets.tryAcquire("ip:10.0.0.1", 0));
+        assertEquals(0, buckets.tryAcquire("ip:10.0.0.2", 0));
+    }
+
+    @Test
+    void testTryAcquire_ManyClientsDoNotDrainAnother() {
+        TokenBuckets buckets = new TokenBuckets(100_000, 1, 1);
+
+        for (int i = 0; i < 10_000; i++) {
+            buckets.tryAcquire("ip:10.1." + (i >> 8) + "." + (i & 255), 0);
+        }
+
+        // with buckets shared by stripe, one of these clients would have taken this one's token
+        assertEquals(0, buckets.tryAcquire("ip:10.0.0.1", 0));
+    }
+
+    @Test
+    void testSize_BoundedByMaxClients() {
+        TokenBuckets buckets = new TokenBuckets(100, 1, 1);
+
+        for (int i = 0; i < 1000; i++) {
+            buckets.tryAcquire("ip:10.1." + (i >> 8) + "." + (i & 255), 0);
+        }
+
+        assertTrue(buckets.size() <= 100);
+    }
+}